@@ -66,16 +66,33 @@ const Search = () => {
   const [selectedSkill, setSelectedSkill] = useState('');
   const [filteredSkills, setFilteredSkills] = useState([]);
 
-  // Filter predefined skills based on search term
+  // Fetch skill name suggestions for the search term
   useEffect(() => {
     if (searchTerm.trim() === '') {
       setFilteredSkills([]);
-    } else {
-      const filtered = predefinedSkills.filter(skill => 
-        skill.toLowerCase().includes(searchTerm.toLowerCase())
-      );
-      setFilteredSkills(filtered.slice(0, 5)); // Limit to 5 suggestions
+      return;
     }
+
+    let cancelled = false;
+    skillService.getSkillSuggestions(searchTerm.trim(), 5)
+      .then(suggestions => {
+        if (!cancelled) {
+          setFilteredSkills(suggestions);
+        }
+      })
+      .catch(() => {
+        // Fall back to the predefined list if the suggestion endpoint is unavailable
+        if (!cancelled) {
+          const filtered = predefinedSkills.filter(skill => 
+            skill.toLowerCase().includes(searchTerm.toLowerCase())
+          );
+          setFilteredSkills(filtered.slice(0, 5)); // Limit to 5 suggestions
+        }
+      });
+
+    return () => {
+      cancelled = true;
+    };
   }, [searchTerm]);
 
   // Handle search submission
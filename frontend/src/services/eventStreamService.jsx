@@ -0,0 +1,33 @@
+import api from './api';
+
+const eventStreamService = {
+  // Open the current user's event stream. handlers may hold onSwapRequest, onFeedback and
+  // onResync callbacks; the first two get the parsed event, onResync means events were missed
+  // (e.g. after a server restart) and lists should be reloaded. The browser reconnects and
+  // resumes by itself; the returned function closes the stream.
+  subscribe: (handlers = {}) => {
+    const token = localStorage.getItem('token');
+    const url = `${api.defaults.baseURL}/events/stream?access_token=${encodeURIComponent(token)}`;
+    const source = new EventSource(url);
+
+    source.addEventListener('swap-request', (event) => {
+      if (handlers.onSwapRequest) {
+        handlers.onSwapRequest(JSON.parse(event.data));
+      }
+    });
+    source.addEventListener('feedback', (event) => {
+      if (handlers.onFeedback) {
+        handlers.onFeedback(JSON.parse(event.data));
+      }
+    });
+    source.addEventListener('resync', () => {
+      if (handlers.onResync) {
+        handlers.onResync();
+      }
+    });
+
+    return () => source.close();
+  }
+};
+
+export default eventStreamService;
@@ -11,6 +11,19 @@ const feedbackService = {
     }
   },
 
+  // Get rating summaries for many users in one request; users whose ratings
+  // the current user may not see are left out of the response
+  getUserRatings: async (userIds) => {
+    try {
+      const response = await api.get('/feedback/ratings', {
+        params: { userIds: userIds.join(',') },
+      });
+      return response.data;
+    } catch (error) {
+      throw error;
+    }
+  },
+
   // Get feedback given by a user
   getFeedbackGivenByUser: async (userId) => {
     try {
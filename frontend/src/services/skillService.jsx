@@ -11,6 +11,16 @@ const skillService = {
     }
   },
 
+  // Autocomplete skill names by prefix
+  getSkillSuggestions: async (prefix, limit = 5) => {
+    try {
+      const response = await api.get(`/skills/public/autocomplete?prefix=${encodeURIComponent(prefix)}&limit=${limit}`);
+      return response.data;
+    } catch (error) {
+      throw error;
+    }
+  },
+
   // Search skills by name
   searchSkillsByName: async (name) => {
     try {
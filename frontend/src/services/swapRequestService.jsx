@@ -1,40 +1,59 @@
 import api from './api';
 
+// The listings are paged: params may hold limit, status, from, to and cursor. Each resolves to
+// { items, nextCursor }, where nextCursor (from the X-Next-Cursor header) is passed back as
+// params.cursor to get the next page and is null on the last one
+const toPage = (response) => ({
+  items: response.data,
+  nextCursor: response.headers['x-next-cursor'] || null
+});
+
 const swapRequestService = {
   // Get current user's swap requests
-  getCurrentUserSwapRequests: async () => {
+  getCurrentUserSwapRequests: async (params = {}) => {
     try {
-      const response = await api.get('/swap-requests');
-      return response.data;
+      const response = await api.get('/swap-requests', { params });
+      return toPage(response);
     } catch (error) {
       throw error;
     }
   },
 
   // Get sent swap requests
-  getSentSwapRequests: async () => {
+  getSentSwapRequests: async (params = {}) => {
     try {
-      const response = await api.get('/swap-requests/sent');
-      return response.data;
+      const response = await api.get('/swap-requests/sent', { params });
+      return toPage(response);
     } catch (error) {
       throw error;
     }
   },
 
   // Get received swap requests
-  getReceivedSwapRequests: async () => {
+  getReceivedSwapRequests: async (params = {}) => {
     try {
-      const response = await api.get('/swap-requests/received');
-      return response.data;
+      const response = await api.get('/swap-requests/received', { params });
+      return toPage(response);
     } catch (error) {
       throw error;
     }
   },
 
   // Get swap requests by status
-  getSwapRequestsByStatus: async (status) => {
+  getSwapRequestsByStatus: async (status, params = {}) => {
+    try {
+      const response = await api.get(`/swap-requests/status/${status}`, { params });
+      return toPage(response);
+    } catch (error) {
+      throw error;
+    }
+  },
+
+  // Get the current user's counts { pendingReceived, pendingSent, accepted, awaitingFeedback }.
+  // Cheap to poll: the browser revalidates with the ETag and gets a 304 while nothing changed
+  getInboxCounters: async () => {
     try {
-      const response = await api.get(`/swap-requests/status/${status}`);
+      const response = await api.get('/swap-requests/inbox');
       return response.data;
     } catch (error) {
       throw error;
@@ -101,21 +120,32 @@ const swapRequestService = {
     }
   },
 
-  // Admin: Get all swap requests
-  getAllSwapRequests: async () => {
+  // Accept, reject or cancel many swap requests at once; action is 'ACCEPT', 'REJECT' or 'CANCEL'.
+  // Returns one { id, result, status } per id, where result is APPLIED, CONFLICT, NOT_FOUND or FORBIDDEN
+  bulkSwapRequestAction: async (action, ids) => {
     try {
-      const response = await api.get('/swap-requests/all');
+      const response = await api.put(`/swap-requests/bulk/${action}`, { ids });
       return response.data;
     } catch (error) {
       throw error;
     }
   },
 
+  // Admin: Get all swap requests
+  getAllSwapRequests: async (params = {}) => {
+    try {
+      const response = await api.get('/swap-requests/admin/all', { params });
+      return toPage(response);
+    } catch (error) {
+      throw error;
+    }
+  },
+
   // Admin: Get all swap requests by status
-  getAllSwapRequestsByStatus: async (status) => {
+  getAllSwapRequestsByStatus: async (status, params = {}) => {
     try {
-      const response = await api.get(`/swap-requests/all/status/${status}`);
-      return response.data;
+      const response = await api.get(`/swap-requests/admin/status/${status}`, { params });
+      return toPage(response);
     } catch (error) {
       throw error;
     }
@@ -15,6 +15,7 @@ public class CorsConfig {
                         .allowedOrigins("http://localhost:5173", "http://localhost:3000") // Frontend URLs
                         .allowedMethods("*")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor", "Retry-After")
                         .allowCredentials(true);
             }
         };
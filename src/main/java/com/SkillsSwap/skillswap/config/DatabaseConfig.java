@@ -1,5 +1,6 @@
 package com.SkillsSwap.skillswap.config;
 
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,13 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Configuration
 public class DatabaseConfig {
@@ -40,4 +48,51 @@ public class DatabaseConfig {
             }
         };
     }
-}
\ No newline at end of file
+
+    // ddl-auto=update never alters an existing check constraint, so a swap_requests table created
+    // before a status was added keeps rejecting it (e.g. EXPIRED from SwapRequestExpiryJob).
+    // Postgres only, where Hibernate names the constraint. Once the constraint lists every status
+    // this is one catalog read per start; otherwise it is replaced NOT VALID, which holds the
+    // exclusive lock only for the catalog change, and then validated under a lock that lets
+    // writes continue.
+    @Bean
+    public CommandLineRunner syncSwapStatusConstraint(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            List<String> definitions = jdbcTemplate.queryForList(
+                    "SELECT pg_get_constraintdef(c.oid) FROM pg_constraint c " +
+                    "WHERE c.conrelid = to_regclass('swap_requests') AND c.conname = 'swap_requests_status_check'",
+                    String.class);
+            Set<String> statuses = Arrays.stream(SwapStatus.values())
+                    .map(SwapStatus::name)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (!definitions.isEmpty() && quotedValues(definitions.get(0)).equals(statuses)) {
+                return;
+            }
+            String allowed = statuses.stream()
+                    .map(status -> "'" + status + "'")
+                    .collect(Collectors.joining(", "));
+            // One statement, so there is no moment without the constraint
+            jdbcTemplate.execute("ALTER TABLE swap_requests"
+                    + " DROP CONSTRAINT IF EXISTS swap_requests_status_check,"
+                    + " ADD CONSTRAINT swap_requests_status_check CHECK (status IN (" + allowed + ")) NOT VALID");
+            jdbcTemplate.execute("ALTER TABLE swap_requests VALIDATE CONSTRAINT swap_requests_status_check");
+            System.out.println("swap_requests_status_check recreated for statuses " + statuses);
+        };
+    }
+
+    // The string literals in a constraint definition, e.g. the statuses of
+    // CHECK (((status)::text = ANY ((ARRAY['PENDING'::character varying, ...])::text[])))
+    private static Set<String> quotedValues(String definition) {
+        Set<String> values = new TreeSet<>();
+        Matcher literal = Pattern.compile("'([^']*)'").matcher(definition);
+        while (literal.find()) {
+            values.add(literal.group(1));
+        }
+        return values;
+    }
+}
@@ -4,11 +4,15 @@ import com.SkillsSwap.skillswap.dto.FeedbackDTO;
 import com.SkillsSwap.skillswap.dto.SkillDTO;
 import com.SkillsSwap.skillswap.dto.SwapRequestDTO;
 import com.SkillsSwap.skillswap.dto.UserDTO;
-import com.SkillsSwap.skillswap.model.Feedback;
-import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.security.RateLimiter;
+import com.SkillsSwap.skillswap.security.RateLimiter.RateLimitStats;
 import com.SkillsSwap.skillswap.service.FeedbackService;
+import com.SkillsSwap.skillswap.service.OutboxDispatcher;
+import com.SkillsSwap.skillswap.service.OutboxDispatcher.OutboxStats;
+import com.SkillsSwap.skillswap.service.RecommendationService;
+import com.SkillsSwap.skillswap.service.RecommendationService.RecommendationStats;
 import com.SkillsSwap.skillswap.service.SkillService;
 import com.SkillsSwap.skillswap.service.SwapRequestService;
 import com.SkillsSwap.skillswap.service.UserService;
@@ -33,15 +37,24 @@ public class AdminController {
     private final SkillService skillService;
     private final SwapRequestService swapRequestService;
     private final FeedbackService feedbackService;
+    private final RecommendationService recommendationService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final RateLimiter rateLimiter;
 
     public AdminController(UserService userService,
                           SkillService skillService,
                           SwapRequestService swapRequestService,
-                          FeedbackService feedbackService) {
+                          FeedbackService feedbackService,
+                          RecommendationService recommendationService,
+                          OutboxDispatcher outboxDispatcher,
+                          RateLimiter rateLimiter) {
         this.userService = userService;
         this.skillService = skillService;
         this.swapRequestService = swapRequestService;
         this.feedbackService = feedbackService;
+        this.recommendationService = recommendationService;
+        this.outboxDispatcher = outboxDispatcher;
+        this.rateLimiter = rateLimiter;
     }
 
     @GetMapping("/users")
@@ -84,11 +97,7 @@ public class AdminController {
 
     @GetMapping("/skills/pending")
     public ResponseEntity<List<SkillDTO>> getPendingSkills() {
-        List<Skill> pendingSkills = skillService.getPendingApprovalSkills();
-        List<SkillDTO> skillDTOs = pendingSkills.stream()
-                .map(this::convertSkillToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(skillDTOs);
+        return ResponseEntity.ok(skillService.getPendingApprovalSkills());
     }
 
     @PutMapping("/skills/{id}/approve")
@@ -120,38 +129,52 @@ public class AdminController {
         stats.put("rejected", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.REJECTED));
         stats.put("completed", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.COMPLETED));
         stats.put("cancelled", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.CANCELLED));
+        stats.put("expired", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.EXPIRED));
         
         return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/feedback/low-rating")
     public ResponseEntity<List<FeedbackDTO>> getLowRatingFeedback(@RequestParam(defaultValue = "2") int maxRating) {
-        List<Feedback> feedbacks = feedbackService.getFeedbackByRatingLessThanEqual(maxRating);
-        List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                .map(this::convertFeedbackToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(feedbackDTOs);
+        return ResponseEntity.ok(feedbackService.getFeedbackByRatingLessThanEqual(maxRating));
+    }
+
+    // Feed counts, rebuild backlog and rebuild timings of the recommendation pipeline
+    @GetMapping("/recommendations/stats")
+    public ResponseEntity<RecommendationStats> getRecommendationStats() {
+        return ResponseEntity.ok(recommendationService.getStats());
+    }
+
+    // Backlog, given-up events and delivery counters of the outbox dispatcher
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<OutboxStats> getOutboxStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
+
+    // Allowed and rejected calls, tracked keys and evictions of every rate limit used so far
+    @GetMapping("/rate-limits/stats")
+    public ResponseEntity<List<RateLimitStats>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStats());
     }
 
     @GetMapping("/reports/user-activity")
     public ResponseEntity<Map<String, Object>> getUserActivityReport() {
         Map<String, Object> report = new HashMap<>();
         
+        // Everything in the report is a count, so it is read with COUNT queries and no entity
+        // or DTO is loaded for it
+        
         // Total users
-        List<User> allUsers = userService.getAllPublicUsers();
-        report.put("totalUsers", allUsers.size());
+        report.put("totalUsers", userService.countPublicUsers());
         
         // Total admins
-        List<User> admins = userService.getAllAdmins();
-        report.put("totalAdmins", admins.size());
+        report.put("totalAdmins", userService.countAdmins());
         
         // Total skills
-        List<Skill> allSkills = skillService.getAllSkills();
-        report.put("totalSkills", allSkills.size());
+        report.put("totalSkills", skillService.countSkills());
         
         // Pending skills
-        List<Skill> pendingSkills = skillService.getPendingApprovalSkills();
-        report.put("pendingSkills", pendingSkills.size());
+        report.put("pendingSkills", skillService.countPendingApprovalSkills());
         
         // Swap request stats
         Map<String, Long> swapStats = new HashMap<>();
@@ -160,11 +183,11 @@ public class AdminController {
         swapStats.put("rejected", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.REJECTED));
         swapStats.put("completed", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.COMPLETED));
         swapStats.put("cancelled", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.CANCELLED));
+        swapStats.put("expired", swapRequestService.countSwapRequestsByStatus(SwapRequest.SwapStatus.EXPIRED));
         report.put("swapRequestStats", swapStats);
         
         // Total feedback
-        List<Feedback> allFeedback = feedbackService.getAllFeedback();
-        report.put("totalFeedback", allFeedback.size());
+        report.put("totalFeedback", feedbackService.countFeedback());
         
         return ResponseEntity.ok(report);
     }
@@ -184,18 +207,6 @@ public class AdminController {
         );
     }
 
-    private SkillDTO convertSkillToDTO(Skill skill) {
-        return new SkillDTO(
-            skill.getId(),
-            skill.getName(),
-            skill.getDescription(),
-            skill.isOffered(),
-            skill.getUser().getId(),
-            skill.getUser().getUsername(),
-            skill.isApproved()
-        );
-    }
-
     private SwapRequestDTO convertSwapRequestToDTO(SwapRequest swapRequest) {
         return new SwapRequestDTO(
             swapRequest.getId(),
@@ -213,18 +224,4 @@ public class AdminController {
             swapRequest.getMessage()
         );
     }
-
-    private FeedbackDTO convertFeedbackToDTO(Feedback feedback) {
-        return new FeedbackDTO(
-            feedback.getId(),
-            feedback.getReviewer().getId(),
-            feedback.getReviewer().getUsername(),
-            feedback.getRecipient().getId(),
-            feedback.getRecipient().getUsername(),
-            feedback.getSwapRequest().getId(),
-            feedback.getRating(),
-            feedback.getComment(),
-            feedback.getCreatedAt()
-        );
-    }
 }
\ No newline at end of file
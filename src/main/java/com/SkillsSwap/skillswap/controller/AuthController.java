@@ -5,6 +5,7 @@ import com.SkillsSwap.skillswap.dto.AuthResponse;
 import com.SkillsSwap.skillswap.dto.UserDTO;
 import com.SkillsSwap.skillswap.model.User;
 import com.SkillsSwap.skillswap.security.JwtTokenProvider;
+import com.SkillsSwap.skillswap.security.RateLimited;
 import com.SkillsSwap.skillswap.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -36,6 +37,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @RateLimited(value = "login", key = RateLimited.KeyType.CLIENT_IP)
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody AuthRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -75,6 +77,7 @@ public class AuthController {
             user.setLocation(userDTO.getLocation());
             user.setProfilePhoto(userDTO.getProfilePhoto());
             user.setAvailability(userDTO.getAvailability());
+            user.setCoordinates(userDTO.getLatitude(), userDTO.getLongitude());
             user.setPublic(userDTO.isPublic());
 
             User registeredUser = userService.registerUser(user);
@@ -0,0 +1,47 @@
+package com.SkillsSwap.skillswap.controller;
+
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.service.EventStreamService;
+import com.SkillsSwap.skillswap.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+
+    private final EventStreamService eventStreamService;
+    private final UserService userService;
+
+    public EventStreamController(EventStreamService eventStreamService, UserService userService) {
+        this.eventStreamService = eventStreamService;
+        this.userService = userService;
+    }
+
+    // The current user's swap request and feedback events. EventSource sends Last-Event-ID by
+    // itself when it reconnects; lastEventId is for a client resuming in a new EventSource.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+
+        Optional<User> userOpt = userService.findUserByUsername(username);
+        if (userOpt.isPresent()) {
+            String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(eventStreamService.subscribe(userOpt.get().getId(), resumeFrom));
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.SkillsSwap.skillswap.controller;
 
 import com.SkillsSwap.skillswap.dto.FeedbackDTO;
+import com.SkillsSwap.skillswap.dto.RatingSummaryDTO;
 import com.SkillsSwap.skillswap.model.Feedback;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.UserRating;
 import com.SkillsSwap.skillswap.service.FeedbackService;
 import com.SkillsSwap.skillswap.service.SwapRequestService;
 import com.SkillsSwap.skillswap.service.UserService;
@@ -15,6 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,6 +31,8 @@ public class FeedbackController {
     private final UserService userService;
     private final SwapRequestService swapRequestService;
 
+    private static final int MAX_BATCH_SIZE = 200;
+
     public FeedbackController(FeedbackService feedbackService,
                              UserService userService,
                              SwapRequestService swapRequestService) {
@@ -43,10 +49,7 @@ public class FeedbackController {
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<Feedback> feedbacks = feedbackService.getFeedbackByReviewer(user);
-            List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackByReviewer(user);
             return ResponseEntity.ok(feedbackDTOs);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -61,10 +64,7 @@ public class FeedbackController {
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<Feedback> feedbacks = feedbackService.getFeedbackByRecipient(user);
-            List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackByRecipient(user);
             return ResponseEntity.ok(feedbackDTOs);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -84,10 +84,7 @@ public class FeedbackController {
 
             if (user.isPublic() || isCurrentUser || auth.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                List<Feedback> feedbacks = feedbackService.getFeedbackByRecipient(user);
-                List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackByRecipient(user);
                 return ResponseEntity.ok(feedbackDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -99,7 +96,7 @@ public class FeedbackController {
 
     @GetMapping("/swap-request/{swapRequestId}")
     public ResponseEntity<List<FeedbackDTO>> getFeedbackBySwapRequest(@PathVariable Long swapRequestId) {
-        Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestById(swapRequestId);
+        Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestParticipantsById(swapRequestId);
         if (swapRequestOpt.isPresent()) {
             SwapRequest swapRequest = swapRequestOpt.get();
 
@@ -112,10 +109,7 @@ public class FeedbackController {
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
             if (isParticipant || isAdmin) {
-                List<Feedback> feedbacks = feedbackService.getFeedbackBySwapRequest(swapRequest);
-                List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackBySwapRequest(swapRequest);
                 return ResponseEntity.ok(feedbackDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -148,6 +142,52 @@ public class FeedbackController {
         }
     }
 
+    // Ratings for up to 200 users, e.g. ?userIds=1,2,3. Users the caller may not see, and
+    // unknown ids, are left out rather than failing the whole request.
+    @GetMapping("/ratings")
+    public ResponseEntity<?> getRatingSummariesForUsers(@RequestParam List<Long> userIds) {
+        if (userIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("At most " + MAX_BATCH_SIZE + " user ids per request");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = auth.getName();
+        boolean isAdmin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        List<Long> visibleIds = userService.findUsersByIds(new LinkedHashSet<>(userIds)).stream()
+                .filter(user -> user.isPublic() || isAdmin || user.getUsername().equals(currentUsername))
+                .map(User::getId)
+                .collect(Collectors.toList());
+        List<RatingSummaryDTO> ratingDTOs = feedbackService.getRatingSummaries(visibleIds).values().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ratingDTOs);
+    }
+
+    @GetMapping("/rating/{userId}/summary")
+    public ResponseEntity<?> getRatingSummaryForUser(@PathVariable Long userId) {
+        Optional<User> userOpt = userService.findUserById(userId);
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+
+            // Same visibility rule as the plain average
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            String currentUsername = auth.getName();
+            boolean isCurrentUser = user.getUsername().equals(currentUsername);
+
+            if (user.isPublic() || isCurrentUser || auth.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+                return ResponseEntity.ok(convertToDTO(feedbackService.getRatingSummary(user)));
+            } else {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+            }
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createFeedback(@Valid @RequestBody FeedbackDTO feedbackDTO) {
         try {
@@ -211,33 +251,33 @@ public class FeedbackController {
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
     public ResponseEntity<List<FeedbackDTO>> getAllFeedback() {
-        List<Feedback> feedbacks = feedbackService.getAllFeedback();
-        List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<FeedbackDTO> feedbackDTOs = feedbackService.getAllFeedback();
         return ResponseEntity.ok(feedbackDTOs);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/low-rating")
     public ResponseEntity<List<FeedbackDTO>> getLowRatingFeedback(@RequestParam(defaultValue = "2") int maxRating) {
-        List<Feedback> feedbacks = feedbackService.getFeedbackByRatingLessThanEqual(maxRating);
-        List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackByRatingLessThanEqual(maxRating);
         return ResponseEntity.ok(feedbackDTOs);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/high-rating")
     public ResponseEntity<List<FeedbackDTO>> getHighRatingFeedback(@RequestParam(defaultValue = "4") int minRating) {
-        List<Feedback> feedbacks = feedbackService.getFeedbackByRatingGreaterThanEqual(minRating);
-        List<FeedbackDTO> feedbackDTOs = feedbacks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<FeedbackDTO> feedbackDTOs = feedbackService.getFeedbackByRatingGreaterThanEqual(minRating);
         return ResponseEntity.ok(feedbackDTOs);
     }
 
+    private RatingSummaryDTO convertToDTO(UserRating rating) {
+        return new RatingSummaryDTO(
+            rating.getUserId(),
+            rating.getRatingCount(),
+            rating.getAverage(),
+            Arrays.stream(rating.getHistogram()).boxed().collect(Collectors.toList())
+        );
+    }
+
     // Helper method to convert Feedback to FeedbackDTO
     private FeedbackDTO convertToDTO(Feedback feedback) {
         return new FeedbackDTO(
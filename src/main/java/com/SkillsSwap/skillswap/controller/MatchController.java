@@ -0,0 +1,98 @@
+package com.SkillsSwap.skillswap.controller;
+
+import com.SkillsSwap.skillswap.dto.MatchDTO;
+import com.SkillsSwap.skillswap.dto.SwapCycleDTO;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder;
+import com.SkillsSwap.skillswap.service.MatchService;
+import com.SkillsSwap.skillswap.service.MatchService.SwapCycleProposals;
+import com.SkillsSwap.skillswap.service.MatchService.UserMatch;
+import com.SkillsSwap.skillswap.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/matches")
+public class MatchController {
+
+    private final MatchService matchService;
+    private final UserService userService;
+
+    public MatchController(MatchService matchService, UserService userService) {
+        this.matchService = matchService;
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MatchDTO>> getReciprocalMatches(@RequestParam(defaultValue = "20") int limit,
+                                                               @RequestParam(defaultValue = "0") int minOverlapHours) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+
+        Optional<User> userOpt = userService.findUserByUsername(username);
+        if (userOpt.isPresent()) {
+            List<UserMatch> matches = matchService.findReciprocalMatches(userOpt.get(),
+                    Math.max(1, Math.min(limit, 100)), Math.max(0, minOverlapHours));
+            List<MatchDTO> matchDTOs = matches.stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(matchDTOs);
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @GetMapping("/cycles")
+    public ResponseEntity<List<SwapCycleDTO>> getSwapCycles(@RequestParam(defaultValue = "4") int maxLength,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+
+        Optional<User> userOpt = userService.findUserByUsername(username);
+        if (userOpt.isPresent()) {
+            int cappedLength = Math.max(3, Math.min(maxLength, SwapCycleFinder.MAX_CYCLE_LENGTH));
+            SwapCycleProposals proposals = matchService.findSwapCycles(userOpt.get(), cappedLength, Math.max(1, Math.min(limit, 50)));
+            List<SwapCycleDTO> cycleDTOs = proposals.cycles().stream()
+                    .map(cycle -> convertToDTO(cycle, proposals.participants()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(cycleDTOs);
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    // Helper method to convert UserMatch to MatchDTO
+    private MatchDTO convertToDTO(UserMatch userMatch) {
+        return new MatchDTO(
+            userMatch.user().getId(),
+            userMatch.user().getUsername(),
+            userMatch.user().getName(),
+            userMatch.user().getLocation(),
+            userMatch.match().theyOffer(),
+            userMatch.match().theyWant(),
+            userMatch.match().score(),
+            userMatch.match().overlapHours()
+        );
+    }
+
+    private SwapCycleDTO convertToDTO(SwapCycleFinder.SwapCycle cycle, Map<Long, User> participants) {
+        List<SwapCycleDTO.Leg> legs = cycle.legs().stream()
+                .map(leg -> new SwapCycleDTO.Leg(
+                    leg.giverId(),
+                    participants.containsKey(leg.giverId()) ? participants.get(leg.giverId()).getUsername() : null,
+                    leg.receiverId(),
+                    participants.containsKey(leg.receiverId()) ? participants.get(leg.receiverId()).getUsername() : null,
+                    leg.skillName()
+                ))
+                .collect(Collectors.toList());
+        return new SwapCycleDTO(legs);
+    }
+}
@@ -0,0 +1,67 @@
+package com.SkillsSwap.skillswap.controller;
+
+import com.SkillsSwap.skillswap.dto.RecommendationDTO;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.service.RecommendationService;
+import com.SkillsSwap.skillswap.service.RecommendationService.Feed;
+import com.SkillsSwap.skillswap.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+    private final UserService userService;
+
+    public RecommendationController(RecommendationService recommendationService, UserService userService) {
+        this.recommendationService = recommendationService;
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<RecommendationDTO> getRecommendations() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+
+        Optional<User> userOpt = userService.findUserByUsername(username);
+        if (userOpt.isPresent()) {
+            Feed feed = recommendationService.getFeed(userOpt.get());
+            return ResponseEntity.ok(convertToDTO(feed));
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    // Helper method to convert Feed to RecommendationDTO
+    private RecommendationDTO convertToDTO(Feed feed) {
+        List<RecommendationDTO.Partner> partners = feed.partners().stream()
+                .map(partner -> new RecommendationDTO.Partner(
+                    partner.userId(),
+                    partner.username(),
+                    partner.name(),
+                    partner.location(),
+                    partner.theyOffer(),
+                    partner.theyWant(),
+                    partner.averageRating(),
+                    partner.score()
+                ))
+                .collect(Collectors.toList());
+        return new RecommendationDTO(
+            partners,
+            feed.skills(),
+            LocalDateTime.ofInstant(feed.builtAt(), ZoneId.systemDefault()),
+            recommendationService.isStale(feed)
+        );
+    }
+}
@@ -1,8 +1,11 @@
 package com.SkillsSwap.skillswap.controller;
 
 import com.SkillsSwap.skillswap.dto.SkillDTO;
+import com.SkillsSwap.skillswap.dto.SkillSearchResultDTO;
+import com.SkillsSwap.skillswap.dto.SkillSuggestionDTO;
 import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.search.SkillSearchPage;
 import com.SkillsSwap.skillswap.service.SkillService;
 import com.SkillsSwap.skillswap.service.UserService;
 import jakarta.validation.Valid;
@@ -35,30 +38,52 @@ public class SkillController {
         return ResponseEntity.ok(skillNames);
     }
 
-    @GetMapping("/public/search")
-    public ResponseEntity<List<SkillDTO>> searchSkillsByName(@RequestParam String name) {
-        List<Skill> skills = skillService.searchSkillsByName(name);
-        List<SkillDTO> skillDTOs = skills.stream()
-                .map(this::convertToDTO)
+    @GetMapping("/public/autocomplete")
+    public ResponseEntity<List<String>> autocompleteSkillNames(@RequestParam String prefix,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, 50));
+        List<String> completions = skillService.completeSkillName(prefix, cappedLimit);
+        return ResponseEntity.ok(completions);
+    }
+
+    @GetMapping("/public/suggestions")
+    public ResponseEntity<List<SkillSuggestionDTO>> suggestSkillNames(@RequestParam String name,
+                                                                      @RequestParam(defaultValue = "2") int maxDistance,
+                                                                      @RequestParam(defaultValue = "10") int limit) {
+        List<SkillSuggestionDTO> suggestions = skillService
+                .suggestSkillNames(name, clampDistance(maxDistance), Math.max(1, Math.min(limit, 50))).stream()
+                .map(match -> new SkillSuggestionDTO(match.name(), match.distance(), match.userCount()))
                 .collect(Collectors.toList());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/public/search")
+    public ResponseEntity<List<SkillDTO>> searchSkillsByName(@RequestParam String name,
+                                                             @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                             @RequestParam(defaultValue = "2") int maxDistance) {
+        List<SkillDTO> skillDTOs = fuzzy
+                ? skillService.fuzzySearchSkillsByName(name, clampDistance(maxDistance), 10)
+                : skillService.searchSkillsByName(name);
         return ResponseEntity.ok(skillDTOs);
     }
 
+    @GetMapping("/public/search/ranked")
+    public ResponseEntity<SkillSearchResultDTO> searchSkillsRanked(@RequestParam String query,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        SkillSearchPage result = skillService.searchSkillsRanked(query, Math.max(0, page), Math.max(1, Math.min(size, 100)));
+        return ResponseEntity.ok(new SkillSearchResultDTO(result.page(), result.size(), result.totalHits(), result.skills()));
+    }
+
     @GetMapping("/public/offered")
     public ResponseEntity<List<SkillDTO>> searchOfferedSkillsByName(@RequestParam String name) {
-        List<Skill> skills = skillService.searchOfferedSkillsByName(name);
-        List<SkillDTO> skillDTOs = skills.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<SkillDTO> skillDTOs = skillService.searchOfferedSkillsByName(name);
         return ResponseEntity.ok(skillDTOs);
     }
 
     @GetMapping("/public/wanted")
     public ResponseEntity<List<SkillDTO>> searchWantedSkillsByName(@RequestParam String name) {
-        List<Skill> skills = skillService.searchWantedSkillsByName(name);
-        List<SkillDTO> skillDTOs = skills.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<SkillDTO> skillDTOs = skillService.searchWantedSkillsByName(name);
         return ResponseEntity.ok(skillDTOs);
     }
 
@@ -75,10 +100,7 @@ public class SkillController {
 
             if (user.isPublic() || isCurrentUser || auth.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                List<Skill> skills = skillService.getSkillsByUser(user);
-                List<SkillDTO> skillDTOs = skills.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<SkillDTO> skillDTOs = skillService.getSkillsByUser(user);
                 return ResponseEntity.ok(skillDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -101,10 +123,7 @@ public class SkillController {
 
             if (user.isPublic() || isCurrentUser || auth.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                List<Skill> skills = skillService.getOfferedSkillsByUser(user);
-                List<SkillDTO> skillDTOs = skills.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<SkillDTO> skillDTOs = skillService.getOfferedSkillsByUser(user);
                 return ResponseEntity.ok(skillDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -127,10 +146,7 @@ public class SkillController {
 
             if (user.isPublic() || isCurrentUser || auth.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                List<Skill> skills = skillService.getWantedSkillsByUser(user);
-                List<SkillDTO> skillDTOs = skills.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<SkillDTO> skillDTOs = skillService.getWantedSkillsByUser(user);
                 return ResponseEntity.ok(skillDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -250,13 +266,15 @@ public class SkillController {
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/pending-approval")
     public ResponseEntity<List<SkillDTO>> getPendingApprovalSkills() {
-        List<Skill> skills = skillService.getPendingApprovalSkills();
-        List<SkillDTO> skillDTOs = skills.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<SkillDTO> skillDTOs = skillService.getPendingApprovalSkills();
         return ResponseEntity.ok(skillDTOs);
     }
 
+    // Fuzzy matching supports one or two typos
+    private int clampDistance(int maxDistance) {
+        return Math.max(1, Math.min(maxDistance, 2));
+    }
+
     // Helper method to convert Skill to SkillDTO
     private SkillDTO convertToDTO(Skill skill) {
         return new SkillDTO(
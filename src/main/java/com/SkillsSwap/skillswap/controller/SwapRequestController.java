@@ -1,14 +1,27 @@
 package com.SkillsSwap.skillswap.controller;
 
+import com.SkillsSwap.skillswap.dto.BulkSwapActionDTO;
+import com.SkillsSwap.skillswap.dto.BulkSwapActionResultDTO;
+import com.SkillsSwap.skillswap.dto.InboxCountersDTO;
 import com.SkillsSwap.skillswap.dto.SwapRequestDTO;
+import com.SkillsSwap.skillswap.dto.SwapRequestPageParams;
+import com.SkillsSwap.skillswap.exception.ConflictException;
+import com.SkillsSwap.skillswap.model.InboxCounters;
 import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.security.RateLimited;
+import com.SkillsSwap.skillswap.service.InboxCounterService;
 import com.SkillsSwap.skillswap.service.SkillService;
 import com.SkillsSwap.skillswap.service.SwapRequestService;
+import com.SkillsSwap.skillswap.service.SwapRequestService.BulkAction;
+import com.SkillsSwap.skillswap.service.SwapRequestService.BulkResult;
+import com.SkillsSwap.skillswap.service.SwapRequestService.Listing;
+import com.SkillsSwap.skillswap.service.SwapRequestService.SwapRequestPage;
 import com.SkillsSwap.skillswap.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,82 +40,106 @@ public class SwapRequestController {
     private final SwapRequestService swapRequestService;
     private final UserService userService;
     private final SkillService skillService;
+    private final InboxCounterService inboxCounterService;
+
+    // Listings return at most this many requests per page
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     public SwapRequestController(SwapRequestService swapRequestService, 
                                 UserService userService,
-                                SkillService skillService) {
+                                SkillService skillService,
+                                InboxCounterService inboxCounterService) {
         this.swapRequestService = swapRequestService;
         this.userService = userService;
         this.skillService = skillService;
+        this.inboxCounterService = inboxCounterService;
+    }
+
+    // The current user's counts for the navbar. The ETag changes whenever a count does, so a
+    // poll with If-None-Match is answered 304 without a body.
+    @GetMapping("/inbox")
+    public ResponseEntity<InboxCountersDTO> getInboxCounters() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+
+        Optional<User> userOpt = userService.findUserByUsername(username);
+        if (userOpt.isPresent()) {
+            InboxCounters counters = inboxCounterService.getCounters(userOpt.get().getId());
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(counters.getUserId() + "-" + counters.getRevision())
+                    .body(new InboxCountersDTO(counters.getPendingReceived(), counters.getPendingSent(),
+                            counters.getAccepted(), counters.getAwaitingFeedback()));
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
     }
 
     @GetMapping
-    public ResponseEntity<List<SwapRequestDTO>> getCurrentUserSwapRequests() {
+    public ResponseEntity<List<SwapRequestDTO>> getCurrentUserSwapRequests(@ModelAttribute SwapRequestPageParams params) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<SwapRequest> swapRequests = swapRequestService.getSwapRequestsByUser(user);
-            List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(swapRequestDTOs);
+            SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                    Listing.PARTICIPANT, user.getId(), params.getStatus(), params.getFrom(), params.getTo(),
+                    params.getCursor(), clampLimit(params.getLimit()));
+            return pageResponse(page);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
     @GetMapping("/sent")
-    public ResponseEntity<List<SwapRequestDTO>> getSentSwapRequests() {
+    public ResponseEntity<List<SwapRequestDTO>> getSentSwapRequests(@ModelAttribute SwapRequestPageParams params) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<SwapRequest> swapRequests = swapRequestService.getSwapRequestsByRequester(user);
-            List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(swapRequestDTOs);
+            SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                    Listing.REQUESTER, user.getId(), params.getStatus(), params.getFrom(), params.getTo(),
+                    params.getCursor(), clampLimit(params.getLimit()));
+            return pageResponse(page);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
     @GetMapping("/received")
-    public ResponseEntity<List<SwapRequestDTO>> getReceivedSwapRequests() {
+    public ResponseEntity<List<SwapRequestDTO>> getReceivedSwapRequests(@ModelAttribute SwapRequestPageParams params) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<SwapRequest> swapRequests = swapRequestService.getSwapRequestsByProvider(user);
-            List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(swapRequestDTOs);
+            SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                    Listing.PROVIDER, user.getId(), params.getStatus(), params.getFrom(), params.getTo(),
+                    params.getCursor(), clampLimit(params.getLimit()));
+            return pageResponse(page);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<SwapRequestDTO>> getSwapRequestsByStatus(@PathVariable SwapStatus status) {
+    public ResponseEntity<List<SwapRequestDTO>> getSwapRequestsByStatus(@PathVariable SwapStatus status,
+                                                                        @ModelAttribute SwapRequestPageParams params) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
         Optional<User> userOpt = userService.findUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            List<SwapRequest> swapRequests = swapRequestService.getSwapRequestsByUserAndStatus(user, status);
-            List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(swapRequestDTOs);
+            SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                    Listing.PARTICIPANT, user.getId(), status, params.getFrom(), params.getTo(),
+                    params.getCursor(), clampLimit(params.getLimit()));
+            return pageResponse(page);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -133,6 +170,7 @@ public class SwapRequestController {
     }
 
     @PostMapping
+    @RateLimited("swap-request-create")
     public ResponseEntity<?> createSwapRequest(@Valid @RequestBody SwapRequestDTO swapRequestDTO) {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -167,7 +205,7 @@ public class SwapRequestController {
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptSwapRequest(@PathVariable Long id) {
         try {
-            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestById(id);
+            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestParticipantsById(id);
             if (swapRequestOpt.isPresent()) {
                 SwapRequest swapRequest = swapRequestOpt.get();
 
@@ -185,6 +223,8 @@ public class SwapRequestController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -193,7 +233,7 @@ public class SwapRequestController {
     @PutMapping("/{id}/reject")
     public ResponseEntity<?> rejectSwapRequest(@PathVariable Long id) {
         try {
-            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestById(id);
+            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestParticipantsById(id);
             if (swapRequestOpt.isPresent()) {
                 SwapRequest swapRequest = swapRequestOpt.get();
 
@@ -211,6 +251,8 @@ public class SwapRequestController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -219,7 +261,7 @@ public class SwapRequestController {
     @PutMapping("/{id}/complete")
     public ResponseEntity<?> completeSwapRequest(@PathVariable Long id) {
         try {
-            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestById(id);
+            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestParticipantsById(id);
             if (swapRequestOpt.isPresent()) {
                 SwapRequest swapRequest = swapRequestOpt.get();
 
@@ -238,6 +280,8 @@ public class SwapRequestController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -246,7 +290,7 @@ public class SwapRequestController {
     @PutMapping("/{id}/cancel")
     public ResponseEntity<?> cancelSwapRequest(@PathVariable Long id) {
         try {
-            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestById(id);
+            Optional<SwapRequest> swapRequestOpt = swapRequestService.findSwapRequestParticipantsById(id);
             if (swapRequestOpt.isPresent()) {
                 SwapRequest swapRequest = swapRequestOpt.get();
 
@@ -265,6 +309,33 @@ public class SwapRequestController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // e.g. PUT /api/swap-requests/bulk/ACCEPT with {"ids": [1, 2, 3]}; one result per id
+    @PutMapping("/bulk/{action}")
+    public ResponseEntity<?> bulkSwapRequestAction(@PathVariable BulkAction action,
+                                                   @Valid @RequestBody BulkSwapActionDTO bulkSwapActionDTO) {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            String username = auth.getName();
+
+            Optional<User> userOpt = userService.findUserByUsername(username);
+            if (userOpt.isPresent()) {
+                List<BulkResult> results = swapRequestService.bulkTransition(
+                        userOpt.get().getId(), action, bulkSwapActionDTO.getIds());
+                List<BulkSwapActionResultDTO> resultDTOs = results.stream()
+                        .map(result -> new BulkSwapActionResultDTO(
+                                result.swapRequestId(), result.outcome().name(), result.status()))
+                        .collect(Collectors.toList());
+                return ResponseEntity.ok(resultDTOs);
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -272,22 +343,35 @@ public class SwapRequestController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
-    public ResponseEntity<List<SwapRequestDTO>> getAllSwapRequests() {
-        List<SwapRequest> swapRequests = swapRequestService.getAllSwapRequests();
-        List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(swapRequestDTOs);
+    public ResponseEntity<List<SwapRequestDTO>> getAllSwapRequests(@ModelAttribute SwapRequestPageParams params) {
+        SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                Listing.ALL, null, params.getStatus(), params.getFrom(), params.getTo(),
+                params.getCursor(), clampLimit(params.getLimit()));
+        return pageResponse(page);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/status/{status}")
-    public ResponseEntity<List<SwapRequestDTO>> getAllSwapRequestsByStatus(@PathVariable SwapStatus status) {
-        List<SwapRequest> swapRequests = swapRequestService.getSwapRequestsByStatus(status);
-        List<SwapRequestDTO> swapRequestDTOs = swapRequests.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(swapRequestDTOs);
+    public ResponseEntity<List<SwapRequestDTO>> getAllSwapRequestsByStatus(@PathVariable SwapStatus status,
+                                                                           @ModelAttribute SwapRequestPageParams params) {
+        SwapRequestPage page = swapRequestService.getSwapRequestPage(
+                Listing.ALL, null, status, params.getFrom(), params.getTo(),
+                params.getCursor(), clampLimit(params.getLimit()));
+        return pageResponse(page);
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // The page itself stays a plain JSON array; the cursor for the next one, if any, travels in
+    // the X-Next-Cursor header
+    private ResponseEntity<List<SwapRequestDTO>> pageResponse(SwapRequestPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.swapRequests());
     }
 
     // Helper method to convert SwapRequest to SwapRequestDTO
@@ -2,7 +2,13 @@ package com.SkillsSwap.skillswap.controller;
 
 import com.SkillsSwap.skillswap.dto.UserDTO;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.MatchMode;
+import com.SkillsSwap.skillswap.service.ReputationService;
 import com.SkillsSwap.skillswap.service.UserService;
+import com.SkillsSwap.skillswap.service.UserService.NearbyUser;
+import com.SkillsSwap.skillswap.service.UserService.ProximityQuery;
+import com.SkillsSwap.skillswap.service.UserService.SearchSort;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,7 +17,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,36 +28,107 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserService userService;
+    private final ReputationService reputationService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ReputationService reputationService) {
         this.userService = userService;
+        this.reputationService = reputationService;
     }
 
     @GetMapping("/public")
     public ResponseEntity<List<UserDTO>> getAllPublicUsers() {
         List<User> users = userService.getAllPublicUsers();
-        List<UserDTO> userDTOs = users.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userDTOs);
+        return ResponseEntity.ok(convertToDTOs(users));
+    }
+
+    // availability (e.g. "Weekday evenings, Sat 10-14") ranks results by shared weekly hours;
+    // minOverlapHours alone compares against the caller's own availability.
+    // radiusKm and/or nearest switch to proximity search around lat/lon (default: the caller's
+    // coordinates), nearest first, at most `limit` results.
+    // sort=REPUTATION reorders whichever result set by reputation, best first.
+    @GetMapping("/search")
+    public ResponseEntity<?> searchUsersBySkills(@RequestParam(required = false) List<String> offered,
+                                                 @RequestParam(required = false) List<String> wanted,
+                                                 @RequestParam(defaultValue = "ALL") MatchMode match,
+                                                 @RequestParam(required = false) String availability,
+                                                 @RequestParam(defaultValue = "0") int minOverlapHours,
+                                                 @RequestParam(required = false) Double lat,
+                                                 @RequestParam(required = false) Double lon,
+                                                 @RequestParam(required = false) Double radiusKm,
+                                                 @RequestParam(required = false) Integer nearest,
+                                                 @RequestParam(defaultValue = "50") int limit,
+                                                 @RequestParam(defaultValue = "RELEVANCE") SearchSort sort) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        WeeklyAvailability slots = null;
+        if (availability != null && !availability.isBlank()) {
+            slots = WeeklyAvailability.parse(availability);
+        } else if (minOverlapHours > 0) {
+            slots = userService.findUserByUsername(auth.getName())
+                    .map(User::getWeeklyAvailability)
+                    .orElse(WeeklyAvailability.NONE);
+        }
+        int overlap = Math.max(0, Math.min(minOverlapHours, WeeklyAvailability.HOURS_PER_WEEK));
+
+        if (radiusKm != null || nearest != null) {
+            if (lat == null || lon == null) {
+                Optional<User> caller = userService.findUserByUsername(auth.getName());
+                if (caller.isEmpty() || caller.get().getLatitude() == null) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                            .body("lat and lon are required when your profile has no coordinates");
+                }
+                lat = caller.get().getLatitude();
+                lon = caller.get().getLongitude();
+            }
+            if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || (radiusKm != null && radiusKm <= 0)
+                    || (nearest != null && nearest <= 0)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid proximity parameters");
+            }
+            List<NearbyUser> nearby = userService.searchUsersNearby(
+                    offered != null ? offered : List.of(),
+                    wanted != null ? wanted : List.of(),
+                    match,
+                    slots,
+                    overlap,
+                    new ProximityQuery(lat, lon, radiusKm, nearest),
+                    Math.max(1, Math.min(limit, 500)));
+            List<UserDTO> userDTOs = convertToDTOs(nearby.stream().map(NearbyUser::user).collect(Collectors.toList()));
+            for (int i = 0; i < userDTOs.size(); i++) {
+                userDTOs.get(i).setDistanceKm(nearby.get(i).distanceKm());
+            }
+            return ResponseEntity.ok(sorted(userDTOs, sort));
+        }
+
+        List<User> users = slots == null
+                ? userService.searchUsersBySkills(
+                        offered != null ? offered : List.of(),
+                        wanted != null ? wanted : List.of(),
+                        match)
+                : userService.searchUsersBySkills(
+                        offered != null ? offered : List.of(),
+                        wanted != null ? wanted : List.of(),
+                        match,
+                        slots,
+                        overlap);
+        return ResponseEntity.ok(sorted(convertToDTOs(users), sort));
     }
 
+    // skillName may be repeated, e.g. ?skillName=Java&skillName=Docker&match=ALL
     @GetMapping("/search/offered-skills")
-    public ResponseEntity<List<UserDTO>> searchUsersByOfferedSkill(@RequestParam String skillName) {
-        List<User> users = userService.searchUsersByOfferedSkill(skillName);
-        List<UserDTO> userDTOs = users.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userDTOs);
+    public ResponseEntity<List<UserDTO>> searchUsersByOfferedSkill(@RequestParam List<String> skillName,
+                                                                   @RequestParam(defaultValue = "ALL") MatchMode match) {
+        List<User> users = skillName.size() == 1
+                ? userService.searchUsersByOfferedSkill(skillName.get(0))
+                : userService.searchUsersBySkills(skillName, List.of(), match);
+        return ResponseEntity.ok(convertToDTOs(users));
     }
 
     @GetMapping("/search/wanted-skills")
-    public ResponseEntity<List<UserDTO>> searchUsersByWantedSkill(@RequestParam String skillName) {
-        List<User> users = userService.searchUsersByWantedSkill(skillName);
-        List<UserDTO> userDTOs = users.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userDTOs);
+    public ResponseEntity<List<UserDTO>> searchUsersByWantedSkill(@RequestParam List<String> skillName,
+                                                                  @RequestParam(defaultValue = "ALL") MatchMode match) {
+        List<User> users = skillName.size() == 1
+                ? userService.searchUsersByWantedSkill(skillName.get(0))
+                : userService.searchUsersBySkills(List.of(), skillName, match);
+        return ResponseEntity.ok(convertToDTOs(users));
     }
 
     @GetMapping("/{id}")
@@ -102,6 +181,9 @@ public class UserController {
             user.setLocation(userDTO.getLocation());
             user.setProfilePhoto(userDTO.getProfilePhoto());
             user.setAvailability(userDTO.getAvailability());
+            if (userDTO.getLatitude() != null && userDTO.getLongitude() != null) {
+                user.setCoordinates(userDTO.getLatitude(), userDTO.getLongitude());
+            }
             user.setPublic(userDTO.isPublic());
 
             // Don't allow users to change their admin status
@@ -140,9 +222,29 @@ public class UserController {
         }
     }
 
-    // Helper method to convert User to UserDTO
+    private static List<UserDTO> sorted(List<UserDTO> userDTOs, SearchSort sort) {
+        if (sort == SearchSort.REPUTATION) {
+            userDTOs.sort(Comparator.comparing(UserDTO::getReputation).reversed());
+        }
+        return userDTOs;
+    }
+
+    // Lists look up every reputation in one query
+    private List<UserDTO> convertToDTOs(List<User> users) {
+        Map<Long, Double> reputations = reputationService.getReputations(
+                users.stream().map(User::getId).collect(Collectors.toList()));
+        return users.stream()
+                .map(user -> convertToDTO(user, reputations.get(user.getId())))
+                .collect(Collectors.toList());
+    }
+
     private UserDTO convertToDTO(User user) {
-        return new UserDTO(
+        return convertToDTO(user, reputationService.getReputation(user.getId()));
+    }
+
+    // Helper method to convert User to UserDTO
+    private UserDTO convertToDTO(User user, Double reputation) {
+        UserDTO userDTO = new UserDTO(
             user.getId(),
             user.getUsername(),
             user.getName(),
@@ -153,5 +255,9 @@ public class UserController {
             user.isAdmin(),
             user.isActive()
         );
+        userDTO.setLatitude(user.getLatitude());
+        userDTO.setLongitude(user.getLongitude());
+        userDTO.setReputation(reputation);
+        return userDTO;
     }
 }
@@ -0,0 +1,30 @@
+package com.SkillsSwap.skillswap.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkSwapActionDTO {
+
+    @NotEmpty(message = "At least one swap request ID is required")
+    @Size(max = 500, message = "At most 500 swap requests per call")
+    private List<Long> ids;
+
+    // Constructors
+    public BulkSwapActionDTO() {
+    }
+
+    public BulkSwapActionDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
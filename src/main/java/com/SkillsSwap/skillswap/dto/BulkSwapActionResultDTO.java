@@ -0,0 +1,49 @@
+package com.SkillsSwap.skillswap.dto;
+
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+
+public class BulkSwapActionResultDTO {
+
+    private Long id;
+
+    // APPLIED, CONFLICT, NOT_FOUND or FORBIDDEN
+    private String result;
+
+    // Status after the call; null for NOT_FOUND and FORBIDDEN
+    private SwapStatus status;
+
+    // Constructors
+    public BulkSwapActionResultDTO() {
+    }
+
+    public BulkSwapActionResultDTO(Long id, String result, SwapStatus status) {
+        this.id = id;
+        this.result = result;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public SwapStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SwapStatus status) {
+        this.status = status;
+    }
+}
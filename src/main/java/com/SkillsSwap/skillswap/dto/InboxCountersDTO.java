@@ -0,0 +1,56 @@
+package com.SkillsSwap.skillswap.dto;
+
+public class InboxCountersDTO {
+
+    private long pendingReceived;
+
+    private long pendingSent;
+
+    private long accepted;
+
+    private long awaitingFeedback;
+
+    // Constructors
+    public InboxCountersDTO() {
+    }
+
+    public InboxCountersDTO(long pendingReceived, long pendingSent, long accepted, long awaitingFeedback) {
+        this.pendingReceived = pendingReceived;
+        this.pendingSent = pendingSent;
+        this.accepted = accepted;
+        this.awaitingFeedback = awaitingFeedback;
+    }
+
+    // Getters and Setters
+    public long getPendingReceived() {
+        return pendingReceived;
+    }
+
+    public void setPendingReceived(long pendingReceived) {
+        this.pendingReceived = pendingReceived;
+    }
+
+    public long getPendingSent() {
+        return pendingSent;
+    }
+
+    public void setPendingSent(long pendingSent) {
+        this.pendingSent = pendingSent;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getAwaitingFeedback() {
+        return awaitingFeedback;
+    }
+
+    public void setAwaitingFeedback(long awaitingFeedback) {
+        this.awaitingFeedback = awaitingFeedback;
+    }
+}
@@ -0,0 +1,106 @@
+package com.SkillsSwap.skillswap.dto;
+
+import java.util.List;
+
+public class MatchDTO {
+
+    private Long userId;
+
+    private String username;
+
+    private String name;
+
+    private String location;
+
+    // Skills the match offers that the current user wants
+    private List<String> theyOffer;
+
+    // Skills the match wants that the current user offers
+    private List<String> theyWant;
+
+    private int score;
+
+    // Weekly hours both users are available
+    private int overlapHours;
+
+    // Constructors
+    public MatchDTO() {
+    }
+
+    public MatchDTO(Long userId, String username, String name, String location,
+                   List<String> theyOffer, List<String> theyWant, int score, int overlapHours) {
+        this.userId = userId;
+        this.username = username;
+        this.name = name;
+        this.location = location;
+        this.theyOffer = theyOffer;
+        this.theyWant = theyWant;
+        this.score = score;
+        this.overlapHours = overlapHours;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public List<String> getTheyOffer() {
+        return theyOffer;
+    }
+
+    public void setTheyOffer(List<String> theyOffer) {
+        this.theyOffer = theyOffer;
+    }
+
+    public List<String> getTheyWant() {
+        return theyWant;
+    }
+
+    public void setTheyWant(List<String> theyWant) {
+        this.theyWant = theyWant;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getOverlapHours() {
+        return overlapHours;
+    }
+
+    public void setOverlapHours(int overlapHours) {
+        this.overlapHours = overlapHours;
+    }
+}
@@ -0,0 +1,59 @@
+package com.SkillsSwap.skillswap.dto;
+
+import java.util.List;
+
+public class RatingSummaryDTO {
+
+    private Long userId;
+
+    private long count;
+
+    private Double average;
+
+    // Number of 1- to 5-star ratings, in that order
+    private List<Long> histogram;
+
+    // Constructors
+    public RatingSummaryDTO() {
+    }
+
+    public RatingSummaryDTO(Long userId, long count, Double average, List<Long> histogram) {
+        this.userId = userId;
+        this.count = count;
+        this.average = average;
+        this.histogram = histogram;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public List<Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<Long> histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,161 @@
+package com.SkillsSwap.skillswap.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class RecommendationDTO {
+
+    private List<Partner> partners;
+
+    // Skills the suggested partners offer that the current user has not listed yet
+    private List<String> skills;
+
+    private LocalDateTime builtAt;
+
+    // True when the feed is older than the staleness bound and a rebuild is queued
+    private boolean stale;
+
+    // Constructors
+    public RecommendationDTO() {
+    }
+
+    public RecommendationDTO(List<Partner> partners, List<String> skills, LocalDateTime builtAt, boolean stale) {
+        this.partners = partners;
+        this.skills = skills;
+        this.builtAt = builtAt;
+        this.stale = stale;
+    }
+
+    // Getters and Setters
+    public List<Partner> getPartners() {
+        return partners;
+    }
+
+    public void setPartners(List<Partner> partners) {
+        this.partners = partners;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public void setBuiltAt(LocalDateTime builtAt) {
+        this.builtAt = builtAt;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    public static class Partner {
+
+        private Long userId;
+
+        private String username;
+
+        private String name;
+
+        private String location;
+
+        private List<String> theyOffer;
+
+        private List<String> theyWant;
+
+        private Double averageRating;
+
+        private double score;
+
+        // Constructors
+        public Partner() {
+        }
+
+        public Partner(Long userId, String username, String name, String location,
+                      List<String> theyOffer, List<String> theyWant, Double averageRating, double score) {
+            this.userId = userId;
+            this.username = username;
+            this.name = name;
+            this.location = location;
+            this.theyOffer = theyOffer;
+            this.theyWant = theyWant;
+            this.averageRating = averageRating;
+            this.score = score;
+        }
+
+        // Getters and Setters
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+
+        public List<String> getTheyOffer() {
+            return theyOffer;
+        }
+
+        public void setTheyOffer(List<String> theyOffer) {
+            this.theyOffer = theyOffer;
+        }
+
+        public List<String> getTheyWant() {
+            return theyWant;
+        }
+
+        public void setTheyWant(List<String> theyWant) {
+            this.theyWant = theyWant;
+        }
+
+        public Double getAverageRating() {
+            return averageRating;
+        }
+
+        public void setAverageRating(Double averageRating) {
+            this.averageRating = averageRating;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+}
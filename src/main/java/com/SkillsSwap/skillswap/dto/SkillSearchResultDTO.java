@@ -0,0 +1,58 @@
+package com.SkillsSwap.skillswap.dto;
+
+import java.util.List;
+
+public class SkillSearchResultDTO {
+
+    private int page;
+
+    private int size;
+
+    private int totalHits;
+
+    private List<SkillDTO> results;
+
+    // Constructors
+    public SkillSearchResultDTO() {
+    }
+
+    public SkillSearchResultDTO(int page, int size, int totalHits, List<SkillDTO> results) {
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(int totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public List<SkillDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SkillDTO> results) {
+        this.results = results;
+    }
+}
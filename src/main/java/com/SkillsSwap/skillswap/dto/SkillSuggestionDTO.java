@@ -0,0 +1,45 @@
+package com.SkillsSwap.skillswap.dto;
+
+public class SkillSuggestionDTO {
+
+    private String name;
+
+    private int distance;
+
+    private int userCount;
+
+    // Constructors
+    public SkillSuggestionDTO() {
+    }
+
+    public SkillSuggestionDTO(String name, int distance, int userCount) {
+        this.name = name;
+        this.distance = distance;
+        this.userCount = userCount;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(int userCount) {
+        this.userCount = userCount;
+    }
+}
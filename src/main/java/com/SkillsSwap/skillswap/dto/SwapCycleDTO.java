@@ -0,0 +1,85 @@
+package com.SkillsSwap.skillswap.dto;
+
+import java.util.List;
+
+public class SwapCycleDTO {
+
+    private List<Leg> legs;
+
+    // Constructors
+    public SwapCycleDTO() {
+    }
+
+    public SwapCycleDTO(List<Leg> legs) {
+        this.legs = legs;
+    }
+
+    // Getters and Setters
+    public List<Leg> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<Leg> legs) {
+        this.legs = legs;
+    }
+
+    // One hand-over in the cycle: the giver teaches skillName to the receiver
+    public static class Leg {
+        private Long giverId;
+        private String giverUsername;
+        private Long receiverId;
+        private String receiverUsername;
+        private String skillName;
+
+        public Leg() {
+        }
+
+        public Leg(Long giverId, String giverUsername, Long receiverId, String receiverUsername, String skillName) {
+            this.giverId = giverId;
+            this.giverUsername = giverUsername;
+            this.receiverId = receiverId;
+            this.receiverUsername = receiverUsername;
+            this.skillName = skillName;
+        }
+
+        public Long getGiverId() {
+            return giverId;
+        }
+
+        public void setGiverId(Long giverId) {
+            this.giverId = giverId;
+        }
+
+        public String getGiverUsername() {
+            return giverUsername;
+        }
+
+        public void setGiverUsername(String giverUsername) {
+            this.giverUsername = giverUsername;
+        }
+
+        public Long getReceiverId() {
+            return receiverId;
+        }
+
+        public void setReceiverId(Long receiverId) {
+            this.receiverId = receiverId;
+        }
+
+        public String getReceiverUsername() {
+            return receiverUsername;
+        }
+
+        public void setReceiverUsername(String receiverUsername) {
+            this.receiverUsername = receiverUsername;
+        }
+
+        public String getSkillName() {
+            return skillName;
+        }
+
+        public void setSkillName(String skillName) {
+            this.skillName = skillName;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.SkillsSwap.skillswap.dto;
+
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Query parameters shared by the swap request listings, e.g.
+// ?limit=50&status=PENDING&from=2025-01-01T00:00:00&cursor=<X-Next-Cursor of the previous page>
+public class SwapRequestPageParams {
+
+    private String cursor;
+
+    private int limit = 50;
+
+    private SwapStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Constructors
+    public SwapRequestPageParams() {
+    }
+
+    // Getters and Setters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public SwapStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SwapStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
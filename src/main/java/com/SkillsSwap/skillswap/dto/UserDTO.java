@@ -1,5 +1,7 @@
 package com.SkillsSwap.skillswap.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -20,6 +22,20 @@ public class UserDTO {
 
     private String location;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    // Only set on proximity search results
+    private Double distanceKm;
+
+    // Read-only; recency-weighted Bayesian average rating
+    private Double reputation;
+
     private String profilePhoto;
 
     @NotBlank(message = "Availability is required")
@@ -90,6 +106,38 @@ public class UserDTO {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public Double getReputation() {
+        return reputation;
+    }
+
+    public void setReputation(Double reputation) {
+        this.reputation = reputation;
+    }
+
     public String getProfilePhoto() {
         return profilePhoto;
     }
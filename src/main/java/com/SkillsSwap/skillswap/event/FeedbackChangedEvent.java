@@ -0,0 +1,32 @@
+package com.SkillsSwap.skillswap.event;
+
+import com.SkillsSwap.skillswap.model.Feedback;
+
+// Published by FeedbackService whenever feedback is given or removed
+public record FeedbackChangedEvent(ChangeType type, Long feedbackId, Long swapRequestId,
+                                   Long reviewerId, Long recipientId, int rating) {
+
+    public static FeedbackChangedEvent created(Feedback feedback) {
+        return of(ChangeType.CREATED, feedback);
+    }
+
+    public static FeedbackChangedEvent deleted(Feedback feedback) {
+        return of(ChangeType.DELETED, feedback);
+    }
+
+    private static FeedbackChangedEvent of(ChangeType type, Feedback feedback) {
+        return new FeedbackChangedEvent(
+            type,
+            feedback.getId(),
+            feedback.getSwapRequest().getId(),
+            feedback.getReviewer().getId(),
+            feedback.getRecipient().getId(),
+            feedback.getRating()
+        );
+    }
+
+    public enum ChangeType {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.SkillsSwap.skillswap.event;
+
+// A component that reacts to committed domain events through the outbox instead of inside the
+// writing transaction. Every bean implementing this gets each event of its type at least once,
+// in order per aggregate, outside any transaction. handle should be idempotent and throw to
+// have the event retried.
+public interface OutboxSubscriber<T> {
+
+    Class<T> eventType();
+
+    void handle(T event) throws Exception;
+}
@@ -0,0 +1,22 @@
+package com.SkillsSwap.skillswap.event;
+
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.search.SkillDocument;
+
+// Published by SkillService whenever a skill row is written; listeners see it after commit.
+// For deletes the snapshot is the last state of the removed row.
+public record SkillChangedEvent(ChangeType type, Long skillId, SkillDocument skill) {
+
+    public static SkillChangedEvent saved(Skill skill) {
+        return new SkillChangedEvent(ChangeType.SAVED, skill.getId(), SkillDocument.from(skill));
+    }
+
+    public static SkillChangedEvent deleted(Skill skill) {
+        return new SkillChangedEvent(ChangeType.DELETED, skill.getId(), SkillDocument.from(skill));
+    }
+
+    public enum ChangeType {
+        SAVED,
+        DELETED
+    }
+}
@@ -0,0 +1,19 @@
+package com.SkillsSwap.skillswap.event;
+
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+
+// Published by SwapRequestService on every status change; previousStatus is null for a new request
+public record SwapRequestChangedEvent(Long swapRequestId, Long requesterId, Long providerId,
+                                      SwapStatus previousStatus, SwapStatus status) {
+
+    public static SwapRequestChangedEvent of(SwapRequest swapRequest, SwapStatus previousStatus) {
+        return new SwapRequestChangedEvent(
+            swapRequest.getId(),
+            swapRequest.getRequester().getId(),
+            swapRequest.getProvider().getId(),
+            previousStatus,
+            swapRequest.getStatus()
+        );
+    }
+}
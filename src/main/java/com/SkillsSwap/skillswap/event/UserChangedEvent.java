@@ -0,0 +1,12 @@
+package com.SkillsSwap.skillswap.event;
+
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.search.UserDocument;
+
+// Published by UserService whenever a user row is written; listeners see it after commit
+public record UserChangedEvent(Long userId, UserDocument user) {
+
+    public static UserChangedEvent saved(User user) {
+        return new UserChangedEvent(user.getId(), UserDocument.from(user));
+    }
+}
@@ -0,0 +1,20 @@
+package com.SkillsSwap.skillswap.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The resource changed underneath the request, e.g. a swap request was accepted and cancelled
+// at the same time and this call lost
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+    
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,6 +3,8 @@ package com.SkillsSwap.skillswap.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+// Every association is lazy; FeedbackRepository.findDetailById fetches both users, and the swap
+// request is only ever needed by id, which the foreign key already holds
 @Entity
 @Table(name = "feedbacks")
 public class Feedback {
@@ -11,15 +13,15 @@ public class Feedback {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reviewer_id", nullable = false)
     private User reviewer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_id", nullable = false)
     private User recipient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "swap_request_id", nullable = false)
     private SwapRequest swapRequest;
 
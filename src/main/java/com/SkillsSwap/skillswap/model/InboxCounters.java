@@ -0,0 +1,99 @@
+package com.SkillsSwap.skillswap.model;
+
+import jakarta.persistence.*;
+
+// A user's swap request counts as shown in the navbar, kept in step with swap_requests and
+// feedbacks by InboxCounterService. revision goes up on every change and is the ETag clients
+// poll with.
+@Entity
+@Table(name = "inbox_counters")
+public class InboxCounters {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // PENDING requests the user has to answer
+    @Column(name = "pending_received", nullable = false)
+    private long pendingReceived;
+
+    // PENDING requests the user is waiting on
+    @Column(name = "pending_sent", nullable = false)
+    private long pendingSent;
+
+    // ACCEPTED requests on either side
+    @Column(name = "accepted", nullable = false)
+    private long accepted;
+
+    // COMPLETED requests the user has not reviewed yet
+    @Column(name = "awaiting_feedback", nullable = false)
+    private long awaitingFeedback;
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
+    // Constructors
+    public InboxCounters() {
+    }
+
+    public InboxCounters(Long userId) {
+        this.userId = userId;
+    }
+
+    public InboxCounters(Long userId, long pendingReceived, long pendingSent, long accepted, long awaitingFeedback) {
+        this.userId = userId;
+        this.pendingReceived = pendingReceived;
+        this.pendingSent = pendingSent;
+        this.accepted = accepted;
+        this.awaitingFeedback = awaitingFeedback;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getPendingReceived() {
+        return pendingReceived;
+    }
+
+    public void setPendingReceived(long pendingReceived) {
+        this.pendingReceived = pendingReceived;
+    }
+
+    public long getPendingSent() {
+        return pendingSent;
+    }
+
+    public void setPendingSent(long pendingSent) {
+        this.pendingSent = pendingSent;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getAwaitingFeedback() {
+        return awaitingFeedback;
+    }
+
+    public void setAwaitingFeedback(long awaitingFeedback) {
+        this.awaitingFeedback = awaitingFeedback;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+}
@@ -2,6 +2,7 @@ package com.SkillsSwap.skillswap.model;
 
 import jakarta.persistence.*;
 
+// The owner is lazy; SkillRepository.findWithOwnerById fetches it for the checks and DTOs that show it
 @Entity
 @Table(name = "skills")
 public class Skill {
@@ -18,7 +19,7 @@ public class Skill {
     @Column(nullable = false)
     private boolean isOffered;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
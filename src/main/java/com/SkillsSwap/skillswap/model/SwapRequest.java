@@ -3,27 +3,36 @@ package com.SkillsSwap.skillswap.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+// Every association is lazy; callers load what they need with the JOIN FETCH lookups in
+// SwapRequestRepository, or read a listing as DTOs from there and load no entity at all
 @Entity
-@Table(name = "swap_requests")
+@Table(name = "swap_requests", indexes = {
+    @Index(name = "idx_swap_requests_status_request_date", columnList = "status, request_date"),
+    @Index(name = "idx_swap_requests_requester_request_date", columnList = "requester_id, request_date, id"),
+    @Index(name = "idx_swap_requests_provider_request_date", columnList = "provider_id, request_date, id"),
+    @Index(name = "idx_swap_requests_requester_status_request_date", columnList = "requester_id, status, request_date, id"),
+    @Index(name = "idx_swap_requests_provider_status_request_date", columnList = "provider_id, status, request_date, id"),
+    @Index(name = "idx_swap_requests_request_date", columnList = "request_date, id")
+})
 public class SwapRequest {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id", nullable = false)
     private User requester;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "provider_id", nullable = false)
     private User provider;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requested_skill_id", nullable = false)
     private Skill requestedSkill;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "offered_skill_id", nullable = false)
     private Skill offeredSkill;
 
@@ -38,6 +47,12 @@ public class SwapRequest {
 
     private String message;
 
+    // Guards the load-modify-save path; status transitions use the conditional updates in
+    // SwapRequestRepository, which bump it as well
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     // Constructors
     public SwapRequest() {
     }
@@ -125,12 +140,22 @@ public class SwapRequest {
         this.message = message;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Enum for swap request status
     public enum SwapStatus {
         PENDING,
         ACCEPTED,
         REJECTED,
         COMPLETED,
-        CANCELLED
+        CANCELLED,
+        // Left PENDING longer than swap-requests.expiry.pending-days; see SwapRequestExpiryJob
+        EXPIRED
     }
 }
\ No newline at end of file
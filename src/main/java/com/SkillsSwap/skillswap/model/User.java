@@ -1,11 +1,13 @@
 package com.SkillsSwap.skillswap.model;
 
+import com.SkillsSwap.skillswap.search.GeoHash;
 import jakarta.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_geohash", columnList = "geohash"))
 public class User {
 
     @Id
@@ -23,11 +25,23 @@ public class User {
 
     private String location;
 
+    // Optional coordinates for proximity search; geohash is derived from them
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
     private String profilePhoto;
 
     @Column(nullable = false)
     private String availability;
 
+    // availability parsed into WeeklyAvailability's 168 hourly bits
+    @Column(name = "availability_slots", length = WeeklyAvailability.BYTES)
+    private byte[] availabilitySlots;
+
     @Column(nullable = false)
     private boolean isPublic = true;
 
@@ -37,11 +51,10 @@ public class User {
     @Column(nullable = false)
     private boolean isActive = true;
 
+    // One collection for both kinds, so loading, cascading and dirty checking a user's skills
+    // happens once; getOfferedSkills and getWantedSkills filter it by Skill.isOffered
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<Skill> offeredSkills = new HashSet<>();
-
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<Skill> wantedSkills = new HashSet<>();
+    private Set<Skill> skills = new HashSet<>();
 
     @OneToMany(mappedBy = "requester")
     private Set<SwapRequest> sentRequests = new HashSet<>();
@@ -63,7 +76,7 @@ public class User {
         this.username = username;
         this.password = password;
         this.name = name;
-        this.availability = availability;
+        setAvailability(availability);
     }
 
     // Getters and Setters
@@ -107,6 +120,31 @@ public class User {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getGeohash() {
+        return geohash;
+    }
+
+    // Both or neither; a half-set pair clears the location
+    public void setCoordinates(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            this.latitude = null;
+            this.longitude = null;
+            this.geohash = null;
+        } else {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.geohash = GeoHash.encode(latitude, longitude, 9);
+        }
+    }
+
     public String getProfilePhoto() {
         return profilePhoto;
     }
@@ -121,6 +159,23 @@ public class User {
 
     public void setAvailability(String availability) {
         this.availability = availability;
+        this.availabilitySlots = WeeklyAvailability.parse(availability).toBytes();
+    }
+
+    // Rows written before availability_slots existed are parsed from the text until
+    // AvailabilityBackfillJob has encoded them
+    public WeeklyAvailability getWeeklyAvailability() {
+        return availabilitySlots != null
+                ? WeeklyAvailability.fromBytes(availabilitySlots)
+                : WeeklyAvailability.parse(availability);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void encodeAvailability() {
+        if (availabilitySlots == null) {
+            availabilitySlots = WeeklyAvailability.parse(availability).toBytes();
+        }
     }
 
     public boolean isPublic() {
@@ -147,20 +202,25 @@ public class User {
         this.isActive = isActive;
     }
 
-    public Set<Skill> getOfferedSkills() {
-        return offeredSkills;
+    public Set<Skill> getSkills() {
+        return skills;
     }
 
-    public void setOfferedSkills(Set<Skill> offeredSkills) {
-        this.offeredSkills = offeredSkills;
+    public void setSkills(Set<Skill> skills) {
+        this.skills = skills;
     }
 
-    public Set<Skill> getWantedSkills() {
-        return wantedSkills;
+    // Read-only views; add or remove through getSkills()
+    public Set<Skill> getOfferedSkills() {
+        return skills.stream()
+                .filter(Skill::isOffered)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
-    public void setWantedSkills(Set<Skill> wantedSkills) {
-        this.wantedSkills = wantedSkills;
+    public Set<Skill> getWantedSkills() {
+        return skills.stream()
+                .filter(skill -> !skill.isOffered())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     public Set<SwapRequest> getSentRequests() {
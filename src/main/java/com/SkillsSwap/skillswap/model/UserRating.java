@@ -0,0 +1,153 @@
+package com.SkillsSwap.skillswap.model;
+
+import jakarta.persistence.*;
+
+// Running totals of the feedback a user has received, kept in step with the feedbacks table by
+// FeedbackService so that reading a rating is a primary-key lookup rather than an AVG() scan
+@Entity
+@Table(name = "user_ratings")
+public class UserRating {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_stars", nullable = false)
+    private long twoStars;
+
+    @Column(name = "three_stars", nullable = false)
+    private long threeStars;
+
+    @Column(name = "four_stars", nullable = false)
+    private long fourStars;
+
+    @Column(name = "five_stars", nullable = false)
+    private long fiveStars;
+
+    // Ratings weighted by recency, relative to ReputationService's epoch; null until backfilled
+    @Column(name = "decayed_weight")
+    private Double decayedWeight;
+
+    @Column(name = "decayed_sum")
+    private Double decayedSum;
+
+    // Constructors
+    public UserRating() {
+    }
+
+    public UserRating(Long userId) {
+        this.userId = userId;
+    }
+
+    public UserRating(Long userId, long ratingCount, long ratingSum, long oneStar, long twoStars,
+                      long threeStars, long fourStars, long fiveStars) {
+        this.userId = userId;
+        this.ratingCount = ratingCount;
+        this.ratingSum = ratingSum;
+        this.oneStar = oneStar;
+        this.twoStars = twoStars;
+        this.threeStars = threeStars;
+        this.fourStars = fourStars;
+        this.fiveStars = fiveStars;
+    }
+
+    // Null when the user has no feedback, matching AVG() over no rows
+    public Double getAverage() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+
+    // Counts for 1 to 5 stars, in that order
+    public long[] getHistogram() {
+        return new long[] {oneStar, twoStars, threeStars, fourStars, fiveStars};
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getOneStar() {
+        return oneStar;
+    }
+
+    public void setOneStar(long oneStar) {
+        this.oneStar = oneStar;
+    }
+
+    public long getTwoStars() {
+        return twoStars;
+    }
+
+    public void setTwoStars(long twoStars) {
+        this.twoStars = twoStars;
+    }
+
+    public long getThreeStars() {
+        return threeStars;
+    }
+
+    public void setThreeStars(long threeStars) {
+        this.threeStars = threeStars;
+    }
+
+    public long getFourStars() {
+        return fourStars;
+    }
+
+    public void setFourStars(long fourStars) {
+        this.fourStars = fourStars;
+    }
+
+    public long getFiveStars() {
+        return fiveStars;
+    }
+
+    public void setFiveStars(long fiveStars) {
+        this.fiveStars = fiveStars;
+    }
+
+    public Double getDecayedWeight() {
+        return decayedWeight;
+    }
+
+    public void setDecayedWeight(Double decayedWeight) {
+        this.decayedWeight = decayedWeight;
+    }
+
+    public Double getDecayedSum() {
+        return decayedSum;
+    }
+
+    public void setDecayedSum(Double decayedSum) {
+        this.decayedSum = decayedSum;
+    }
+}
@@ -0,0 +1,234 @@
+package com.SkillsSwap.skillswap.model;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A week of hourly slots as 168 bits (bit = day * 24 + hour, Monday 00:00 first), packed into
+// three longs. Parsed once from the free-form User.availability text and stored as 21 bytes,
+// so overlap between two users is three ANDs and three popcounts.
+public final class WeeklyAvailability {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+    public static final int BYTES = HOURS_PER_WEEK / 8;
+
+    public static final WeeklyAvailability NONE = new WeeklyAvailability(new long[3]);
+    public static final WeeklyAvailability ALWAYS = NONE.with(0, 7, 0, 24);
+
+    // Hours assumed when the text names days but no time ("Weekends"), and the parts of the day
+    private static final int DAY_START = 8;
+    private static final int DAY_END = 22;
+    private static final Pattern HOUR_RANGE = Pattern.compile(
+            "(\\d{1,2})(?::(\\d{2}))?\\s*(am|pm)?\\s*(?:-|to)\\s*(\\d{1,2})(?::(\\d{2}))?\\s*(am|pm)?");
+    private static final Pattern DAY_RANGE = Pattern.compile("([a-z]+)\\s*(?:-|to)\\s*([a-z]+)");
+
+    private final long[] words;
+
+    private WeeklyAvailability(long[] words) {
+        this.words = words;
+    }
+
+    // Understands "Always"/"Flexible", "Weekdays", "Weekends", "Mornings"/"Afternoons"/"Evenings"/
+    // "Nights", day names and ranges ("Mon-Fri"), and hour ranges ("18-22", "9am-5pm"), combined per
+    // clause and separated by ',', ';' or '/', e.g. "Weekday evenings, Sat 10-14".
+    // Text that matches none of these yields NONE.
+    public static WeeklyAvailability parse(String text) {
+        if (text == null || text.isBlank()) {
+            return NONE;
+        }
+        WeeklyAvailability result = NONE;
+        for (String clause : text.toLowerCase(Locale.ROOT).replace("24/7", "always").split("[,;/]")) {
+            result = result.or(parseClause(clause.trim()));
+        }
+        return result;
+    }
+
+    private static WeeklyAvailability parseClause(String clause) {
+        if (clause.isEmpty()) {
+            return NONE;
+        }
+        if (clause.matches("(always|anytime|any time|flexible|everyday|every day)")) {
+            return ALWAYS;
+        }
+
+        boolean[] days = new boolean[7];
+        boolean anyDay = false;
+        boolean[] hours = new boolean[24];
+        boolean anyHour = false;
+
+        Matcher hourRange = HOUR_RANGE.matcher(clause);
+        while (hourRange.find()) {
+            int from = toHour(hourRange.group(1), hourRange.group(3));
+            int to = toHour(hourRange.group(4), hourRange.group(6));
+            if (hourRange.group(5) != null && !hourRange.group(5).equals("00")) {
+                to++;
+            }
+            if (from < 0 || to < 0) {
+                continue;
+            }
+            markHours(hours, from, to == 0 ? 24 : to);
+            anyHour = true;
+        }
+        String words = HOUR_RANGE.matcher(clause).replaceAll(" ");
+
+        Matcher dayRange = DAY_RANGE.matcher(words);
+        while (dayRange.find()) {
+            DayOfWeek from = toDay(dayRange.group(1));
+            DayOfWeek to = toDay(dayRange.group(2));
+            if (from != null && to != null) {
+                for (int d = from.ordinal(); ; d = (d + 1) % 7) {
+                    days[d] = true;
+                    if (d == to.ordinal()) {
+                        break;
+                    }
+                }
+                anyDay = true;
+            }
+        }
+        words = DAY_RANGE.matcher(words).replaceAll(m ->
+                toDay(m.group(1)) != null && toDay(m.group(2)) != null ? " " : m.group());
+
+        for (String word : words.split("[^a-z]+")) {
+            if (word.startsWith("weekday")) {
+                Arrays.fill(days, 0, 5, true);
+                anyDay = true;
+            } else if (word.startsWith("weekend")) {
+                days[5] = days[6] = true;
+                anyDay = true;
+            } else if (word.startsWith("morning")) {
+                markHours(hours, 6, 12);
+                anyHour = true;
+            } else if (word.startsWith("afternoon")) {
+                markHours(hours, 12, 18);
+                anyHour = true;
+            } else if (word.startsWith("evening")) {
+                markHours(hours, 18, 22);
+                anyHour = true;
+            } else if (word.startsWith("night")) {
+                markHours(hours, 22, 24);
+                anyHour = true;
+            } else {
+                DayOfWeek day = toDay(word);
+                if (day != null) {
+                    days[day.ordinal()] = true;
+                    anyDay = true;
+                }
+            }
+        }
+
+        if (!anyDay && !anyHour) {
+            return NONE;
+        }
+        if (!anyDay) {
+            Arrays.fill(days, true);
+        }
+        if (!anyHour) {
+            markHours(hours, DAY_START, DAY_END);
+        }
+        long[] bits = new long[3];
+        for (int d = 0; d < 7; d++) {
+            for (int h = 0; h < 24; h++) {
+                if (days[d] && hours[h]) {
+                    int slot = d * 24 + h;
+                    bits[slot >>> 6] |= 1L << slot;
+                }
+            }
+        }
+        return new WeeklyAvailability(bits);
+    }
+
+    private static int toHour(String digits, String meridiem) {
+        int hour = Integer.parseInt(digits);
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return -1;
+            }
+            hour = hour % 12 + (meridiem.equals("pm") ? 12 : 0);
+        }
+        return hour <= 24 ? hour % 24 : -1;
+    }
+
+    private static DayOfWeek toDay(String word) {
+        if (word.length() < 3) {
+            return null;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.name().toLowerCase(Locale.ROOT);
+            if (name.startsWith(word) || word.startsWith(name)) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    // Marks [from, to) and wraps past midnight, so "22-2" covers 22, 23, 0 and 1
+    private static void markHours(boolean[] hours, int from, int to) {
+        if (from < to) {
+            Arrays.fill(hours, from, to, true);
+        } else {
+            Arrays.fill(hours, from, 24, true);
+            Arrays.fill(hours, 0, to, true);
+        }
+    }
+
+    public static WeeklyAvailability fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            return NONE;
+        }
+        long[] bits = new long[3];
+        for (int i = 0; i < BYTES; i++) {
+            bits[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return new WeeklyAvailability(bits);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    public boolean isAvailable(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public int hours() {
+        return Long.bitCount(words[0]) + Long.bitCount(words[1]) + Long.bitCount(words[2]);
+    }
+
+    public int overlapHours(WeeklyAvailability other) {
+        return Long.bitCount(words[0] & other.words[0])
+                + Long.bitCount(words[1] & other.words[1])
+                + Long.bitCount(words[2] & other.words[2]);
+    }
+
+    public WeeklyAvailability or(WeeklyAvailability other) {
+        return new WeeklyAvailability(new long[] {
+                words[0] | other.words[0], words[1] | other.words[1], words[2] | other.words[2]});
+    }
+
+    private WeeklyAvailability with(int fromDay, int toDay, int fromHour, int toHour) {
+        long[] bits = words.clone();
+        for (int d = fromDay; d < toDay; d++) {
+            for (int h = fromHour; h < toHour; h++) {
+                int slot = d * 24 + h;
+                bits[slot >>> 6] |= 1L << slot;
+            }
+        }
+        return new WeeklyAvailability(bits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklyAvailability other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
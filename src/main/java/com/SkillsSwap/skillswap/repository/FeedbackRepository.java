@@ -1,5 +1,6 @@
 package com.SkillsSwap.skillswap.repository;
 
+import com.SkillsSwap.skillswap.dto.FeedbackDTO;
 import com.SkillsSwap.skillswap.model.Feedback;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.User;
@@ -8,12 +9,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
+    @Query("SELECT f FROM Feedback f JOIN FETCH f.reviewer JOIN FETCH f.recipient WHERE f.id = ?1")
+    Optional<Feedback> findDetailById(Long id);
+    
     List<Feedback> findByReviewer(User reviewer);
     
     List<Feedback> findByRecipient(User recipient);
@@ -22,9 +27,6 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
     Optional<Feedback> findByReviewerAndSwapRequest(User reviewer, SwapRequest swapRequest);
     
-    @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.recipient = ?1")
-    Double getAverageRatingForUser(User user);
-    
     List<Feedback> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
     @Query("SELECT f FROM Feedback f WHERE f.rating <= ?1")
@@ -32,4 +34,32 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
     @Query("SELECT f FROM Feedback f WHERE f.rating >= ?1")
     List<Feedback> findByRatingGreaterThanEqual(int rating);
+    
+    // Listings select their DTOs from one join of the feedback with both users; the swap
+    // request only contributes its id, which is the feedback's own foreign key
+    String DTO_SELECT = "SELECT new com.SkillsSwap.skillswap.dto.FeedbackDTO(f.id, rv.id, rv.username, " +
+            "rc.id, rc.username, f.swapRequest.id, f.rating, f.comment, f.createdAt) " +
+            "FROM Feedback f JOIN f.reviewer rv JOIN f.recipient rc ";
+    
+    @Query(DTO_SELECT + "ORDER BY f.id")
+    List<FeedbackDTO> findAllDTOs();
+    
+    @Query(DTO_SELECT + "WHERE f.reviewer.id = ?1 ORDER BY f.id")
+    List<FeedbackDTO> findDTOsByReviewerId(Long reviewerId);
+    
+    @Query(DTO_SELECT + "WHERE f.recipient.id = ?1 ORDER BY f.id")
+    List<FeedbackDTO> findDTOsByRecipientId(Long recipientId);
+    
+    @Query(DTO_SELECT + "WHERE f.swapRequest.id = ?1 ORDER BY f.id")
+    List<FeedbackDTO> findDTOsBySwapRequestId(Long swapRequestId);
+    
+    @Query(DTO_SELECT + "WHERE f.rating <= ?1 ORDER BY f.id")
+    List<FeedbackDTO> findDTOsByRatingLessThanEqual(int rating);
+    
+    @Query(DTO_SELECT + "WHERE f.rating >= ?1 ORDER BY f.id")
+    List<FeedbackDTO> findDTOsByRatingGreaterThanEqual(int rating);
+    
+    // recipient id, rating, createdAt
+    @Query("SELECT f.recipient.id, f.rating, f.createdAt FROM Feedback f WHERE f.recipient.id IN ?1")
+    List<Object[]> findRatingsByRecipientIds(Collection<Long> recipientIds);
 }
\ No newline at end of file
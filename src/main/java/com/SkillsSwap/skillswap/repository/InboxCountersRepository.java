@@ -0,0 +1,66 @@
+package com.SkillsSwap.skillswap.repository;
+
+import com.SkillsSwap.skillswap.model.InboxCounters;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InboxCountersRepository extends JpaRepository<InboxCounters, Long> {
+
+    // Adds the deltas in place, so concurrent changes for the same user cannot lose an update.
+    // Returns 0 when the user has no row yet.
+    @Modifying
+    @Query("UPDATE InboxCounters c SET c.pendingReceived = c.pendingReceived + ?2, " +
+           "c.pendingSent = c.pendingSent + ?3, " +
+           "c.accepted = c.accepted + ?4, " +
+           "c.awaitingFeedback = c.awaitingFeedback + ?5, " +
+           "c.revision = c.revision + 1 " +
+           "WHERE c.userId = ?1")
+    int applyDeltas(Long userId, long pendingReceived, long pendingSent, long accepted, long awaitingFeedback);
+
+    // Inserts a row built by InboxCounterService unless a concurrent transaction got there first;
+    // 0 means it did and the caller should apply its deltas to that row instead
+    @Modifying
+    @Query(value = "INSERT INTO inbox_counters (user_id, pending_received, pending_sent, accepted, " +
+                   "awaiting_feedback, revision) VALUES (?1, ?2, ?3, ?4, ?5, 1) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfMissing(Long userId, long pendingReceived, long pendingSent, long accepted, long awaitingFeedback);
+
+    // The pieces of a row built from scratch; each count is a range scan on a
+    // (requester_id | provider_id, status, ...) index
+    @Query("SELECT COUNT(sr) FROM SwapRequest sr WHERE sr.provider.id = ?1 AND sr.status = ?2")
+    long countReceived(Long userId, SwapStatus status);
+
+    @Query("SELECT COUNT(sr) FROM SwapRequest sr WHERE sr.requester.id = ?1 AND sr.status = ?2")
+    long countSent(Long userId, SwapStatus status);
+
+    @Query("SELECT COUNT(sr) FROM SwapRequest sr WHERE sr.provider.id = ?1 AND sr.status = 'COMPLETED' " +
+           "AND NOT EXISTS (SELECT 1 FROM Feedback f WHERE f.swapRequest = sr AND f.reviewer.id = ?1)")
+    long countReceivedAwaitingFeedback(Long userId);
+
+    @Query("SELECT COUNT(sr) FROM SwapRequest sr WHERE sr.requester.id = ?1 AND sr.status = 'COMPLETED' " +
+           "AND NOT EXISTS (SELECT 1 FROM Feedback f WHERE f.swapRequest = sr AND f.reviewer.id = ?1)")
+    long countSentAwaitingFeedback(Long userId);
+
+    // One-time backfill: a row for every user who has none yet, including users with no requests
+    @Modifying
+    @Query(value = "INSERT INTO inbox_counters (user_id, pending_received, pending_sent, accepted, " +
+                   "awaiting_feedback, revision) " +
+                   "SELECT u.id, " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.provider_id = u.id AND s.status = 'PENDING'), " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.requester_id = u.id AND s.status = 'PENDING'), " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.provider_id = u.id AND s.status = 'ACCEPTED') + " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.requester_id = u.id AND s.status = 'ACCEPTED'), " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.provider_id = u.id AND s.status = 'COMPLETED' " +
+                   "AND NOT EXISTS (SELECT 1 FROM feedbacks f WHERE f.swap_request_id = s.id AND f.reviewer_id = u.id)) + " +
+                   "(SELECT COUNT(*) FROM swap_requests s WHERE s.requester_id = u.id AND s.status = 'COMPLETED' " +
+                   "AND NOT EXISTS (SELECT 1 FROM feedbacks f WHERE f.swap_request_id = s.id AND f.reviewer_id = u.id)), " +
+                   "0 " +
+                   "FROM users u " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM inbox_counters c WHERE c.user_id = u.id)",
+           nativeQuery = true)
+    int insertMissingCounters();
+}
@@ -0,0 +1,33 @@
+package com.SkillsSwap.skillswap.repository;
+
+import com.SkillsSwap.skillswap.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // The oldest undelivered event of each aggregate, if it is due. Later events of an aggregate
+    // wait until the one before them is delivered or given up on, which is what keeps delivery
+    // in order per aggregate while different aggregates are delivered in parallel.
+    @Query("SELECT o FROM OutboxEvent o WHERE o.availableAt <= ?1 AND o.attempts < ?2 " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent e WHERE e.aggregateType = o.aggregateType " +
+           "AND e.aggregateId = o.aggregateId AND e.id < o.id AND e.attempts < ?2) " +
+           "ORDER BY o.id")
+    List<OutboxEvent> findDeliverable(LocalDateTime now, int maxAttempts, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.availableAt = ?2, o.lastError = ?3 " +
+           "WHERE o.id = ?1")
+    int markFailed(Long id, LocalDateTime retryAt, String error);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -0,0 +1,30 @@
+package com.SkillsSwap.skillswap.repository;
+
+import com.SkillsSwap.skillswap.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    
+    // Takes the lease if it has run out or already belongs to owner; 1 when owner now holds it
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = ?2, l.leaseUntil = ?3 " +
+           "WHERE l.name = ?1 AND (l.leaseUntil < ?4 OR l.owner = ?2)")
+    int acquire(String name, String owner, LocalDateTime leaseUntil, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.leaseUntil = ?3 WHERE l.name = ?1 AND l.owner = ?2")
+    int release(String name, String owner, LocalDateTime now);
+    
+    // Creates the row, already expired, the first time a lease is used
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, lease_until) " +
+                   "SELECT ?1, NULL, ?2 WHERE NOT EXISTS (SELECT 1 FROM scheduler_leases WHERE name = ?1)",
+           nativeQuery = true)
+    int insertIfMissing(String name, LocalDateTime leaseUntil);
+}
@@ -1,16 +1,23 @@
 package com.SkillsSwap.skillswap.repository;
 
+import com.SkillsSwap.skillswap.dto.SkillDTO;
 import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.search.SkillDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
     
+    @Query("SELECT s FROM Skill s JOIN FETCH s.user WHERE s.id = ?1")
+    Optional<Skill> findWithOwnerById(Long id);
+    
     List<Skill> findByUser(User user);
     
     List<Skill> findByUserAndIsOffered(User user, boolean isOffered);
@@ -22,6 +29,33 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     
     List<Skill> findByIsApproved(boolean isApproved);
     
+    long countByIsApproved(boolean isApproved);
+    
     @Query("SELECT DISTINCT s.name FROM Skill s WHERE s.isApproved = true ORDER BY s.name")
     List<String> findAllDistinctSkillNames();
+    
+    // Listings select their DTOs from one join of the skill with its owner
+    String DTO_SELECT = "SELECT new com.SkillsSwap.skillswap.dto.SkillDTO(s.id, s.name, s.description, " +
+            "s.isOffered, u.id, u.username, s.isApproved) FROM Skill s JOIN s.user u ";
+    
+    @Query(DTO_SELECT + "WHERE s.id IN ?1")
+    List<SkillDTO> findDTOsByIdIn(Collection<Long> ids);
+    
+    @Query(DTO_SELECT + "WHERE s.user.id = ?1 ORDER BY s.id")
+    List<SkillDTO> findDTOsByUserId(Long userId);
+    
+    @Query(DTO_SELECT + "WHERE s.user.id = ?1 AND s.isOffered = ?2 ORDER BY s.id")
+    List<SkillDTO> findDTOsByUserIdAndIsOffered(Long userId, boolean isOffered);
+    
+    @Query(DTO_SELECT + "WHERE s.isApproved = ?1 ORDER BY s.id")
+    List<SkillDTO> findDTOsByIsApproved(boolean isApproved);
+    
+    @Query(DTO_SELECT + "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', ?1, '%')) ORDER BY s.id")
+    List<SkillDTO> findDTOsByNameContainingIgnoreCase(String name);
+    
+    @Query(DTO_SELECT + "WHERE s.name LIKE %?1% AND s.isOffered = ?2 AND s.isApproved = true ORDER BY s.id")
+    List<SkillDTO> findDTOsByNameContainingAndIsOffered(String name, boolean isOffered);
+    
+    @Query("SELECT new com.SkillsSwap.skillswap.search.SkillDocument(s.id, s.name, s.description, s.isOffered, s.isApproved, s.user.id) FROM Skill s")
+    List<SkillDocument> findAllSkillDocuments();
 }
\ No newline at end of file
@@ -1,18 +1,48 @@
 package com.SkillsSwap.skillswap.repository;
 
+import com.SkillsSwap.skillswap.dto.SwapRequestDTO;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
 import com.SkillsSwap.skillswap.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SwapRequestRepository extends JpaRepository<SwapRequest, Long> {
     
+    // Listings select their DTOs straight from one join of the request with both users and both
+    // skills, so a page is a single statement whatever its size and no entity is loaded. The joins
+    // are entity joins on the foreign keys rather than association joins: with JOIN sr.requester r,
+    // Hibernate renders sr.requester.id in a WHERE clause as r.id, the users key, and H2 then
+    // cannot use the (requester_id, status, request_date, id) index for it.
+    String DTO_SELECT = "SELECT new com.SkillsSwap.skillswap.dto.SwapRequestDTO(sr.id, r.id, r.username, " +
+            "p.id, p.username, rs.id, rs.name, os.id, os.name, sr.requestDate, sr.responseDate, sr.status, sr.message) " +
+            "FROM SwapRequest sr JOIN User r ON r.id = sr.requester.id JOIN User p ON p.id = sr.provider.id " +
+            "JOIN Skill rs ON rs.id = sr.requestedSkill.id JOIN Skill os ON os.id = sr.offeredSkill.id ";
+    
+    // Single-entity lookups are JOIN FETCH queries rather than @EntityGraph methods: Hibernate
+    // translates a query carrying a fetch graph afresh on every call, which cost about twice the
+    // heap of the same fetch written into the query (see FetchPlanBenchmarkTest)
+    
+    // Everything a SwapRequestDTO shows
+    @Query("SELECT sr FROM SwapRequest sr JOIN FETCH sr.requester JOIN FETCH sr.provider " +
+           "JOIN FETCH sr.requestedSkill JOIN FETCH sr.offeredSkill WHERE sr.id = ?1")
+    Optional<SwapRequest> findDetailById(Long id);
+    
+    // Both users, for the permission checks in front of a status change
+    @Query("SELECT sr FROM SwapRequest sr JOIN FETCH sr.requester JOIN FETCH sr.provider WHERE sr.id = ?1")
+    Optional<SwapRequest> findWithParticipantsById(Long id);
+    
     List<SwapRequest> findByRequester(User requester);
     
     List<SwapRequest> findByProvider(User provider);
@@ -21,16 +51,97 @@ public interface SwapRequestRepository extends JpaRepository<SwapRequest, Long>
     
     List<SwapRequest> findByProviderAndStatus(User provider, SwapStatus status);
     
-    @Query("SELECT sr FROM SwapRequest sr WHERE (sr.requester = ?1 OR sr.provider = ?1) AND sr.status = ?2")
-    List<SwapRequest> findByUserAndStatus(User user, SwapStatus status);
+    // Both sides of a user's requests, newest first; SwapRequestService merges the two lists
+    // instead of asking for "requester = ? OR provider = ?", which cannot use either index
+    List<SwapRequest> findByRequesterOrderByRequestDateDescIdDesc(User requester);
+    
+    List<SwapRequest> findByProviderOrderByRequestDateDescIdDesc(User provider);
     
-    @Query("SELECT sr FROM SwapRequest sr WHERE (sr.requester = ?1 OR sr.provider = ?1)")
-    List<SwapRequest> findByUser(User user);
+    List<SwapRequest> findByRequesterAndStatusOrderByRequestDateDescIdDesc(User requester, SwapStatus status);
+    
+    List<SwapRequest> findByProviderAndStatusOrderByRequestDateDescIdDesc(User provider, SwapStatus status);
     
     List<SwapRequest> findByStatus(SwapStatus status);
     
     List<SwapRequest> findByRequestDateBetween(LocalDateTime start, LocalDateTime end);
     
+    // Compare-and-set: moves the request to status only if it is still in expected, in one
+    // statement, so of two concurrent transitions exactly one sees 1 row updated.
+    // responseDate == null leaves the column as it is.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SwapRequest sr SET sr.status = ?2, sr.responseDate = COALESCE(?3, sr.responseDate), " +
+           "sr.version = sr.version + 1 WHERE sr.id = ?1 AND sr.status = ?4")
+    int transitionStatus(Long id, SwapStatus status, LocalDateTime responseDate, SwapStatus expected);
+    
+    // Batched form of transitionStatus for ids already known to be in expected
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SwapRequest sr SET sr.status = ?2, sr.responseDate = COALESCE(?3, sr.responseDate), " +
+           "sr.version = sr.version + 1 WHERE sr.id IN ?1 AND sr.status = ?4")
+    int transitionStatuses(Collection<Long> ids, SwapStatus status, LocalDateTime responseDate, SwapStatus expected);
+    
+    // id, requester id, provider id, status. The rows stay locked until the transaction ends;
+    // ordering by id makes overlapping bulk calls lock in the same order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sr.id, sr.requester.id, sr.provider.id, sr.status FROM SwapRequest sr WHERE sr.id IN ?1 ORDER BY sr.id")
+    List<Object[]> lockTransitionStates(Collection<Long> ids);
+    
+    // id, requester id, provider id of the oldest requests in status from before cutoff, locked
+    // until the transaction ends; served by idx_swap_requests_status_request_date
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sr.id, sr.requester.id, sr.provider.id FROM SwapRequest sr " +
+           "WHERE sr.status = ?1 AND sr.requestDate < ?2 ORDER BY sr.requestDate, sr.id")
+    List<Object[]> lockOldestByStatus(SwapStatus status, LocalDateTime cutoff, Pageable pageable);
+    
+    // Keyset pages, newest first: requests with from <= requestDate, strictly after the
+    // (afterDate, afterId) position in (requestDate DESC, id DESC) order. Every variant has a
+    // matching index on (..., request_date, id), so a page is one index range scan of at most
+    // limit rows. There is deliberately no "requester OR provider" variant: SwapRequestService
+    // merges the requester and provider pages instead.
+    @Query(DTO_SELECT + "WHERE sr.requester.id = ?1 " +
+           "AND sr.requestDate >= ?2 AND (sr.requestDate < ?3 OR (sr.requestDate = ?3 AND sr.id < ?4)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPageByRequester(Long requesterId, LocalDateTime from,
+                                          LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE sr.requester.id = ?1 AND sr.status = ?2 " +
+           "AND sr.requestDate >= ?3 AND (sr.requestDate < ?4 OR (sr.requestDate = ?4 AND sr.id < ?5)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPageByRequesterAndStatus(Long requesterId, SwapStatus status, LocalDateTime from,
+                                                   LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE sr.provider.id = ?1 " +
+           "AND sr.requestDate >= ?2 AND (sr.requestDate < ?3 OR (sr.requestDate = ?3 AND sr.id < ?4)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPageByProvider(Long providerId, LocalDateTime from,
+                                         LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE sr.provider.id = ?1 AND sr.status = ?2 " +
+           "AND sr.requestDate >= ?3 AND (sr.requestDate < ?4 OR (sr.requestDate = ?4 AND sr.id < ?5)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPageByProviderAndStatus(Long providerId, SwapStatus status, LocalDateTime from,
+                                                  LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE " +
+           "sr.requestDate >= ?1 AND (sr.requestDate < ?2 OR (sr.requestDate = ?2 AND sr.id < ?3)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPage(LocalDateTime from, LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE sr.status = ?1 " +
+           "AND sr.requestDate >= ?2 AND (sr.requestDate < ?3 OR (sr.requestDate = ?3 AND sr.id < ?4)) " +
+           "ORDER BY sr.requestDate DESC, sr.id DESC")
+    List<SwapRequestDTO> findPageByStatus(SwapStatus status, LocalDateTime from,
+                                       LocalDateTime afterDate, Long afterId, Pageable pageable);
+    
     @Query("SELECT COUNT(sr) FROM SwapRequest sr WHERE sr.status = ?1")
     long countByStatus(SwapStatus status);
+    
+    @Query("SELECT CASE WHEN sr.requester.id = ?1 THEN sr.provider.id ELSE sr.requester.id END FROM SwapRequest sr " +
+           "WHERE (sr.requester.id = ?1 OR sr.provider.id = ?1) AND sr.status IN ?2")
+    List<Long> findCounterpartIds(Long userId, Collection<SwapStatus> statuses);
+    
+    @Query("SELECT sr.requester.id, MAX(sr.requestDate) FROM SwapRequest sr WHERE sr.requester.id IN ?1 GROUP BY sr.requester.id")
+    List<Object[]> findLatestRequestDateByRequesterIds(Collection<Long> userIds);
+    
+    @Query("SELECT sr.provider.id, MAX(sr.requestDate) FROM SwapRequest sr WHERE sr.provider.id IN ?1 GROUP BY sr.provider.id")
+    List<Object[]> findLatestRequestDateByProviderIds(Collection<Long> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.SkillsSwap.skillswap.repository;
+
+import com.SkillsSwap.skillswap.model.UserRating;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserRatingRepository extends JpaRepository<UserRating, Long> {
+    
+    // Adds (delta = 1) or removes (delta = -1) one rating in place, so concurrent feedback for
+    // the same user cannot lose an update. signedWeight is delta times the rating's
+    // ReputationService.weightOf. Returns 0 when the user has no aggregate row yet.
+    @Modifying
+    @Query("UPDATE UserRating r SET r.ratingCount = r.ratingCount + ?2, " +
+           "r.ratingSum = r.ratingSum + ?2 * ?3, " +
+           "r.oneStar = r.oneStar + CASE WHEN ?3 = 1 THEN ?2 ELSE 0 END, " +
+           "r.twoStars = r.twoStars + CASE WHEN ?3 = 2 THEN ?2 ELSE 0 END, " +
+           "r.threeStars = r.threeStars + CASE WHEN ?3 = 3 THEN ?2 ELSE 0 END, " +
+           "r.fourStars = r.fourStars + CASE WHEN ?3 = 4 THEN ?2 ELSE 0 END, " +
+           "r.fiveStars = r.fiveStars + CASE WHEN ?3 = 5 THEN ?2 ELSE 0 END, " +
+           "r.decayedWeight = r.decayedWeight + ?4, " +
+           "r.decayedSum = r.decayedSum + ?4 * ?3 " +
+           "WHERE r.userId = ?1")
+    int applyRating(Long userId, long delta, int rating, double signedWeight);
+    
+    // Builds the aggregate from scratch for one user, e.g. the first time they receive feedback
+    @Query("SELECT new com.SkillsSwap.skillswap.model.UserRating(f.recipient.id, COUNT(f), SUM(f.rating), " +
+           "SUM(CASE WHEN f.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN f.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN f.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.rating = 5 THEN 1 ELSE 0 END)) " +
+           "FROM Feedback f WHERE f.recipient.id = ?1 GROUP BY f.recipient.id")
+    UserRating computeFromFeedback(Long userId);
+    
+    // Inserts an aggregate built by FeedbackService unless a concurrent transaction got there
+    // first; 0 means it did and the caller should apply its rating to that row instead
+    @Modifying
+    @Query(value = "INSERT INTO user_ratings (user_id, rating_count, rating_sum, one_star, two_stars, " +
+                   "three_stars, four_stars, five_stars, decayed_weight, decayed_sum) " +
+                   "VALUES (:#{#r.userId}, :#{#r.ratingCount}, :#{#r.ratingSum}, :#{#r.oneStar}, :#{#r.twoStars}, " +
+                   ":#{#r.threeStars}, :#{#r.fourStars}, :#{#r.fiveStars}, :#{#r.decayedWeight}, :#{#r.decayedSum}) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfMissing(@Param("r") UserRating aggregate);
+    
+    @Query("SELECT r FROM UserRating r WHERE r.decayedWeight IS NULL ORDER BY r.userId")
+    List<UserRating> findWithoutReputation(Pageable pageable);
+    
+    // One-time backfill: aggregates for every user with feedback but no row yet
+    @Modifying
+    @Query(value = "INSERT INTO user_ratings (user_id, rating_count, rating_sum, one_star, two_stars, " +
+                   "three_stars, four_stars, five_stars) " +
+                   "SELECT f.recipient_id, COUNT(*), SUM(f.rating), " +
+                   "SUM(CASE WHEN f.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN f.rating = 2 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN f.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN f.rating = 4 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN f.rating = 5 THEN 1 ELSE 0 END) " +
+                   "FROM feedbacks f " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM user_ratings r WHERE r.user_id = f.recipient_id) " +
+                   "GROUP BY f.recipient_id",
+           nativeQuery = true)
+    int insertMissingAggregates();
+}
@@ -1,7 +1,10 @@
 package com.SkillsSwap.skillswap.repository;
 
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.search.UserDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -17,11 +20,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByIsPublicTrueAndIsActiveTrue();
     
-    @Query("SELECT u FROM User u JOIN u.offeredSkills s WHERE s.name LIKE %?1% AND u.isPublic = true AND u.isActive = true")
+    @Query("SELECT DISTINCT u FROM User u JOIN u.skills s WHERE s.isOffered = true AND s.name LIKE %?1% AND u.isPublic = true AND u.isActive = true")
     List<User> findByOfferedSkillsContaining(String skillName);
     
-    @Query("SELECT u FROM User u JOIN u.wantedSkills s WHERE s.name LIKE %?1% AND u.isPublic = true AND u.isActive = true")
+    @Query("SELECT DISTINCT u FROM User u JOIN u.skills s WHERE s.isOffered = false AND s.name LIKE %?1% AND u.isPublic = true AND u.isActive = true")
     List<User> findByWantedSkillsContaining(String skillName);
     
     List<User> findByIsAdmin(boolean isAdmin);
+    
+    long countByIsPublicTrueAndIsActiveTrue();
+    
+    long countByIsAdmin(boolean isAdmin);
+    
+    @Query("SELECT new com.SkillsSwap.skillswap.search.UserDocument(u.id, u.isPublic, u.isActive, u.availability, u.availabilitySlots, u.latitude, u.longitude) FROM User u")
+    List<UserDocument> findAllUserDocuments();
+    
+    // Rows written before availability_slots existed: (id, availability)
+    @Query("SELECT u.id, u.availability FROM User u WHERE u.availabilitySlots IS NULL ORDER BY u.id")
+    List<Object[]> findAvailabilityWithoutSlots(Pageable pageable);
+    
+    // Only fills a missing value, so a concurrent save's own encoding is never overwritten
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.availabilitySlots = ?2 WHERE u.id = ?1 AND u.availabilitySlots IS NULL")
+    int fillAvailabilitySlots(Long id, byte[] availabilitySlots);
 }
\ No newline at end of file
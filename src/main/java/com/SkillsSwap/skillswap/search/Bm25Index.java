@@ -0,0 +1,131 @@
+package com.SkillsSwap.skillswap.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+// Okapi BM25 over a tokenized inverted index. A document is a set of weighted fields: a token
+// in a field of weight w counts w times towards both its term frequency and the document
+// length, which is the usual cheap approximation of BM25F. Not thread-safe.
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Keeps "c++" and "c#" intact while splitting on everything else
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    // Term -> (document id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // Document id -> its weighted term frequencies, needed to undo an update
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    public void put(Long id, Field... fields) {
+        remove(id);
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (Field field : fields) {
+            for (String token : tokenize(field.text())) {
+                frequencies.merge(token, field.weight(), Integer::sum);
+                length += field.weight();
+            }
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documents.put(id, frequencies);
+        documentLengths.put(id, length);
+        totalLength += length;
+    }
+
+    public void remove(Long id) {
+        Map<String, Integer> frequencies = documents.remove(id);
+        if (frequencies == null) {
+            return;
+        }
+        for (String term : frequencies.keySet()) {
+            Map<Long, Integer> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+        documentLengths.clear();
+        totalLength = 0;
+    }
+
+    // Best `limit` hits after skipping `offset`, plus the total number of matching documents
+    public Result search(String query, int offset, int limit) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        double averageLength = documentCount == 0 ? 0 : (double) totalLength / documentCount;
+        for (String term : tokenize(query).stream().distinct().toList()) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - ids.size() + 0.5) / (ids.size() + 0.5));
+            for (Map.Entry<Long, Integer> posting : ids.entrySet()) {
+                int tf = posting.getValue();
+                double norm = K1 * (1 - B + B * documentLengths.get(posting.getKey()) / averageLength);
+                scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        }
+
+        // Min-heap of the best offset+limit hits, so selection is O(n log k) rather than a full sort
+        int k = (int) Math.min((long) offset + limit, scores.size());
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder());
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.max(1, k), ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Hit hit = new Hit(entry.getKey(), entry.getValue());
+            if (heap.size() < k) {
+                heap.add(hit);
+            } else if (k > 0 && ranking.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+        List<Hit> best = new ArrayList<>(heap);
+        best.sort(ranking.reversed());
+        List<Hit> page = offset >= best.size() ? List.of() : best.subList(offset, best.size());
+        return new Result(scores.size(), new ArrayList<>(page));
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public record Field(String text, int weight) {
+    }
+
+    public record Hit(Long id, double score) {
+    }
+
+    public record Result(int totalHits, List<Hit> hits) {
+    }
+}
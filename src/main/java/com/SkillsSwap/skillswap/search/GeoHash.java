@@ -0,0 +1,89 @@
+package com.SkillsSwap.skillswap.search;
+
+// Geohash encoding plus the cell arithmetic UserLocationIndex needs. A geohash of n bits splits
+// longitude into ceil(n/2) bits and latitude into floor(n/2) bits and interleaves them, longitude
+// first, so every prefix length is a uniform lat/lon grid and a cell's key is the hash prefix.
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoHash() {
+    }
+
+    // Standard base32 geohash, e.g. "u4pruydqq" for 9 characters (about 5 m)
+    public static String encode(double latitude, double longitude, int characters) {
+        int bits = characters * 5;
+        long hash = hash(latitude, longitude, bits);
+        char[] chars = new char[characters];
+        for (int i = characters - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 31)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long hash(double latitude, double longitude, int bits) {
+        return interleave(latIndex(latitude, latBits(bits)), lonIndex(longitude, lonBits(bits)), bits);
+    }
+
+    static int lonBits(int bits) {
+        return (bits + 1) / 2;
+    }
+
+    static int latBits(int bits) {
+        return bits / 2;
+    }
+
+    static int latIndex(double latitude, int latBits) {
+        int cells = 1 << latBits;
+        int index = (int) Math.floor((latitude + 90.0) / 180.0 * cells);
+        return Math.max(0, Math.min(cells - 1, index));
+    }
+
+    static int lonIndex(double longitude, int lonBits) {
+        int cells = 1 << lonBits;
+        int index = (int) Math.floor((longitude + 180.0) / 360.0 * cells);
+        return Math.floorMod(index, cells);
+    }
+
+    static long interleave(int latIndex, int lonIndex, int bits) {
+        int lonBits = lonBits(bits);
+        int latBits = latBits(bits);
+        long hash = 0;
+        for (int i = 0; i < bits; i++) {
+            hash <<= 1;
+            if (i % 2 == 0) {
+                hash |= (lonIndex >>> (lonBits - 1 - i / 2)) & 1;
+            } else {
+                hash |= (latIndex >>> (latBits - 1 - i / 2)) & 1;
+            }
+        }
+        return hash;
+    }
+
+    // Great-circle distance
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Degrees of latitude / longitude that cover radiusKm around a point; longitude widens
+    // towards the poles and covers everything once the circle reaches one
+    static double latitudeSpan(double radiusKm) {
+        return Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+    }
+
+    static double longitudeSpan(double latitude, double radiusKm) {
+        double latSpan = latitudeSpan(radiusKm);
+        if (Math.abs(latitude) + latSpan >= 90.0) {
+            return 180.0;
+        }
+        double ratio = Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude));
+        return ratio >= 1.0 ? 180.0 : Math.toDegrees(Math.asin(ratio));
+    }
+}
@@ -0,0 +1,117 @@
+package com.SkillsSwap.skillswap.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Character trie searched with a Levenshtein automaton: walking an edge extends the edit
+// distance DP by one row, and a subtree is abandoned as soon as the smallest value in its
+// row exceeds the tolerance. Terms sharing a prefix share that work. Not thread-safe.
+public class LevenshteinTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    public boolean add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+        }
+        if (node.term != null) {
+            return false;
+        }
+        node.term = term;
+        size++;
+        return true;
+    }
+
+    public boolean remove(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        if (node == null || node.term == null) {
+            return false;
+        }
+        // Empty branches are left in place; they cost one row each and are reused on re-add
+        node.term = null;
+        size--;
+        return true;
+    }
+
+    public List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (root.term != null && firstRow[query.length()] <= maxDistance) {
+            matches.add(new Match(root.term, firstRow[query.length()]));
+        }
+        for (int i = 0; i < root.size; i++) {
+            search(root.nodes[i], root.labels[i], query, firstRow, maxDistance, matches);
+        }
+        return matches;
+    }
+
+    private void search(Node node, char label, String query, int[] previousRow, int maxDistance, List<Match> matches) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int cost = query.charAt(i - 1) == label ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), previousRow[i - 1] + cost);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        if (node.term != null && row[columns - 1] <= maxDistance) {
+            matches.add(new Match(node.term, row[columns - 1]));
+        }
+        if (rowMin <= maxDistance) {
+            for (int i = 0; i < node.size; i++) {
+                search(node.nodes[i], node.labels[i], query, row, maxDistance, matches);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public record Match(String term, int distance) {
+    }
+
+    // Children kept in two parallel arrays; skill names branch narrowly below the first few levels
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] nodes = new Node[0];
+        private int size;
+        private String term;
+
+        private Node child(char label) {
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == label) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node existing = child(label);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+            }
+            Node created = new Node();
+            labels[size] = label;
+            nodes[size] = created;
+            size++;
+            return created;
+        }
+    }
+}
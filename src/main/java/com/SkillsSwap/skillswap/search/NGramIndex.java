@@ -0,0 +1,103 @@
+package com.SkillsSwap.skillswap.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Inverted index from lower-cased character n-grams (lengths 1 to 3) to document ids.
+// Queries longer than three characters intersect the posting lists of their trigrams,
+// shorter ones are answered by a single posting list. Callers handle locking.
+public class NGramIndex {
+
+    private static final int MAX_GRAM_LENGTH = 3;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String> terms = new HashMap<>();
+
+    public void put(Long id, String text) {
+        remove(id);
+        String term = normalize(text);
+        terms.put(id, term);
+        for (String gram : grams(term)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    public void remove(Long id) {
+        String term = terms.remove(id);
+        if (term == null) {
+            return;
+        }
+        for (String gram : grams(term)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        terms.clear();
+    }
+
+    // Ids whose text contains the query, ignoring case
+    public Set<Long> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return new HashSet<>(terms.keySet());
+        }
+        if (needle.length() <= MAX_GRAM_LENGTH) {
+            return new HashSet<>(postings.getOrDefault(needle, Set.of()));
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM_LENGTH <= needle.length(); i++) {
+            Set<Long> ids = postings.get(needle.substring(i, i + MAX_GRAM_LENGTH));
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            // Trigram hits are only candidates: "abcxbcd" has every trigram of "abcd"
+            if (inAll && terms.get(id).contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= term.length(); i++) {
+                grams.add(term.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+}
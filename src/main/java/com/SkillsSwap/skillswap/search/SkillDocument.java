@@ -0,0 +1,18 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.model.Skill;
+
+// Detached snapshot of the Skill columns the in-memory indexes need
+public record SkillDocument(Long id, String name, String description, boolean offered, boolean approved, Long userId) {
+
+    public static SkillDocument from(Skill skill) {
+        return new SkillDocument(
+            skill.getId(),
+            skill.getName(),
+            skill.getDescription(),
+            skill.isOffered(),
+            skill.isApproved(),
+            skill.getUser().getId()
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typo-tolerant lookup over the approved skill vocabulary, answered by a Levenshtein
+// automaton walking a trie of lower-cased names instead of scanning every distinct name.
+@Component
+public class SkillFuzzyIndex {
+
+    private final SkillRepository skillRepository;
+
+    private final LevenshteinTrie trie = new LevenshteinTrie();
+    // Lower-cased name -> the approved skills currently using it
+    private final Map<String, Vocabulary> vocabulary = new HashMap<>();
+    // Approved skill id -> lower-cased name it is filed under
+    private final Map<Long, String> skillNames = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SkillFuzzyIndex(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            for (String term : vocabulary.keySet()) {
+                trie.remove(term);
+            }
+            vocabulary.clear();
+            skillNames.clear();
+            for (SkillDocument document : skillRepository.findAllSkillDocuments()) {
+                apply(document.id(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event.skillId(), event.type() == SkillChangedEvent.ChangeType.DELETED ? null : event.skill());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranked by edit distance, then by how many users hold the skill
+    public List<FuzzyMatch> search(String query, int maxDistance, int limit) {
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        List<FuzzyMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (LevenshteinTrie.Match match : trie.search(term, maxDistance)) {
+                Vocabulary entry = vocabulary.get(match.term());
+                matches.add(new FuzzyMatch(
+                    entry.displayName,
+                    match.distance(),
+                    new HashSet<>(entry.skillUsers.values()).size(),
+                    new ArrayList<>(entry.skillUsers.keySet())
+                ));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt(FuzzyMatch::distance)
+                .thenComparing(Comparator.comparingInt(FuzzyMatch::userCount).reversed())
+                .thenComparing(FuzzyMatch::name));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void apply(Long skillId, SkillDocument document) {
+        String previous = skillNames.remove(skillId);
+        if (previous != null) {
+            Vocabulary entry = vocabulary.get(previous);
+            entry.skillUsers.remove(skillId);
+            if (entry.skillUsers.isEmpty()) {
+                vocabulary.remove(previous);
+                trie.remove(previous);
+            }
+        }
+        if (document != null && document.approved()) {
+            String term = document.name().trim().toLowerCase(Locale.ROOT);
+            skillNames.put(skillId, term);
+            vocabulary.computeIfAbsent(term, t -> new Vocabulary(document.name().trim()))
+                    .skillUsers.put(skillId, document.userId());
+            trie.add(term);
+        }
+    }
+
+    public record FuzzyMatch(String name, int distance, int userCount, List<Long> skillIds) {
+    }
+
+    private static final class Vocabulary {
+        private final String displayName;
+        // Skill id -> owning user id
+        private final Map<Long, Long> skillUsers = new HashMap<>();
+
+        private Vocabulary(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Sorted map of the distinct approved skill names. A prefix lookup is a range scan starting
+// at the prefix, so a top-N completion costs O(log n + N) and readers never take a lock.
+@Component
+public class SkillNameCompletionIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = '\uffff';
+
+    private final SkillRepository skillRepository;
+
+    // "java\0Java" -> number of approved skills using exactly that name
+    private final ConcurrentSkipListMap<String, Integer> names = new ConcurrentSkipListMap<>();
+    // Approved skill id -> the name it contributes, so updates and deletes can be undone
+    private final Map<Long, String> contributions = new HashMap<>();
+    private volatile boolean ready = false;
+
+    public SkillNameCompletionIndex(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        names.clear();
+        contributions.clear();
+        for (SkillDocument document : skillRepository.findAllSkillDocuments()) {
+            apply(document.id(), document);
+        }
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSkillChanged(SkillChangedEvent event) {
+        apply(event.skillId(), event.type() == SkillChangedEvent.ChangeType.DELETED ? null : event.skill());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        NavigableMap<String, Integer> range = names.subMap(from, true, from + MAX_CHAR, true);
+        List<String> completions = new ArrayList<>(Math.min(limit, range.size()));
+        for (String key : range.keySet()) {
+            if (completions.size() >= limit) {
+                break;
+            }
+            completions.add(displayName(key));
+        }
+        return completions;
+    }
+
+    public List<String> allNames() {
+        List<String> all = new ArrayList<>(names.size());
+        for (String key : names.keySet()) {
+            all.add(displayName(key));
+        }
+        return all;
+    }
+
+    private void apply(Long skillId, SkillDocument document) {
+        String previous = contributions.remove(skillId);
+        if (previous != null) {
+            names.computeIfPresent(key(previous), (k, count) -> count > 1 ? count - 1 : null);
+        }
+        if (document != null && document.approved()) {
+            contributions.put(skillId, document.name());
+            names.merge(key(document.name()), 1, Integer::sum);
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT) + KEY_SEPARATOR + name;
+    }
+
+    private static String displayName(String key) {
+        return key.substring(key.indexOf(KEY_SEPARATOR) + 1);
+    }
+}
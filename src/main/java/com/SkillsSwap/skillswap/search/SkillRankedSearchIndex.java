@@ -0,0 +1,71 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// BM25 relevance search over the name and description of approved skills
+@Component
+public class SkillRankedSearchIndex {
+
+    // A name hit is worth three description hits
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final SkillRepository skillRepository;
+
+    private final Bm25Index index = new Bm25Index();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SkillRankedSearchIndex(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (SkillDocument document : skillRepository.findAllSkillDocuments()) {
+                apply(document.id(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event.skillId(), event.type() == SkillChangedEvent.ChangeType.DELETED ? null : event.skill());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Bm25Index.Result search(String query, int page, int size) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, (int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long skillId, SkillDocument document) {
+        if (document == null || !document.approved()) {
+            index.remove(skillId);
+            return;
+        }
+        index.put(skillId,
+            new Bm25Index.Field(document.name(), NAME_WEIGHT),
+            new Bm25Index.Field(document.description(), DESCRIPTION_WEIGHT));
+    }
+}
@@ -0,0 +1,98 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class SkillSearchIndex {
+
+    private final SkillRepository skillRepository;
+
+    private final NGramIndex nameIndex = new NGramIndex();
+    private final Map<Long, SkillDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public SkillSearchIndex(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    // Runs after the CommandLineRunners, so the predefined skills are already in the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            nameIndex.clear();
+            documents.clear();
+            for (SkillDocument document : skillRepository.findAllSkillDocuments()) {
+                index(document);
+            }
+            ready = true;
+            System.out.println("Skill search index built with " + documents.size() + " skills");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == SkillChangedEvent.ChangeType.DELETED) {
+                nameIndex.remove(event.skillId());
+                documents.remove(event.skillId());
+            } else {
+                index(event.skill());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Same matching as findByNameContainingIgnoreCase: every skill, case-insensitive
+    public List<Long> searchByName(String query) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(nameIndex.search(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same matching as findByNameContainingAndIsOffered: approved only, case-sensitive LIKE
+    public List<Long> searchByName(String query, boolean offered) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (Long id : nameIndex.search(query)) {
+                SkillDocument document = documents.get(id);
+                if (document.offered() == offered && document.approved() && document.name().contains(query)) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(SkillDocument document) {
+        documents.put(document.id(), document);
+        nameIndex.put(document.id(), document.name());
+    }
+}
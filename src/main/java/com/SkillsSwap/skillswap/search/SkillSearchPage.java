@@ -0,0 +1,9 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.dto.SkillDTO;
+
+import java.util.List;
+
+// One page of ranked skills, best match first
+public record SkillSearchPage(int page, int size, int totalHits, List<SkillDTO> skills) {
+}
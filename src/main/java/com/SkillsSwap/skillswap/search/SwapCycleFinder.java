@@ -0,0 +1,286 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Finds multi-party swaps: cycles A -> B -> C (-> D) -> A in the "receives a skill from" graph
+// held by UserSkillBitmapIndex. The search is bidirectional and bounded to four users: the last
+// hop must want something the starting user offers, and for four-way cycles the third user must
+// be one hop behind that, so every expansion is a bitmap AND against a precomputed frontier.
+// First hops are searched in parallel on the fork-join pool. Results are cached per user, up to
+// MAX_CACHED_USERS of them, and evicted when any participant's skills or visibility change.
+@Component
+public class SwapCycleFinder {
+
+    public static final int MAX_CYCLE_LENGTH = 4;
+    private static final int MAX_CYCLES_PER_USER = 50;
+    private static final int FORK_THRESHOLD = 32;
+    // New edges elsewhere in the graph can create cycles for a cached user; this bounds how long
+    // such a cycle can go unnoticed
+    private static final Duration MAX_CACHE_AGE = Duration.ofMinutes(5);
+    // Past this the least recently used user's cycles are dropped
+    private static final int MAX_CACHED_USERS = 10_000;
+    // Invalidation counters are kept per stripe of user ids rather than per user, so they take
+    // fixed space; two users sharing a stripe only costs an occasional uncached result
+    private static final int VERSION_STRIPES = 1024;
+
+    private final UserSkillBitmapIndex index;
+
+    // The cache, its reverse links and the counters change together under this lock
+    private final Object cacheLock = new Object();
+    private final Map<Long, CachedCycles> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedCycles> eldest) {
+            if (size() > MAX_CACHED_USERS) {
+                unlink(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Participant -> users whose cached cycles include it
+    private final Map<Long, Set<Long>> cachedBy = new HashMap<>();
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    public SwapCycleFinder(UserSkillBitmapIndex index) {
+        this.index = index;
+    }
+
+    // Shortest cycles first. A result is only cached if no participant was invalidated while it
+    // was being computed; otherwise it is returned once and the next call computes it again.
+    public List<SwapCycle> findCycles(Long userId, int maxLength, int limit) {
+        CachedCycles cached;
+        long[] seen = null;
+        synchronized (cacheLock) {
+            cached = cache.get(userId);
+            if (cached == null || System.nanoTime() - cached.computedAt() > MAX_CACHE_AGE.toNanos()) {
+                seen = versions.clone();
+            }
+        }
+        if (seen != null) {
+            List<SwapCycle> cycles = compute(Math.toIntExact(userId));
+            Set<Long> participants = new HashSet<>();
+            participants.add(userId);
+            for (SwapCycle cycle : cycles) {
+                for (Leg leg : cycle.legs()) {
+                    participants.add(leg.giverId());
+                }
+            }
+            cached = new CachedCycles(cycles, participants, System.nanoTime());
+            synchronized (cacheLock) {
+                if (unchangedSince(seen, participants)) {
+                    store(userId, cached);
+                }
+            }
+        }
+        return cached.cycles().stream()
+                .filter(cycle -> cycle.legs().size() <= maxLength)
+                .limit(limit)
+                .toList();
+    }
+
+    // Ordered after UserSkillBitmapIndex's listeners, so a recompute never reads the index from
+    // before the change that invalidated it
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSkillChanged(SkillChangedEvent event) {
+        invalidate(event.skill().userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private void invalidate(Long userId) {
+        synchronized (cacheLock) {
+            versions[stripe(userId)]++;
+            Set<Long> owners = cachedBy.get(userId);
+            List<Long> evicted = owners != null ? new ArrayList<>(owners) : new ArrayList<>();
+            evicted.add(userId);
+            for (Long owner : evicted) {
+                CachedCycles removed = cache.remove(owner);
+                if (removed != null) {
+                    unlink(owner, removed);
+                }
+            }
+        }
+    }
+
+    // Callers hold cacheLock. Replaces the user's entry, dropping the reverse links of the old one.
+    private void store(Long userId, CachedCycles cached) {
+        CachedCycles previous = cache.remove(userId);
+        if (previous != null) {
+            unlink(userId, previous);
+        }
+        cache.put(userId, cached);
+        for (Long participant : cached.participants()) {
+            cachedBy.computeIfAbsent(participant, id -> new HashSet<>()).add(userId);
+        }
+    }
+
+    // Callers hold cacheLock
+    private void unlink(Long owner, CachedCycles cached) {
+        for (Long participant : cached.participants()) {
+            Set<Long> owners = cachedBy.get(participant);
+            if (owners != null) {
+                owners.remove(owner);
+                if (owners.isEmpty()) {
+                    cachedBy.remove(participant);
+                }
+            }
+        }
+    }
+
+    // Callers hold cacheLock
+    private boolean unchangedSince(long[] seen, Set<Long> participants) {
+        for (Long participant : participants) {
+            int stripe = stripe(participant);
+            if (versions[stripe] != seen[stripe]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), VERSION_STRIPES);
+    }
+
+    private List<SwapCycle> compute(int self) {
+        return index.readLocked(() -> {
+            RoaringBitmap visible = index.visibleUsers();
+            visible.remove(self);
+
+            RoaringBitmap firstHops = index.suppliersOf(self);
+            firstHops.and(visible);
+            // Users who can close the cycle by receiving from self
+            RoaringBitmap lastHops = index.consumersOf(RoaringBitmap.bitmapOf(self));
+            lastHops.and(visible);
+            // Users who can hand over to someone in lastHops
+            RoaringBitmap thirdHops = index.consumersOf(lastHops);
+            thirdHops.and(visible);
+
+            Frontier frontier = new Frontier(self, visible, lastHops, thirdHops,
+                    new ConcurrentLinkedQueue<>(), new AtomicInteger(MAX_CYCLES_PER_USER));
+            int[] hops = firstHops.toArray();
+            for (int length = 3; length <= MAX_CYCLE_LENGTH && frontier.budget().get() > 0; length++) {
+                ForkJoinPool.commonPool().invoke(new CycleSearch(frontier, hops, 0, hops.length, length));
+            }
+
+            List<SwapCycle> cycles = new ArrayList<>();
+            for (int[] members : frontier.found()) {
+                cycles.add(toCycle(members));
+            }
+            cycles.sort(Comparator.comparingInt((SwapCycle cycle) -> cycle.legs().size())
+                    .thenComparing(cycle -> cycle.legs().get(0).giverId()));
+            return cycles;
+        });
+    }
+
+    // members[i] receives from members[i + 1]; the last member receives from members[0]
+    private SwapCycle toCycle(int[] members) {
+        List<Leg> legs = new ArrayList<>(members.length);
+        for (int i = 0; i < members.length; i++) {
+            int receiver = members[i];
+            int giver = members[(i + 1) % members.length];
+            legs.add(new Leg((long) giver, (long) receiver, index.sharedSkill(giver, receiver)));
+        }
+        return new SwapCycle(legs);
+    }
+
+    public record Leg(Long giverId, Long receiverId, String skillName) {
+    }
+
+    public record SwapCycle(List<Leg> legs) {
+    }
+
+    private record CachedCycles(List<SwapCycle> cycles, Set<Long> participants, long computedAt) {
+    }
+
+    private record Frontier(int self, RoaringBitmap visible, RoaringBitmap lastHops, RoaringBitmap thirdHops,
+                            Queue<int[]> found, AtomicInteger budget) {
+    }
+
+    private final class CycleSearch extends RecursiveAction {
+        private final Frontier frontier;
+        private final int[] hops;
+        private final int from;
+        private final int to;
+        private final int length;
+
+        private CycleSearch(Frontier frontier, int[] hops, int from, int to, int length) {
+            this.frontier = frontier;
+            this.hops = hops;
+            this.from = from;
+            this.to = to;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > FORK_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CycleSearch(frontier, hops, from, middle, length),
+                        new CycleSearch(frontier, hops, middle, to, length));
+                return;
+            }
+            for (int i = from; i < to && frontier.budget().get() > 0; i++) {
+                int second = hops[i];
+                RoaringBitmap next = index.suppliersOf(second);
+                next.and(frontier.visible());
+                next.remove(second);
+                if (length == 3) {
+                    next.and(frontier.lastHops());
+                    emit(next, frontier.self(), second);
+                } else {
+                    next.and(frontier.thirdHops());
+                    PeekableIntIterator thirds = next.getIntIterator();
+                    while (thirds.hasNext() && frontier.budget().get() > 0) {
+                        int third = thirds.next();
+                        RoaringBitmap last = index.suppliersOf(third);
+                        last.and(frontier.lastHops());
+                        last.remove(second);
+                        last.remove(third);
+                        emit(last, frontier.self(), second, third);
+                    }
+                }
+            }
+        }
+
+        private void emit(RoaringBitmap lastHops, int... prefix) {
+            PeekableIntIterator it = lastHops.getIntIterator();
+            while (it.hasNext()) {
+                if (frontier.budget().getAndDecrement() <= 0) {
+                    return;
+                }
+                int[] members = Arrays.copyOf(prefix, prefix.length + 1);
+                members[prefix.length] = it.next();
+                frontier.found().add(members);
+            }
+        }
+    }
+}
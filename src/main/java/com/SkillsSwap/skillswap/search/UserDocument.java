@@ -0,0 +1,22 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+
+// Detached snapshot of the User columns the in-memory indexes need
+public record UserDocument(Long id, boolean isPublic, boolean active, WeeklyAvailability availability,
+                           Double latitude, Double longitude) {
+
+    // Used by the JPQL projection; rows without stored slots fall back to parsing the text once
+    public UserDocument(Long id, boolean isPublic, boolean active, String availabilityText, byte[] availabilitySlots,
+                        Double latitude, Double longitude) {
+        this(id, isPublic, active, availabilitySlots != null
+                ? WeeklyAvailability.fromBytes(availabilitySlots)
+                : WeeklyAvailability.parse(availabilityText), latitude, longitude);
+    }
+
+    public static UserDocument from(User user) {
+        return new UserDocument(user.getId(), user.isPublic(), user.isActive(), user.getWeeklyAvailability(),
+                user.getLatitude(), user.getLongitude());
+    }
+}
@@ -0,0 +1,287 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+// Users with coordinates bucketed by geohash cell. Points live in 5-character cells (about
+// 4.9 x 4.9 km at the equator); 3-character cells (about 156 km) list their non-empty 5-character
+// children so that wide radii visit occupied cells only. A radius query visits the cells under
+// the circle's bounding box and checks the great-circle distance of each point in them; k-nearest
+// widens the radius until k users are inside. Candidates from the skill/visibility bitmaps are
+// applied per point, and a small candidate set is measured directly instead.
+@Component
+public class UserLocationIndex {
+
+    static final int FINE_BITS = 25;
+    static final int COARSE_BITS = 15;
+    private static final int MAX_FINE_CELLS_PER_QUERY = 4096;
+    private static final int SMALL_CANDIDATE_SET = 2048;
+    private static final double INITIAL_NEAREST_RADIUS_KM = 10.0;
+    public static final double MAX_RADIUS_KM = 20_016.0;
+
+    private final UserRepository userRepository;
+
+    private final Map<Integer, Point> points = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Set<Long>> coarseCells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public UserLocationIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        load(userRepository.findAllUserDocuments());
+        System.out.println("User location index built with " + points.size() + " located users");
+    }
+
+    void load(Collection<UserDocument> users) {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            cells.clear();
+            coarseCells.clear();
+            for (UserDocument user : users) {
+                apply(user);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event.user());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Users within radiusKm, nearest first. candidates == null means every located user.
+    public List<Neighbor> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                           RoaringBitmap candidates, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Neighbor> found = collect(latitude, longitude, Math.min(radiusKm, MAX_RADIUS_KM), candidates);
+            return nearestFirst(found, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The k nearest users, optionally no further than maxRadiusKm. Every round quadruples the
+    // radius; once k users are inside it, no user outside can be nearer than the k-th.
+    public List<Neighbor> findNearest(double latitude, double longitude, int k, RoaringBitmap candidates,
+                                      double maxRadiusKm) {
+        lock.readLock().lock();
+        try {
+            double limit = Math.min(maxRadiusKm, MAX_RADIUS_KM);
+            double radius = Math.min(INITIAL_NEAREST_RADIUS_KM, limit);
+            while (true) {
+                List<Neighbor> found = collect(latitude, longitude, radius, candidates);
+                if (found.size() >= k || radius >= limit) {
+                    return nearestFirst(found, k);
+                }
+                radius = Math.min(radius * 4, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Neighbor> collect(double latitude, double longitude, double radiusKm, RoaringBitmap candidates) {
+        List<Neighbor> found = new ArrayList<>();
+        if (candidates != null && candidates.getCardinality() <= SMALL_CANDIDATE_SET) {
+            candidates.forEach((int id) -> {
+                Point point = points.get(id);
+                if (point != null) {
+                    double distance = GeoHash.distanceKm(latitude, longitude, point.latitude, point.longitude);
+                    if (distance <= radiusKm) {
+                        found.add(new Neighbor((long) id, distance));
+                    }
+                }
+            });
+            return found;
+        }
+
+        double latSpan = GeoHash.latitudeSpan(radiusKm);
+        double lonSpan = GeoHash.longitudeSpan(latitude, radiusKm);
+        CellRange fine = CellRange.of(latitude, longitude, latSpan, lonSpan, FINE_BITS);
+        if (fine.size() <= MAX_FINE_CELLS_PER_QUERY) {
+            fine.forEach(key -> scan(cells.get(key), latitude, longitude, radiusKm, candidates, found));
+        } else {
+            CellRange.of(latitude, longitude, latSpan, lonSpan, COARSE_BITS).forEach(coarseKey -> {
+                Set<Long> children = coarseCells.get(coarseKey);
+                if (children != null) {
+                    for (Long key : children) {
+                        scan(cells.get(key), latitude, longitude, radiusKm, candidates, found);
+                    }
+                }
+            });
+        }
+        return found;
+    }
+
+    private static void scan(Cell cell, double latitude, double longitude, double radiusKm,
+                             RoaringBitmap candidates, List<Neighbor> found) {
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size; i++) {
+            int id = cell.ids[i];
+            if (candidates != null && !candidates.contains(id)) {
+                continue;
+            }
+            double distance = GeoHash.distanceKm(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+            if (distance <= radiusKm) {
+                found.add(new Neighbor((long) id, distance));
+            }
+        }
+    }
+
+    private static List<Neighbor> nearestFirst(List<Neighbor> found, int limit) {
+        found.sort(Comparator.comparingDouble(Neighbor::distanceKm).thenComparing(Neighbor::userId));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private void apply(UserDocument user) {
+        int id = Math.toIntExact(user.id());
+        Point previous = points.remove(id);
+        if (previous != null) {
+            Cell cell = cells.get(previous.cellKey);
+            int moved = cell.remove(previous.slot);
+            if (moved >= 0) {
+                points.get(moved).slot = previous.slot;
+            }
+            if (cell.size == 0) {
+                cells.remove(previous.cellKey);
+                long coarseKey = previous.cellKey >>> (FINE_BITS - COARSE_BITS);
+                Set<Long> children = coarseCells.get(coarseKey);
+                children.remove(previous.cellKey);
+                if (children.isEmpty()) {
+                    coarseCells.remove(coarseKey);
+                }
+            }
+        }
+        if (user.latitude() == null || user.longitude() == null) {
+            return;
+        }
+
+        long key = GeoHash.hash(user.latitude(), user.longitude(), FINE_BITS);
+        Cell cell = cells.computeIfAbsent(key, k -> {
+            coarseCells.computeIfAbsent(k >>> (FINE_BITS - COARSE_BITS), c -> new HashSet<>()).add(k);
+            return new Cell();
+        });
+        Point point = new Point(key, cell.add(id, user.latitude(), user.longitude()),
+                user.latitude(), user.longitude());
+        points.put(id, point);
+    }
+
+    public record Neighbor(Long userId, double distanceKm) {
+    }
+
+    // The cells under a lat/lon bounding box at one geohash precision; longitude wraps at 180
+    private record CellRange(int bits, int latFrom, int latTo, int lonFrom, int lonCount) {
+
+        static CellRange of(double latitude, double longitude, double latSpan, double lonSpan, int bits) {
+            int latBits = GeoHash.latBits(bits);
+            int lonBits = GeoHash.lonBits(bits);
+            int latFrom = GeoHash.latIndex(Math.max(-90.0, latitude - latSpan), latBits);
+            int latTo = GeoHash.latIndex(Math.min(90.0, latitude + latSpan), latBits);
+            int lonCells = 1 << lonBits;
+            if (lonSpan >= 180.0) {
+                return new CellRange(bits, latFrom, latTo, 0, lonCells);
+            }
+            int lonFrom = GeoHash.lonIndex(longitude - lonSpan, lonBits);
+            int lonTo = GeoHash.lonIndex(longitude + lonSpan, lonBits);
+            int lonCount = Math.min(lonCells, Math.floorMod(lonTo - lonFrom, lonCells) + 1);
+            return new CellRange(bits, latFrom, latTo, lonFrom, lonCount);
+        }
+
+        long size() {
+            return (long) (latTo - latFrom + 1) * lonCount;
+        }
+
+        void forEach(LongConsumer action) {
+            int lonCells = 1 << GeoHash.lonBits(bits);
+            for (int lat = latFrom; lat <= latTo; lat++) {
+                for (int i = 0; i < lonCount; i++) {
+                    action.accept(GeoHash.interleave(lat, (lonFrom + i) % lonCells, bits));
+                }
+            }
+        }
+    }
+
+    private static final class Point {
+        private final long cellKey;
+        private int slot;
+        private final double latitude;
+        private final double longitude;
+
+        private Point(long cellKey, int slot, double latitude, double longitude) {
+            this.cellKey = cellKey;
+            this.slot = slot;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    // Parallel arrays so a scan touches three contiguous arrays rather than one object per user
+    private static final class Cell {
+        private int[] ids = new int[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        private int add(int id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            return size++;
+        }
+
+        // Swap-remove; returns the id that moved into the slot, or -1
+        private int remove(int slot) {
+            size--;
+            if (slot == size) {
+                return -1;
+            }
+            ids[slot] = ids[size];
+            latitudes[slot] = latitudes[size];
+            longitudes[slot] = longitudes[size];
+            return ids[slot];
+        }
+    }
+}
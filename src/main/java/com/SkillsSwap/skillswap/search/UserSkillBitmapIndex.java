@@ -0,0 +1,482 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Compressed bitmaps of user ids per skill name, split into offered and wanted, plus bitmaps
+// for the isPublic and isActive flags. A multi-skill user search is a handful of bitmap
+// ANDs/ORs instead of a LIKE join over users and skills. The per-user name sets make it a
+// bipartite user/skill graph, which is what reciprocal matching walks. Weekly availability is
+// kept both per user (for popcount overlap) and per hour slot (to find anyone free at all).
+@Component
+public class UserSkillBitmapIndex {
+
+    private final SkillRepository skillRepository;
+    private final UserRepository userRepository;
+
+    // Lower-cased skill name -> dense name id, and an n-gram index over the same names
+    private final Map<String, Long> nameIds = new HashMap<>();
+    private final NGramIndex names = new NGramIndex();
+    private final Map<Long, Posting> offered = new HashMap<>();
+    private final Map<Long, Posting> wanted = new HashMap<>();
+    // User id -> name ids it offers / wants; the other side of the bipartite graph
+    private final Map<Integer, Set<Long>> userOffered = new HashMap<>();
+    private final Map<Integer, Set<Long>> userWanted = new HashMap<>();
+    private final Map<Long, String> nameLabels = new HashMap<>();
+    // Skill id -> the posting it contributed to, so updates and deletes can be undone
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final RoaringBitmap publicUsers = new RoaringBitmap();
+    private final RoaringBitmap activeUsers = new RoaringBitmap();
+    private final Map<Integer, WeeklyAvailability> availability = new HashMap<>();
+    private final RoaringBitmap[] availableAt = new RoaringBitmap[WeeklyAvailability.HOURS_PER_WEEK];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public UserSkillBitmapIndex(SkillRepository skillRepository, UserRepository userRepository) {
+        this.skillRepository = skillRepository;
+        this.userRepository = userRepository;
+        for (int slot = 0; slot < availableAt.length; slot++) {
+            availableAt[slot] = new RoaringBitmap();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            offered.clear();
+            wanted.clear();
+            userOffered.clear();
+            userWanted.clear();
+            contributions.clear();
+            publicUsers.clear();
+            activeUsers.clear();
+            availability.clear();
+            for (RoaringBitmap users : availableAt) {
+                users.clear();
+            }
+            for (UserDocument user : userRepository.findAllUserDocuments()) {
+                applyUser(user);
+            }
+            for (SkillDocument skill : skillRepository.findAllSkillDocuments()) {
+                applySkill(skill.id(), skill);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs before the after-commit listeners that read the index, e.g. SwapCycleFinder's
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSkillChanged(SkillChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            applySkill(event.skillId(), event.type() == SkillChangedEvent.ChangeType.DELETED ? null : event.skill());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            applyUser(event.user());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Public, active users matching the skill terms. Each term is a case-insensitive substring
+    // of a skill name, so "java" covers every skill name containing it. With no terms at all
+    // every visible user matches.
+    public List<Long> findVisibleUsers(List<String> offeredTerms, List<String> wantedTerms, MatchMode mode) {
+        return findVisibleUsers(offeredTerms, wantedTerms, mode, null, 0);
+    }
+
+    // As above; with an availability the result is ordered by overlapping hours, most first, and
+    // users sharing fewer than minOverlapHours are dropped
+    public List<Long> findVisibleUsers(List<String> offeredTerms, List<String> wantedTerms, MatchMode mode,
+                                       WeeklyAvailability slots, int minOverlapHours) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap visible = findVisibleUserBitmap(offeredTerms, wantedTerms, mode, slots, minOverlapHours);
+            if (slots == null) {
+                List<Long> ids = new ArrayList<>(visible.getCardinality());
+                visible.forEach((int id) -> ids.add((long) id));
+                return ids;
+            }
+            return rankByOverlap(visible, slots, minOverlapHours);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The same filter as an unordered bitmap the caller owns, for combining with other indexes
+    public RoaringBitmap findVisibleUserBitmap(List<String> offeredTerms, List<String> wantedTerms, MatchMode mode,
+                                               WeeklyAvailability slots, int minOverlapHours) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (String term : offeredTerms) {
+                result = combine(result, usersForTerm(offered, term), mode);
+            }
+            for (String term : wantedTerms) {
+                result = combine(result, usersForTerm(wanted, term), mode);
+            }
+            RoaringBitmap visible = RoaringBitmap.and(publicUsers, activeUsers);
+            if (result != null) {
+                visible.and(result);
+            }
+            if (slots != null && minOverlapHours > 0) {
+                visible.and(availableDuring(slots));
+                RoaringBitmap enough = new RoaringBitmap();
+                visible.forEach((int id) -> {
+                    if (slots.overlapHours(availability.getOrDefault(id, WeeklyAvailability.NONE)) >= minOverlapHours) {
+                        enough.add(id);
+                    }
+                });
+                return enough;
+            }
+            return visible;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visible users who offer something the user wants and want something the user offers,
+    // ranked by how many skills change hands, then by weekly hours both are available, then by
+    // how balanced the swap is
+    public List<ReciprocalMatch> findReciprocalMatches(Long userId, int limit) {
+        return findReciprocalMatches(userId, limit, 0);
+    }
+
+    // As above, restricted to users sharing at least minOverlapHours with the user
+    public List<ReciprocalMatch> findReciprocalMatches(Long userId, int limit, int minOverlapHours) {
+        lock.readLock().lock();
+        try {
+            int self = Math.toIntExact(userId);
+            Set<Long> myOffered = userOffered.getOrDefault(self, Set.of());
+            Set<Long> myWanted = userWanted.getOrDefault(self, Set.of());
+
+            RoaringBitmap offerWhatIWant = new RoaringBitmap();
+            for (Long nameId : myWanted) {
+                offerWhatIWant.or(usersOf(offered, nameId));
+            }
+            RoaringBitmap wantWhatIOffer = new RoaringBitmap();
+            for (Long nameId : myOffered) {
+                wantWhatIOffer.or(usersOf(wanted, nameId));
+            }
+            RoaringBitmap candidates = RoaringBitmap.and(offerWhatIWant, wantWhatIOffer);
+            candidates.and(publicUsers);
+            candidates.and(activeUsers);
+            candidates.remove(self);
+            WeeklyAvailability mySlots = availability.getOrDefault(self, WeeklyAvailability.NONE);
+            if (minOverlapHours > 0) {
+                candidates.and(availableDuring(mySlots));
+            }
+
+            Map<Integer, List<String>> theyOffer = new HashMap<>();
+            Map<Integer, List<String>> theyWant = new HashMap<>();
+            for (Long nameId : myWanted) {
+                RoaringBitmap.and(usersOf(offered, nameId), candidates).forEach((int candidate) ->
+                        theyOffer.computeIfAbsent(candidate, c -> new ArrayList<>()).add(nameLabels.get(nameId)));
+            }
+            for (Long nameId : myOffered) {
+                RoaringBitmap.and(usersOf(wanted, nameId), candidates).forEach((int candidate) ->
+                        theyWant.computeIfAbsent(candidate, c -> new ArrayList<>()).add(nameLabels.get(nameId)));
+            }
+
+            List<ReciprocalMatch> matches = new ArrayList<>(candidates.getCardinality());
+            candidates.forEach((int candidate) -> {
+                int overlap = mySlots.overlapHours(availability.getOrDefault(candidate, WeeklyAvailability.NONE));
+                if (overlap >= minOverlapHours) {
+                    matches.add(new ReciprocalMatch((long) candidate, theyOffer.get(candidate),
+                            theyWant.get(candidate), overlap));
+                }
+            });
+            matches.sort(Comparator.comparingInt(ReciprocalMatch::score).reversed()
+                    .thenComparing(Comparator.comparingInt(ReciprocalMatch::overlapHours).reversed())
+                    .thenComparing(Comparator.comparingInt(ReciprocalMatch::balance).reversed())
+                    .thenComparing(ReciprocalMatch::userId));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public WeeklyAvailability availabilityOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            return availability.getOrDefault(Math.toIntExact(userId), WeeklyAvailability.NONE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Display names of the approved skills a user offers / wants
+    public Set<String> offeredSkillNames(Long userId) {
+        return skillNames(userOffered, userId);
+    }
+
+    public Set<String> wantedSkillNames(Long userId) {
+        return skillNames(userWanted, userId);
+    }
+
+    private Set<String> skillNames(Map<Integer, Set<Long>> userSkills, Long userId) {
+        lock.readLock().lock();
+        try {
+            Set<String> labels = new HashSet<>();
+            for (Long nameId : userSkills.getOrDefault(Math.toIntExact(userId), Set.of())) {
+                labels.add(nameLabels.get(nameId));
+            }
+            return labels;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Graph accessors for SwapCycleFinder. Callers must be inside readLocked.
+    <T> T readLocked(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    RoaringBitmap visibleUsers() {
+        return RoaringBitmap.and(publicUsers, activeUsers);
+    }
+
+    // Users offering something the given user wants: the outgoing edges of "receives from"
+    RoaringBitmap suppliersOf(int user) {
+        RoaringBitmap suppliers = new RoaringBitmap();
+        for (Long nameId : userWanted.getOrDefault(user, Set.of())) {
+            suppliers.or(usersOf(offered, nameId));
+        }
+        return suppliers;
+    }
+
+    // Users wanting something offered by any of the given users: the incoming edges
+    RoaringBitmap consumersOf(RoaringBitmap users) {
+        Set<Long> nameIds = new HashSet<>();
+        users.forEach((int user) -> nameIds.addAll(userOffered.getOrDefault(user, Set.of())));
+        RoaringBitmap consumers = new RoaringBitmap();
+        for (Long nameId : nameIds) {
+            consumers.or(usersOf(wanted, nameId));
+        }
+        return consumers;
+    }
+
+    // Alphabetically first skill the giver offers and the receiver wants, or null
+    String sharedSkill(int giver, int receiver) {
+        String shared = null;
+        Set<Long> receiverWants = userWanted.getOrDefault(receiver, Set.of());
+        for (Long nameId : userOffered.getOrDefault(giver, Set.of())) {
+            if (receiverWants.contains(nameId)) {
+                String label = nameLabels.get(nameId);
+                if (shared == null || label.compareToIgnoreCase(shared) < 0) {
+                    shared = label;
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static RoaringBitmap usersOf(Map<Long, Posting> postings, Long nameId) {
+        Posting posting = postings.get(nameId);
+        return posting != null ? posting.users : new RoaringBitmap();
+    }
+
+    // Users free in at least one of the given slots
+    private RoaringBitmap availableDuring(WeeklyAvailability slots) {
+        List<RoaringBitmap> hours = new ArrayList<>();
+        for (int slot = 0; slot < availableAt.length; slot++) {
+            if (slots.isAvailable(slot)) {
+                hours.add(availableAt[slot]);
+            }
+        }
+        return hours.isEmpty() ? new RoaringBitmap() : FastAggregation.or(hours.iterator());
+    }
+
+    private List<Long> rankByOverlap(RoaringBitmap users, WeeklyAvailability slots, int minOverlapHours) {
+        List<long[]> ranked = new ArrayList<>(users.getCardinality());
+        users.forEach((int id) -> {
+            int overlap = slots.overlapHours(availability.getOrDefault(id, WeeklyAvailability.NONE));
+            if (overlap >= minOverlapHours) {
+                ranked.add(new long[] {id, overlap});
+            }
+        });
+        ranked.sort(Comparator.<long[]>comparingLong(entry -> -entry[1]).thenComparingLong(entry -> entry[0]));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (long[] entry : ranked) {
+            ids.add(entry[0]);
+        }
+        return ids;
+    }
+
+    private RoaringBitmap usersForTerm(Map<Long, Posting> postings, String term) {
+        RoaringBitmap users = new RoaringBitmap();
+        for (Long nameId : names.search(term)) {
+            Posting posting = postings.get(nameId);
+            if (posting != null) {
+                users.or(posting.users);
+            }
+        }
+        return users;
+    }
+
+    private static RoaringBitmap combine(RoaringBitmap accumulated, RoaringBitmap next, MatchMode mode) {
+        if (accumulated == null) {
+            return next;
+        }
+        if (mode == MatchMode.ALL) {
+            accumulated.and(next);
+        } else {
+            accumulated.or(next);
+        }
+        return accumulated;
+    }
+
+    private void applyUser(UserDocument user) {
+        int id = Math.toIntExact(user.id());
+        if (user.isPublic()) {
+            publicUsers.add(id);
+        } else {
+            publicUsers.remove(id);
+        }
+        if (user.active()) {
+            activeUsers.add(id);
+        } else {
+            activeUsers.remove(id);
+        }
+        WeeklyAvailability slots = user.availability() != null ? user.availability() : WeeklyAvailability.NONE;
+        WeeklyAvailability previous = availability.put(id, slots);
+        for (int slot = 0; slot < availableAt.length; slot++) {
+            boolean available = slots.isAvailable(slot);
+            if (previous == null || previous.isAvailable(slot) != available) {
+                if (available) {
+                    availableAt[slot].add(id);
+                } else {
+                    availableAt[slot].remove(id);
+                }
+            }
+        }
+    }
+
+    // Only approved skills are searchable; offered skills wait for an admin
+    private void applySkill(Long skillId, SkillDocument skill) {
+        Contribution previous = contributions.remove(skillId);
+        if (previous != null) {
+            Map<Long, Posting> postings = previous.offered() ? offered : wanted;
+            Posting posting = postings.get(previous.nameId());
+            posting.remove(previous.userId());
+            if (!posting.users.contains(previous.userId())) {
+                Map<Integer, Set<Long>> userNames = previous.offered() ? userOffered : userWanted;
+                Set<Long> nameIds = userNames.get(previous.userId());
+                nameIds.remove(previous.nameId());
+                if (nameIds.isEmpty()) {
+                    userNames.remove(previous.userId());
+                }
+            }
+            if (posting.users.isEmpty()) {
+                postings.remove(previous.nameId());
+            }
+        }
+        if (skill != null && skill.approved()) {
+            Long nameId = nameId(skill.name());
+            int userId = Math.toIntExact(skill.userId());
+            (skill.offered() ? offered : wanted).computeIfAbsent(nameId, n -> new Posting()).add(userId);
+            (skill.offered() ? userOffered : userWanted).computeIfAbsent(userId, u -> new HashSet<>()).add(nameId);
+            contributions.put(skillId, new Contribution(nameId, skill.offered(), userId));
+        }
+    }
+
+    private Long nameId(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        Long id = nameIds.get(key);
+        if (id == null) {
+            id = (long) nameIds.size();
+            nameIds.put(key, id);
+            names.put(id, key);
+            nameLabels.put(id, name.trim());
+        }
+        return id;
+    }
+
+    public enum MatchMode {
+        ALL,
+        ANY
+    }
+
+    // theyOffer: skills the match offers that the user wants; theyWant: the reverse;
+    // overlapHours: weekly hours both are available
+    public record ReciprocalMatch(Long userId, List<String> theyOffer, List<String> theyWant, int overlapHours) {
+
+        public int score() {
+            return theyOffer.size() + theyWant.size();
+        }
+
+        public int balance() {
+            return Math.min(theyOffer.size(), theyWant.size());
+        }
+    }
+
+    private record Contribution(Long nameId, boolean offered, int userId) {
+    }
+
+    // A user can list the same skill name twice; the bit stays set until the last one goes
+    private static final class Posting {
+        private final RoaringBitmap users = new RoaringBitmap();
+        private final Map<Integer, Integer> duplicates = new HashMap<>();
+
+        private void add(int userId) {
+            if (!users.checkedAdd(userId)) {
+                duplicates.merge(userId, 1, Integer::sum);
+            }
+        }
+
+        private void remove(int userId) {
+            Integer extra = duplicates.get(userId);
+            if (extra == null) {
+                users.remove(userId);
+            } else if (extra == 1) {
+                duplicates.remove(userId);
+            } else {
+                duplicates.put(userId, extra - 1);
+            }
+        }
+    }
+}
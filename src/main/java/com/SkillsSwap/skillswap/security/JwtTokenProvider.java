@@ -87,6 +87,10 @@ public class JwtTokenProvider {
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the event stream also takes the token as a parameter
+        if (request.getRequestURI().startsWith("/api/events/")) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 
@@ -0,0 +1,57 @@
+package com.SkillsSwap.skillswap.security;
+
+import com.SkillsSwap.skillswap.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+// Applies @RateLimited before the handler runs, so a throttled login never reaches BCrypt and a
+// throttled swap request never takes a pooled connection. Rejections surface as
+// TooManyRequestsException, which GlobalExceptionHandler turns into a 429 with Retry-After.
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(rateLimited.value(), resolveKey(rateLimited.key(), request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException("Too many requests, try again in " + retryAfterSeconds + "s",
+                    retryAfterSeconds);
+        }
+        return true;
+    }
+
+    // The remote address is the peer Tomcat sees; X-Forwarded-For is client supplied and is only
+    // honoured if server.forward-headers-strategy is set for a trusted proxy
+    private static String resolveKey(RateLimited.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RateLimited.KeyType.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "user:" + auth.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
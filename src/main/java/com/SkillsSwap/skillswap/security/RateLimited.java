@@ -0,0 +1,24 @@
+package com.SkillsSwap.skillswap.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Puts a controller method behind the token bucket named value; its size and refill rate come
+// from rate-limits.<value>.capacity and rate-limits.<value>.refill-per-minute. See RateLimiter.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    String value();
+
+    KeyType key() default KeyType.USER;
+
+    enum KeyType {
+        // The authenticated user, or the client address for anonymous calls
+        USER,
+        // The client address, e.g. for login where the user is not known yet
+        CLIENT_IP
+    }
+}
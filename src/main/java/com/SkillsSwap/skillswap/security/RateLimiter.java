@@ -0,0 +1,183 @@
+package com.SkillsSwap.skillswap.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Token buckets per (limit, key), kept in memory. Each limit spreads its keys over a fixed number
+// of stripes, each an access-ordered map behind its own lock, so callers only contend when their
+// keys hash to the same stripe. A stripe holds at most max-keys / stripes buckets and drops the
+// least recently used one when full; an evicted key comes back with a full bucket, which only
+// ever errs towards letting a request through. Limits are read from rate-limits.<name>.* the
+// first time they are used.
+@Component
+public class RateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final Environment environment;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    // Replaced in tests, which step time by hand
+    private LongSupplier nanoTime = System::nanoTime;
+
+    @Value("${rate-limits.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limits.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limits.stripes:64}")
+    private int stripes;
+
+    public RateLimiter(Environment environment) {
+        this.environment = environment;
+    }
+
+    // 0 when key may go ahead under limit name, otherwise the nanoseconds until it may try again
+    public long tryAcquire(String name, String key) {
+        if (!enabled) {
+            return 0;
+        }
+        return limits.computeIfAbsent(name, this::createLimit).tryAcquire(key);
+    }
+
+    public List<RateLimitStats> getStats() {
+        List<RateLimitStats> stats = new ArrayList<>(limits.size());
+        limits.forEach((name, limit) -> stats.add(limit.stats(name)));
+        return stats;
+    }
+
+    private Limit createLimit(String name) {
+        String prefix = "rate-limits." + name + ".";
+        long capacity = environment.getProperty(prefix + "capacity", Long.class, 10L);
+        long refillPerMinute = environment.getProperty(prefix + "refill-per-minute", Long.class, capacity);
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalStateException("Rate limit " + name + " needs a positive capacity and refill-per-minute");
+        }
+        int stripeCount = Math.max(1, stripes);
+        return new Limit(capacity, refillPerMinute, stripeCount, Math.max(1, maxKeys / stripeCount), nanoTime);
+    }
+
+    private static final class Limit {
+
+        private final long capacity;
+        private final long refillPerMinute;
+        // One token is added per nanosPerToken; a partial interval is carried over in refilledAt
+        private final long nanosPerToken;
+        private final Stripe[] stripes;
+        private final LongSupplier nanoTime;
+
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong evicted = new AtomicLong();
+
+        Limit(long capacity, long refillPerMinute, int stripeCount, int keysPerStripe, LongSupplier nanoTime) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.nanosPerToken = Math.max(1, NANOS_PER_MINUTE / refillPerMinute);
+            this.nanoTime = nanoTime;
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe(keysPerStripe, evicted);
+            }
+        }
+
+        long tryAcquire(String key) {
+            Stripe stripe = stripes[Math.floorMod(spread(key.hashCode()), stripes.length)];
+            long now = nanoTime.getAsLong();
+            long waitNanos;
+            stripe.lock.lock();
+            try {
+                Bucket bucket = stripe.buckets.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(capacity, now);
+                    stripe.buckets.put(key, bucket);
+                } else {
+                    long elapsed = now - bucket.refilledAt;
+                    long refill = elapsed / nanosPerToken;
+                    if (refill > 0) {
+                        bucket.tokens = Math.min(capacity, bucket.tokens + refill);
+                        bucket.refilledAt = bucket.tokens == capacity ? now : bucket.refilledAt + refill * nanosPerToken;
+                    }
+                }
+                if (bucket.tokens > 0) {
+                    bucket.tokens--;
+                    waitNanos = 0;
+                } else {
+                    waitNanos = nanosPerToken - (now - bucket.refilledAt);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+            if (waitNanos == 0) {
+                allowed.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+            return waitNanos;
+        }
+
+        RateLimitStats stats(String name) {
+            int keys = 0;
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    keys += stripe.buckets.size();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            return new RateLimitStats(name, capacity, refillPerMinute, keys, allowed.get(), rejected.get(), evicted.get());
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxKeys, AtomicLong evicted) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    if (size() > maxKeys) {
+                        evicted.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+
+        private long tokens;
+        private long refilledAt;
+
+        Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+    }
+
+    // keys: buckets currently held; evicted: idle keys dropped to stay within max-keys
+    public record RateLimitStats(String name, long capacity, long refillPerMinute, int keys,
+                                 long allowed, long rejected, long evicted) {
+    }
+}
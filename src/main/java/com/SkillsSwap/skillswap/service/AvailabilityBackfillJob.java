@@ -0,0 +1,54 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Encodes availability_slots for users written before the column existed. Saving a User only
+// encodes it when the entity is dirty, so without this such rows would stay NULL, and be parsed
+// from text on every read, until the user happened to change something. Each batch is its own
+// transaction; once no row is missing slots this is a single empty query.
+@Component
+public class AvailabilityBackfillJob {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AvailabilityBackfillJob(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int encoded = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> encodeBatch());
+            encoded += count;
+            if (count < BATCH_SIZE) {
+                break;
+            }
+        }
+        if (encoded > 0) {
+            System.out.println("Availability slots backfilled for " + encoded + " users");
+        }
+    }
+
+    // Every row read is filled, so the next batch starts past it
+    private int encodeBatch() {
+        List<Object[]> rows = userRepository.findAvailabilityWithoutSlots(PageRequest.of(0, BATCH_SIZE));
+        for (Object[] row : rows) {
+            userRepository.fillAvailabilitySlots((Long) row[0], WeeklyAvailability.parse((String) row[1]).toBytes());
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,254 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.FeedbackChangedEvent;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pushes swap request and feedback changes to the participants' open Server-Sent Events
+// connections once the change has committed.
+//
+// An open stream is an async servlet request, so an idle connection holds no thread at all.
+// Writes run on sender threads, one drain at a time per connection, so a slow client delays
+// only itself; a client that falls more than maxQueued events behind is disconnected and
+// resumes from its Last-Event-ID. Events are numbered in publication order and the last
+// replaySize of them are kept, which is what a reconnecting client can be replayed from. Ids
+// carry the instance's boot id: after a restart, or when the client has missed more than the
+// buffer holds, it gets a "resync" event and should reload instead.
+@Service
+public class EventStreamService {
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, new long[0], null);
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    // Platform threads, not virtual ones: SseEmitter.send is synchronized, and on JDK 21 a virtual
+    // thread blocked in it by a client that stopped reading pins its carrier, which stalls every
+    // other virtual thread once there are as many such clients as cores. A drain only holds a
+    // thread while it has something to send.
+    private final ExecutorService senders = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("sse-sender-", 0).daemon().factory());
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private StreamEvent[] replay;
+    private long lastSequence = 0;
+
+    @Value("${events.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.stream.replay-size:10000}")
+    private int replaySize;
+
+    @Value("${events.stream.max-queued:256}")
+    private int maxQueued;
+
+    @PostConstruct
+    void allocateReplayBuffer() {
+        replay = new StreamEvent[replaySize];
+    }
+
+    // Opens a stream for the user; lastEventId is the id of the last event the client saw, or
+    // null for a fresh connection that only wants new events
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+
+        // Registering and replaying under the publish lock means no event is missed or sent
+        // twice between the two
+        publishLock.lock();
+        try {
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replayAfter(subscriber, lastEventId);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSwapRequestChanged(SwapRequestChangedEvent event) {
+        publish("swap-request", event, event.requesterId(), event.providerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        publish("feedback", event, event.reviewerId(), event.recipientId());
+    }
+
+    // A comment line keeps proxies from closing idle connections and lets the server notice
+    // clients that went away without closing theirs
+    @Scheduled(fixedDelayString = "${events.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void closeAll() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        senders.shutdown();
+    }
+
+    private void publish(String name, Object payload, Long... userIds) {
+        long[] recipients = new long[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            recipients[i] = userIds[i];
+        }
+        publishLock.lock();
+        try {
+            StreamEvent event = new StreamEvent(++lastSequence, name, recipients, payload);
+            replay[(int) (event.sequence % replay.length)] = event;
+            for (int i = 0; i < recipients.length; i++) {
+                // A request someone sent to themselves is delivered once
+                if (i > 0 && recipients[i] == recipients[0]) {
+                    continue;
+                }
+                Set<Subscriber> userSubscribers = subscribers.get(recipients[i]);
+                if (userSubscribers != null) {
+                    for (Subscriber subscriber : userSubscribers) {
+                        subscriber.offer(event);
+                    }
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void replayAfter(Subscriber subscriber, String lastEventId) {
+        long after = parseSequence(lastEventId);
+        long oldest = Math.max(1, lastSequence - replay.length + 1);
+        if (after < 0 || after > lastSequence || after + 1 < oldest) {
+            subscriber.offer(new StreamEvent(lastSequence, "resync", new long[0], null));
+            return;
+        }
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            StreamEvent event = replay[(int) (sequence % replay.length)];
+            if (event.isFor(subscriber.userId)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // -1 when the id was not issued by this instance since it started
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(bootId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private record StreamEvent(long sequence, String name, long[] userIds, Object payload) {
+
+        boolean isFor(long userId) {
+            for (long id : userIds) {
+                if (id == userId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Completing takes the emitter's lock, which a send blocked on this client holds, so it
+        // is left to a sender thread rather than done here under the publish lock
+        private void offer(StreamEvent event) {
+            if (queued.incrementAndGet() > maxQueued) {
+                unsubscribe(this);
+                senders.execute(emitter::complete);
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Sends until the queue is empty; the re-check after clearing the flag catches events
+        // offered while the last send was in progress
+        private void drain() {
+            do {
+                StreamEvent event;
+                while ((event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(toSse(event));
+                    } catch (IOException | IllegalStateException e) {
+                        unsubscribe(this);
+                        pending.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+            if (event == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .id(bootId + "-" + event.sequence)
+                    .name(event.name);
+            return event.payload != null
+                    ? builder.data(event.payload, MediaType.APPLICATION_JSON)
+                    : builder.data("{}", MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.SkillsSwap.skillswap.service;
 
+import com.SkillsSwap.skillswap.dto.FeedbackDTO;
+import com.SkillsSwap.skillswap.event.FeedbackChangedEvent;
 import com.SkillsSwap.skillswap.exception.BadRequestException;
 import com.SkillsSwap.skillswap.exception.DuplicateResourceException;
 import com.SkillsSwap.skillswap.exception.ResourceNotFoundException;
@@ -7,14 +9,20 @@ import com.SkillsSwap.skillswap.model.Feedback;
 import com.SkillsSwap.skillswap.model.SwapRequest;
 import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.UserRating;
 import com.SkillsSwap.skillswap.repository.FeedbackRepository;
 import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
 import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -23,17 +31,26 @@ public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final UserRepository userRepository;
     private final SwapRequestRepository swapRequestRepository;
+    private final UserRatingRepository userRatingRepository;
+    private final ReputationService reputationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public FeedbackService(FeedbackRepository feedbackRepository,
                           UserRepository userRepository,
-                          SwapRequestRepository swapRequestRepository) {
+                          SwapRequestRepository swapRequestRepository,
+                          UserRatingRepository userRatingRepository,
+                          ReputationService reputationService,
+                          ApplicationEventPublisher eventPublisher) {
         this.feedbackRepository = feedbackRepository;
         this.userRepository = userRepository;
         this.swapRequestRepository = swapRequestRepository;
+        this.userRatingRepository = userRatingRepository;
+        this.reputationService = reputationService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Feedback> getAllFeedback() {
-        return feedbackRepository.findAll();
+    public List<FeedbackDTO> getAllFeedback() {
+        return feedbackRepository.findAllDTOs();
     }
 
     public Feedback getFeedbackById(Long id) {
@@ -41,24 +58,48 @@ public class FeedbackService {
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback", "id", id));
     }
 
+    // Loads the feedback with its reviewer and recipient
     public Optional<Feedback> findFeedbackById(Long id) {
-        return feedbackRepository.findById(id);
+        return feedbackRepository.findDetailById(id);
     }
 
-    public List<Feedback> getFeedbackByReviewer(User reviewer) {
-        return feedbackRepository.findByReviewer(reviewer);
+    public long countFeedback() {
+        return feedbackRepository.count();
     }
 
-    public List<Feedback> getFeedbackByRecipient(User recipient) {
-        return feedbackRepository.findByRecipient(recipient);
+    // Listings are read as DTO projections, one statement per call regardless of row count
+    public List<FeedbackDTO> getFeedbackByReviewer(User reviewer) {
+        return feedbackRepository.findDTOsByReviewerId(reviewer.getId());
     }
 
-    public List<Feedback> getFeedbackBySwapRequest(SwapRequest swapRequest) {
-        return feedbackRepository.findBySwapRequest(swapRequest);
+    public List<FeedbackDTO> getFeedbackByRecipient(User recipient) {
+        return feedbackRepository.findDTOsByRecipientId(recipient.getId());
+    }
+
+    public List<FeedbackDTO> getFeedbackBySwapRequest(SwapRequest swapRequest) {
+        return feedbackRepository.findDTOsBySwapRequestId(swapRequest.getId());
     }
 
     public Double getAverageRatingForUser(User user) {
-        return feedbackRepository.getAverageRatingForUser(user);
+        return getRatingSummary(user).getAverage();
+    }
+
+    // Summaries for many users from one query; users without feedback get an empty summary
+    public Map<Long, UserRating> getRatingSummaries(Collection<Long> userIds) {
+        Map<Long, UserRating> summaries = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            summaries.put(userId, new UserRating(userId));
+        }
+        for (UserRating rating : userRatingRepository.findAllById(userIds)) {
+            summaries.put(rating.getUserId(), rating);
+        }
+        return summaries;
+    }
+
+    // Count, sum and per-star histogram in one primary-key lookup
+    public UserRating getRatingSummary(User user) {
+        return userRatingRepository.findById(user.getId())
+                .orElseGet(() -> new UserRating(user.getId()));
     }
 
     @Transactional
@@ -106,23 +147,47 @@ public class FeedbackService {
         Feedback feedback = new Feedback(reviewer, recipient, swapRequest, rating, comment);
         feedback.setCreatedAt(LocalDateTime.now());
 
-        return feedbackRepository.save(feedback);
+        Feedback savedFeedback = feedbackRepository.save(feedback);
+        updateRatingAggregate(savedFeedback, 1);
+        eventPublisher.publishEvent(FeedbackChangedEvent.created(savedFeedback));
+        return savedFeedback;
     }
 
     @Transactional
     public void deleteFeedback(Long id) {
-        if (!feedbackRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Feedback", "id", id);
+        Feedback feedback = feedbackRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Feedback", "id", id));
+        feedbackRepository.delete(feedback);
+        updateRatingAggregate(feedback, -1);
+        eventPublisher.publishEvent(FeedbackChangedEvent.deleted(feedback));
+    }
+
+    // Applies the change to user_ratings in the caller's transaction. A user without a row yet
+    // gets one computed from the feedbacks table, which already includes this change. Two
+    // transactions can both find the row missing; the one whose insert loses applies its rating
+    // to the winner's row, which could not see this transaction's uncommitted feedback.
+    private void updateRatingAggregate(Feedback feedback, long delta) {
+        Long userId = feedback.getRecipient().getId();
+        double weight = reputationService.weightOf(feedback.getCreatedAt());
+        if (userRatingRepository.applyRating(userId, delta, feedback.getRating(), delta * weight) > 0) {
+            return;
+        }
+        UserRating aggregate = userRatingRepository.computeFromFeedback(userId);
+        if (aggregate == null) {
+            aggregate = new UserRating(userId);
+        }
+        reputationService.computeFromFeedback(List.of(aggregate));
+        if (userRatingRepository.insertIfMissing(aggregate) == 0) {
+            userRatingRepository.applyRating(userId, delta, feedback.getRating(), delta * weight);
         }
-        feedbackRepository.deleteById(id);
     }
 
-    public List<Feedback> getFeedbackByRatingLessThanEqual(int rating) {
-        return feedbackRepository.findByRatingLessThanEqual(rating);
+    public List<FeedbackDTO> getFeedbackByRatingLessThanEqual(int rating) {
+        return feedbackRepository.findDTOsByRatingLessThanEqual(rating);
     }
 
-    public List<Feedback> getFeedbackByRatingGreaterThanEqual(int rating) {
-        return feedbackRepository.findByRatingGreaterThanEqual(rating);
+    public List<FeedbackDTO> getFeedbackByRatingGreaterThanEqual(int rating) {
+        return feedbackRepository.findDTOsByRatingGreaterThanEqual(rating);
     }
 
     public List<Feedback> getFeedbackByDateRange(LocalDateTime start, LocalDateTime end) {
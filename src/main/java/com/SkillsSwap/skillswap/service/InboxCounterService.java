@@ -0,0 +1,93 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.FeedbackChangedEvent;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.InboxCounters;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.repository.InboxCountersRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Keeps inbox_counters in step with swap requests and feedback. Every status change
+// SwapRequestService and SwapRequestExpiryJob make is published as a SwapRequestChangedEvent;
+// this listens to it synchronously, so the counters are updated in the same transaction as the
+// request and roll back with it. FeedbackChangedEvent is handled the same way.
+@Service
+public class InboxCounterService {
+
+    private final InboxCountersRepository inboxCountersRepository;
+
+    public InboxCounterService(InboxCountersRepository inboxCountersRepository) {
+        this.inboxCountersRepository = inboxCountersRepository;
+    }
+
+    // A user without a row has never had a request, as rows are backfilled on startup and
+    // created on registration or on the first change otherwise
+    public InboxCounters getCounters(Long userId) {
+        return inboxCountersRepository.findById(userId)
+                .orElseGet(() -> new InboxCounters(userId));
+    }
+
+    @Transactional
+    public void createCounters(Long userId) {
+        inboxCountersRepository.insertIfMissing(userId, 0, 0, 0, 0);
+    }
+
+    @EventListener
+    @Transactional
+    public void onSwapRequestChanged(SwapRequestChangedEvent event) {
+        SwapStatus from = event.previousStatus();
+        SwapStatus to = event.status();
+        long pending = delta(from, to, SwapStatus.PENDING);
+        long accepted = delta(from, to, SwapStatus.ACCEPTED);
+        long completed = delta(from, to, SwapStatus.COMPLETED);
+        if (pending == 0 && accepted == 0 && completed == 0) {
+            return;
+        }
+        apply(event.providerId(), pending, 0, accepted, completed);
+        apply(event.requesterId(), 0, pending, accepted, completed);
+    }
+
+    // A review takes the swap off the reviewer's awaiting-feedback count; deleting it puts it back
+    @EventListener
+    @Transactional
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        apply(event.reviewerId(), 0, 0, 0, event.type() == FeedbackChangedEvent.ChangeType.CREATED ? -1 : 1);
+    }
+
+    // Seeds a row for every user who has none, i.e. everyone who registered before the counters
+    // existed. Once every user has a row this does nothing.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = inboxCountersRepository.insertMissingCounters();
+        if (inserted > 0) {
+            System.out.println("Inbox counters backfilled for " + inserted + " users");
+        }
+    }
+
+    // Applies the change in the caller's transaction. A user without a row yet gets one computed
+    // from swap_requests and feedbacks, which already include this change. Two transactions can
+    // both find the row missing; the one whose insert loses applies its deltas to the winner's
+    // row, which could not see this transaction's uncommitted change.
+    private void apply(Long userId, long pendingReceived, long pendingSent, long accepted, long awaitingFeedback) {
+        if (inboxCountersRepository.applyDeltas(userId, pendingReceived, pendingSent, accepted, awaitingFeedback) == 1) {
+            return;
+        }
+        long pendingReceivedNow = inboxCountersRepository.countReceived(userId, SwapStatus.PENDING);
+        long pendingSentNow = inboxCountersRepository.countSent(userId, SwapStatus.PENDING);
+        long acceptedNow = inboxCountersRepository.countReceived(userId, SwapStatus.ACCEPTED)
+                + inboxCountersRepository.countSent(userId, SwapStatus.ACCEPTED);
+        long awaitingNow = inboxCountersRepository.countReceivedAwaitingFeedback(userId)
+                + inboxCountersRepository.countSentAwaitingFeedback(userId);
+        if (inboxCountersRepository.insertIfMissing(userId, pendingReceivedNow, pendingSentNow, acceptedNow, awaitingNow) == 0) {
+            inboxCountersRepository.applyDeltas(userId, pendingReceived, pendingSent, accepted, awaitingFeedback);
+        }
+    }
+
+    private static long delta(SwapStatus from, SwapStatus to, SwapStatus counted) {
+        return (to == counted ? 1 : 0) - (from == counted ? 1 : 0);
+    }
+}
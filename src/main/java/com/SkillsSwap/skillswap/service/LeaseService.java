@@ -0,0 +1,55 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.repository.SchedulerLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Time-bounded leases in the scheduler_leases table so that a scheduled job runs on one node at
+// a time. Acquiring is a single conditional UPDATE, so two nodes cannot both succeed; a node that
+// dies simply lets its lease run out. Each step commits on its own so the lease is visible to
+// other nodes immediately. Expiry is judged by each node's clock, so leases should be much longer
+// than the expected clock skew.
+@Service
+public class LeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public LeaseService(SchedulerLeaseRepository schedulerLeaseRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // Also renews a lease this node already holds
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLeaseRepository.insertIfMissing(name, now.minusSeconds(1)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row at the same moment
+        }
+        Integer acquired = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.acquire(name, owner, now.plus(duration), now));
+        return acquired != null && acquired == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLeaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,60 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder.SwapCycle;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.ReciprocalMatch;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class MatchService {
+
+    private final UserSkillBitmapIndex userSkillBitmapIndex;
+    private final SwapCycleFinder swapCycleFinder;
+    private final UserRepository userRepository;
+
+    public MatchService(UserSkillBitmapIndex userSkillBitmapIndex,
+                       SwapCycleFinder swapCycleFinder,
+                       UserRepository userRepository) {
+        this.userSkillBitmapIndex = userSkillBitmapIndex;
+        this.swapCycleFinder = swapCycleFinder;
+        this.userRepository = userRepository;
+    }
+
+    // Ranked users with whom a two-way swap is possible, best first
+    public List<UserMatch> findReciprocalMatches(User user, int limit, int minOverlapHours) {
+        List<ReciprocalMatch> matches = userSkillBitmapIndex.findReciprocalMatches(user.getId(), limit, minOverlapHours);
+        Map<Long, User> usersById = userRepository.findAllById(matches.stream()
+                        .map(ReciprocalMatch::userId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        return matches.stream()
+                .filter(match -> usersById.containsKey(match.userId()))
+                .map(match -> new UserMatch(usersById.get(match.userId()), match))
+                .collect(Collectors.toList());
+    }
+
+    // Three- and four-way swaps the user takes part in, shortest first
+    public SwapCycleProposals findSwapCycles(User user, int maxLength, int limit) {
+        List<SwapCycle> cycles = swapCycleFinder.findCycles(user.getId(), maxLength, limit);
+        Map<Long, User> participants = userRepository.findAllById(cycles.stream()
+                        .flatMap(cycle -> cycle.legs().stream())
+                        .map(SwapCycleFinder.Leg::giverId)
+                        .distinct()
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        return new SwapCycleProposals(cycles, participants);
+    }
+
+    public record SwapCycleProposals(List<SwapCycle> cycles, Map<Long, User> participants) {
+    }
+
+    public record UserMatch(User user, ReciprocalMatch match) {
+    }
+}
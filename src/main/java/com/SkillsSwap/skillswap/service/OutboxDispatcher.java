@@ -0,0 +1,196 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.OutboxSubscriber;
+import com.SkillsSwap.skillswap.model.OutboxEvent;
+import com.SkillsSwap.skillswap.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains outbox_events to the OutboxSubscribers. A batch holds at most one event per aggregate
+// (the oldest undelivered one), so its events are handed to the worker pool in parallel without
+// reordering anything; the next batch is only read once the whole batch is done, which bounds
+// the events in flight to batch-size and leaves the rest waiting in the table. Delivered rows are
+// deleted and failed ones retried with exponential backoff, in the same order, until
+// max-attempts, after which the row is kept for inspection and its aggregate moves on. An event
+// whose delivery succeeded but whose delete did not commit is delivered again. Only the node
+// holding the lease dispatches.
+@Component
+public class OutboxDispatcher {
+
+    private static final String LEASE_NAME = "outbox-dispatcher";
+    private static final long MAX_RETRY_DELAY_SECONDS = 300;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final LeaseService leaseService;
+    private final ObjectProvider<OutboxSubscriber<?>> subscriberProvider;
+    private final TransactionTemplate transactionTemplate;
+    private List<OutboxSubscriber<?>> subscribers;
+    private ExecutorService workers;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.lease-seconds:30}")
+    private long leaseSeconds;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OutboxService outboxService,
+                            LeaseService leaseService,
+                            ObjectProvider<OutboxSubscriber<?>> subscriberProvider,
+                            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.leaseService = leaseService;
+        this.subscriberProvider = subscriberProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        subscribers = subscriberProvider.orderedStream().toList();
+        workers = Executors.newFixedThreadPool(dispatchThreads);
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!enabled || !leaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+        try {
+            // Leave a margin so the last batch is settled while the lease is still ours
+            long deadline = System.nanoTime() + Duration.ofSeconds(leaseSeconds).toNanos() / 2;
+            while (System.nanoTime() < deadline) {
+                List<OutboxEvent> batch = outboxEventRepository.findDeliverable(
+                        LocalDateTime.now(), maxAttempts, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                deliverBatch(batch);
+            }
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    public OutboxStats getStats() {
+        return new OutboxStats(
+                outboxEventRepository.countByAttemptsLessThan(maxAttempts),
+                outboxEventRepository.countByAttemptsGreaterThanEqual(maxAttempts),
+                delivered.get(),
+                failed.get(),
+                subscribers.size()
+        );
+    }
+
+    private void deliverBatch(List<OutboxEvent> batch) {
+        List<Future<String>> results = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            results.add(workers.submit(() -> deliver(outboxEvent)));
+        }
+
+        List<Long> deliveredIds = new ArrayList<>();
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String error = awaitResult(results.get(i));
+            if (error == null) {
+                deliveredIds.add(batch.get(i).getId());
+            } else {
+                failedEvents.add(batch.get(i));
+                errors.add(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deliveredIds.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(deliveredIds);
+            }
+            for (int i = 0; i < failedEvents.size(); i++) {
+                OutboxEvent outboxEvent = failedEvents.get(i);
+                long delaySeconds = Math.min(MAX_RETRY_DELAY_SECONDS, 1L << Math.min(outboxEvent.getAttempts(), 20));
+                outboxEventRepository.markFailed(outboxEvent.getId(), now.plusSeconds(delaySeconds), errors.get(i));
+            }
+        });
+
+        delivered.addAndGet(deliveredIds.size());
+        failed.addAndGet(failedEvents.size());
+        for (int i = 0; i < failedEvents.size(); i++) {
+            OutboxEvent outboxEvent = failedEvents.get(i);
+            if (outboxEvent.getAttempts() + 1 >= maxAttempts) {
+                System.out.println("Giving up on outbox event " + outboxEvent.getId() + " (" + outboxEvent.getEventType()
+                        + ") after " + maxAttempts + " attempts: " + errors.get(i));
+            }
+        }
+    }
+
+    // null when every subscriber for the event's type handled it
+    private String deliver(OutboxEvent outboxEvent) {
+        try {
+            Object event = outboxService.deserialize(outboxEvent);
+            for (OutboxSubscriber<?> subscriber : subscribers) {
+                if (subscriber.eventType().isInstance(event)) {
+                    handle(subscriber, event);
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    private static <T> void handle(OutboxSubscriber<T> subscriber, Object event) throws Exception {
+        subscriber.handle(subscriber.eventType().cast(event));
+    }
+
+    private static String awaitResult(Future<String> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted";
+        } catch (ExecutionException e) {
+            return e.getCause().toString();
+        }
+    }
+
+    // backlog: events still to be delivered; dead: events given up on
+    public record OutboxStats(long backlog, long dead, long delivered, long failedAttempts, int subscribers) {
+    }
+}
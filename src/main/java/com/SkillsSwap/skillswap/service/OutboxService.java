@@ -0,0 +1,93 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.FeedbackChangedEvent;
+import com.SkillsSwap.skillswap.event.OutboxSubscriber;
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.OutboxEvent;
+import com.SkillsSwap.skillswap.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Transactional outbox for the domain events of SwapRequestService, SkillService and
+// FeedbackService. Each event is written to outbox_events by a synchronous listener, i.e. in the
+// transaction that made the change, so it is stored if and only if the change commits. That
+// costs the writer one INSERT however many subscribers there are; OutboxDispatcher delivers the
+// rows to the OutboxSubscribers afterwards. Event types no subscriber asks for are not written.
+@Service
+public class OutboxService {
+
+    // Stored type name -> event class; names are kept stable so rows survive a class rename
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            "SwapRequestChanged", SwapRequestChangedEvent.class,
+            "SkillChanged", SkillChangedEvent.class,
+            "FeedbackChanged", FeedbackChangedEvent.class
+    );
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxSubscriber<?>> subscriberProvider;
+    private Set<Class<?>> subscribedTypes;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                         ObjectProvider<OutboxSubscriber<?>> subscriberProvider) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.subscriberProvider = subscriberProvider;
+    }
+
+    @PostConstruct
+    void collectSubscribedTypes() {
+        subscribedTypes = subscriberProvider.orderedStream()
+                .map(OutboxSubscriber::eventType)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @EventListener
+    @Transactional
+    public void onSwapRequestChanged(SwapRequestChangedEvent event) {
+        append("SwapRequest", event.swapRequestId(), "SwapRequestChanged", event);
+    }
+
+    @EventListener
+    @Transactional
+    public void onSkillChanged(SkillChangedEvent event) {
+        append("Skill", event.skillId(), "SkillChanged", event);
+    }
+
+    @EventListener
+    @Transactional
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        append("Feedback", event.feedbackId(), "FeedbackChanged", event);
+    }
+
+    public Object deserialize(OutboxEvent outboxEvent) throws JsonProcessingException {
+        Class<?> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + outboxEvent.getEventType());
+        }
+        return objectMapper.readValue(outboxEvent.getPayload(), type);
+    }
+
+    private void append(String aggregateType, Long aggregateId, String eventType, Object event) {
+        if (subscribedTypes.stream().noneMatch(type -> type.isInstance(event))) {
+            return;
+        }
+        try {
+            outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType,
+                    objectMapper.writeValueAsString(event), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+    }
+}
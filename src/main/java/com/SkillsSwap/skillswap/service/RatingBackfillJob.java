@@ -0,0 +1,36 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Seeds user_ratings from the feedbacks table for users who have feedback but no aggregate row,
+// i.e. everything written before the aggregates existed, then fills in the reputation totals of
+// rows that predate them. Once every row is complete this does nothing; from then on
+// FeedbackService keeps the rows current.
+@Component
+public class RatingBackfillJob {
+
+    private final UserRatingRepository userRatingRepository;
+    private final ReputationService reputationService;
+
+    public RatingBackfillJob(UserRatingRepository userRatingRepository, ReputationService reputationService) {
+        this.userRatingRepository = userRatingRepository;
+        this.reputationService = reputationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = userRatingRepository.insertMissingAggregates();
+        if (inserted > 0) {
+            System.out.println("Rating aggregates backfilled for " + inserted + " users");
+        }
+        int scored = reputationService.backfill();
+        if (scored > 0) {
+            System.out.println("Reputation backfilled for " + scored + " users");
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.OutboxSubscriber;
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.UserRating;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.UserDocument;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.ReciprocalMatch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Keeps a top-K feed of suggested partners and skills for every active user. Feeds are built in
+// the background from the bitmap index, the stored rating aggregates and a grouped last-activity
+// query, and served from memory. Skill, user and swap-request events mark the affected feeds dirty; a feed
+// that no event has touched is still rebuilt before it is older than the staleness bound, which
+// covers changes an event cannot attribute to a user (e.g. a new user who now matches). Feeds are
+// queued in the order they were built, so finding the ones coming due reads only those. Swap
+// request changes arrive through the outbox, so one committed just before a crash still reaches
+// the feeds of both parties instead of waiting out the staleness bound.
+@Service
+public class RecommendationService implements OutboxSubscriber<SwapRequestChangedEvent> {
+
+    private static final Set<SwapStatus> OPEN_STATUSES = Set.of(SwapStatus.PENDING, SwapStatus.ACCEPTED);
+    private static final double NEUTRAL_RATING = 3.0;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+
+    private final UserSkillBitmapIndex userSkillBitmapIndex;
+    private final UserRepository userRepository;
+    private final SwapRequestRepository swapRequestRepository;
+    private final UserRatingRepository userRatingRepository;
+
+    @Value("${recommendations.feed-size:20}")
+    private int feedSize;
+
+    @Value("${recommendations.batch-size:200}")
+    private int batchSize;
+
+    @Value("${recommendations.max-staleness-minutes:15}")
+    private long maxStalenessMinutes;
+
+    @Value("${recommendations.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    private final Map<Long, Feed> feeds = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // One entry per stored feed, oldest first; entries for feeds since replaced or discarded are
+    // skipped when they reach the head
+    private final Queue<Built> byAge = new ConcurrentLinkedQueue<>();
+    // Partner id -> users whose feed lists that partner, so partner changes reach those feeds
+    private final Map<Long, Set<Long>> listedIn = new ConcurrentHashMap<>();
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong totalBuildNanos = new AtomicLong();
+    private final AtomicLong maxBuildNanos = new AtomicLong();
+    private volatile long lastBuildNanos;
+    private volatile int lastBatchSize;
+    private volatile long lastBatchNanos;
+
+    public RecommendationService(UserSkillBitmapIndex userSkillBitmapIndex,
+                                UserRepository userRepository,
+                                SwapRequestRepository swapRequestRepository,
+                                UserRatingRepository userRatingRepository) {
+        this.userSkillBitmapIndex = userSkillBitmapIndex;
+        this.userRepository = userRepository;
+        this.swapRequestRepository = swapRequestRepository;
+        this.userRatingRepository = userRatingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleInitialBuild() {
+        for (UserDocument user : userRepository.findAllUserDocuments()) {
+            if (user.active()) {
+                dirty.add(user.id());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        markDirty(event.skill().userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.user().active()) {
+            discard(event.userId());
+        }
+        markDirty(event.userId());
+    }
+
+    @Override
+    public Class<SwapRequestChangedEvent> eventType() {
+        return SwapRequestChangedEvent.class;
+    }
+
+    // Marking a feed dirty twice is harmless, so redelivery needs no special handling
+    @Override
+    public void handle(SwapRequestChangedEvent event) {
+        markDirty(event.requesterId());
+        markDirty(event.providerId());
+    }
+
+    private void markDirty(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        dirty.add(userId);
+        Set<Long> dependents = listedIn.get(userId);
+        if (dependents != null) {
+            dirty.addAll(dependents);
+        }
+    }
+
+    // Rebuilds the feeds coming due, then up to batch-size dirty users. A feed comes due one
+    // interval before the staleness bound, so it is rebuilt by the time it would reach it.
+    @Scheduled(fixedDelayString = "${recommendations.refresh-interval-ms:5000}",
+               initialDelayString = "${recommendations.refresh-interval-ms:5000}")
+    public void refreshFeeds() {
+        if (!userSkillBitmapIndex.isReady()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int built = 0;
+        Instant dueBefore = Instant.now().minus(Duration.ofMinutes(maxStalenessMinutes)).plusMillis(refreshIntervalMs);
+        int dueBudget = dueBatchSize();
+        int due = 0;
+        Built oldest;
+        while (due < dueBudget && (oldest = byAge.peek()) != null && oldest.builtAt().isBefore(dueBefore)) {
+            byAge.poll();
+            Feed current = feeds.get(oldest.userId());
+            if (current != null && current.builtAt().equals(oldest.builtAt())) {
+                dirty.remove(oldest.userId());
+                rebuild(oldest.userId());
+                due++;
+            }
+        }
+        built += due;
+
+        Iterator<Long> pending = dirty.iterator();
+        int changed = 0;
+        while (changed < batchSize && pending.hasNext()) {
+            Long userId = pending.next();
+            pending.remove();
+            rebuild(userId);
+            changed++;
+        }
+        built += changed;
+        if (built > 0) {
+            lastBatchSize = built;
+            lastBatchNanos = System.nanoTime() - start;
+        }
+    }
+
+    // Served from memory; a user without a feed yet gets one built on the spot
+    public Feed getFeed(User user) {
+        Feed feed = feeds.get(user.getId());
+        if (feed == null) {
+            dirty.remove(user.getId());
+            feed = buildFeed(user.getId());
+            if (feed == null) {
+                return new Feed(user.getId(), List.of(), List.of(), Instant.now());
+            }
+            feed = store(feed);
+        }
+        return feed;
+    }
+
+    public boolean isStale(Feed feed) {
+        return feed.builtAt().isBefore(Instant.now().minus(Duration.ofMinutes(maxStalenessMinutes)));
+    }
+
+    public RecommendationStats getStats() {
+        long count = builds.get();
+        Instant oldest = feeds.values().stream()
+                .map(Feed::builtAt)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        return new RecommendationStats(
+                feeds.size(),
+                dirty.size(),
+                count,
+                lastBuildNanos / 1_000_000.0,
+                count > 0 ? totalBuildNanos.get() / (count * 1_000_000.0) : 0.0,
+                maxBuildNanos.get() / 1_000_000.0,
+                lastBatchSize,
+                lastBatchNanos / 1_000_000.0,
+                oldest != null ? Duration.between(oldest, Instant.now()).toSeconds() : 0L
+        );
+    }
+
+    // Every feed is rebuilt once per staleness bound, i.e. feeds * interval / bound per run in
+    // the steady state. Twice that lets a backlog, such as the feeds from the initial build all
+    // coming due together, clear within a few runs instead of carrying over.
+    private int dueBatchSize() {
+        long boundMillis = Duration.ofMinutes(maxStalenessMinutes).toMillis();
+        return (int) Math.max(batchSize, Math.ceil(2.0 * feeds.size() * refreshIntervalMs / boundMillis));
+    }
+
+    private void rebuild(Long userId) {
+        Feed feed = buildFeed(userId);
+        if (feed != null) {
+            store(feed);
+        } else {
+            discard(userId);
+        }
+    }
+
+    // builtAt is when the build started, i.e. the time of the data it read
+    private Feed buildFeed(Long userId) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.isActive() || !userSkillBitmapIndex.isReady()) {
+            return null;
+        }
+
+        // Over-fetch so that excluding users with an open swap still leaves a full feed
+        Set<Long> engaged = new HashSet<>(swapRequestRepository.findCounterpartIds(userId, OPEN_STATUSES));
+        List<ReciprocalMatch> candidates = userSkillBitmapIndex.findReciprocalMatches(userId, feedSize * 5).stream()
+                .filter(match -> !engaged.contains(match.userId()))
+                .collect(Collectors.toList());
+        List<Long> candidateIds = candidates.stream().map(ReciprocalMatch::userId).collect(Collectors.toList());
+
+        Map<Long, Double> ratings = new HashMap<>();
+        Map<Long, LocalDateTime> lastActive = new HashMap<>();
+        if (!candidateIds.isEmpty()) {
+            for (UserRating rating : userRatingRepository.findAllById(candidateIds)) {
+                if (rating.getAverage() != null) {
+                    ratings.put(rating.getUserId(), rating.getAverage());
+                }
+            }
+            for (Object[] row : swapRequestRepository.findLatestRequestDateByRequesterIds(candidateIds)) {
+                lastActive.merge((Long) row[0], (LocalDateTime) row[1], RecommendationService::latest);
+            }
+            for (Object[] row : swapRequestRepository.findLatestRequestDateByProviderIds(candidateIds)) {
+                lastActive.merge((Long) row[0], (LocalDateTime) row[1], RecommendationService::latest);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ScoredMatch> scored = candidates.stream()
+                .map(match -> new ScoredMatch(match, score(match, ratings.get(match.userId()),
+                        lastActive.get(match.userId()), now)))
+                .sorted(Comparator.comparingDouble(ScoredMatch::score).reversed()
+                        .thenComparing(scoredMatch -> scoredMatch.match().userId()))
+                .limit(feedSize)
+                .collect(Collectors.toList());
+
+        Map<Long, User> partners = userRepository.findAllById(scored.stream()
+                        .map(scoredMatch -> scoredMatch.match().userId())
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        List<PartnerSuggestion> suggestions = new ArrayList<>();
+        for (ScoredMatch scoredMatch : scored) {
+            User partner = partners.get(scoredMatch.match().userId());
+            if (partner != null) {
+                suggestions.add(new PartnerSuggestion(
+                        partner.getId(),
+                        partner.getUsername(),
+                        partner.getName(),
+                        partner.getLocation(),
+                        scoredMatch.match().theyOffer(),
+                        scoredMatch.match().theyWant(),
+                        ratings.get(partner.getId()),
+                        scoredMatch.score()));
+            }
+        }
+
+        Feed feed = new Feed(userId, suggestions, suggestSkills(userId, suggestions), startedAt);
+        recordBuild(System.nanoTime() - start);
+        return feed;
+    }
+
+    // Skills the suggested partners offer that the user neither offers nor wants yet,
+    // weighted by the score of the partners offering them
+    private List<String> suggestSkills(Long userId, List<PartnerSuggestion> partners) {
+        Set<String> known = new HashSet<>();
+        userSkillBitmapIndex.offeredSkillNames(userId).forEach(name -> known.add(name.toLowerCase()));
+        userSkillBitmapIndex.wantedSkillNames(userId).forEach(name -> known.add(name.toLowerCase()));
+
+        Map<String, Double> weights = new HashMap<>();
+        for (PartnerSuggestion partner : partners) {
+            for (String name : userSkillBitmapIndex.offeredSkillNames(partner.userId())) {
+                if (!known.contains(name.toLowerCase())) {
+                    weights.merge(name, partner.score(), Double::sum);
+                }
+            }
+        }
+        return weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(feedSize)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    // Skill overlap, scaled by rating (unrated users count as average) and by how recently the
+    // partner took part in a swap; neither factor can push a match below half its overlap score
+    private static double score(ReciprocalMatch match, Double averageRating, LocalDateTime lastActive,
+                                LocalDateTime now) {
+        double rating = averageRating != null ? averageRating : NEUTRAL_RATING;
+        double ratingFactor = 0.5 + 0.5 * rating / 5.0;
+        double recencyFactor = 0.5;
+        if (lastActive != null) {
+            double days = Math.max(0, Duration.between(lastActive, now).toHours() / 24.0);
+            recencyFactor += 0.5 * Math.pow(0.5, days / RECENCY_HALF_LIFE_DAYS);
+        }
+        return match.score() * ratingFactor * recencyFactor;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    // Keeps whichever feed was started last, so a slow build (e.g. one made on the spot by
+    // getFeed) cannot replace a newer one; returns the feed now held. The partner links change
+    // under the same per-user lock as the feed.
+    private Feed store(Feed feed) {
+        Feed held = feeds.compute(feed.userId(), (id, current) -> {
+            if (current != null && current.builtAt().isAfter(feed.builtAt())) {
+                return current;
+            }
+            if (current != null) {
+                unlist(current);
+            }
+            for (PartnerSuggestion partner : feed.partners()) {
+                listedIn.computeIfAbsent(partner.userId(), partnerId -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            return feed;
+        });
+        if (held == feed) {
+            byAge.add(new Built(feed.userId(), feed.builtAt()));
+        }
+        return held;
+    }
+
+    private void discard(Long userId) {
+        feeds.computeIfPresent(userId, (id, current) -> {
+            unlist(current);
+            return null;
+        });
+    }
+
+    private void unlist(Feed feed) {
+        for (PartnerSuggestion partner : feed.partners()) {
+            listedIn.computeIfPresent(partner.userId(), (id, owners) -> {
+                owners.remove(feed.userId());
+                return owners.isEmpty() ? null : owners;
+            });
+        }
+    }
+
+    private void recordBuild(long nanos) {
+        builds.incrementAndGet();
+        totalBuildNanos.addAndGet(nanos);
+        maxBuildNanos.accumulateAndGet(nanos, Math::max);
+        lastBuildNanos = nanos;
+    }
+
+    private record ScoredMatch(ReciprocalMatch match, double score) {
+    }
+
+    private record Built(Long userId, Instant builtAt) {
+    }
+
+    public record Feed(Long userId, List<PartnerSuggestion> partners, List<String> skills, Instant builtAt) {
+    }
+
+    public record PartnerSuggestion(Long userId, String username, String name, String location,
+                                    List<String> theyOffer, List<String> theyWant,
+                                    Double averageRating, double score) {
+    }
+
+    public record RecommendationStats(int feeds, int pending, long builds, double lastBuildMillis,
+                                      double averageBuildMillis, double maxBuildMillis,
+                                      int lastBatchSize, double lastBatchMillis, long oldestFeedAgeSeconds) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.model.UserRating;
+import com.SkillsSwap.skillswap.repository.FeedbackRepository;
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reputation = Bayesian average of the ratings a user has received, each rating weighted by
+// 2^(-age / half-life), with priorWeight virtual ratings of priorMean mixed in so that a handful
+// of reviews cannot outrank a long track record.
+//
+// Weights are stored relative to a fixed epoch rather than to "now": a rating given at time t
+// adds e^(lambda * (t - epoch)) to decayed_weight and that times the rating to decayed_sum. Adding
+// or removing a rating is then a plain increment in the same UPDATE as the other aggregates, and
+// decaying everything to the present is one multiplication by e^(-lambda * (now - epoch)) at read
+// time, so no job ever rewrites the rows as they age. With a 180-day half-life the stored values
+// stay well inside double range for several centuries.
+@Service
+public class ReputationService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final UserRatingRepository userRatingRepository;
+    private final FeedbackRepository feedbackRepository;
+
+    @Value("${reputation.half-life-days:180}")
+    private double halfLifeDays;
+
+    @Value("${reputation.prior-mean:3.5}")
+    private double priorMean;
+
+    @Value("${reputation.prior-weight:5}")
+    private double priorWeight;
+
+    public ReputationService(UserRatingRepository userRatingRepository,
+                             FeedbackRepository feedbackRepository) {
+        this.userRatingRepository = userRatingRepository;
+        this.feedbackRepository = feedbackRepository;
+    }
+
+    // What one rating given at createdAt contributes to decayed_weight
+    public double weightOf(LocalDateTime createdAt) {
+        return Math.exp(decayRate() * secondsSinceEpoch(createdAt));
+    }
+
+    // A user without feedback, or whose weights are not backfilled yet, scores the prior mean
+    public double score(UserRating rating, LocalDateTime now) {
+        if (rating == null || rating.getDecayedWeight() == null || rating.getDecayedSum() == null) {
+            return priorMean;
+        }
+        double decay = Math.exp(-decayRate() * secondsSinceEpoch(now));
+        double weight = Math.max(0.0, rating.getDecayedWeight() * decay);
+        double sum = Math.max(0.0, rating.getDecayedSum() * decay);
+        return (priorWeight * priorMean + sum) / (priorWeight + weight);
+    }
+
+    public double getReputation(Long userId) {
+        return score(userRatingRepository.findById(userId).orElse(null), LocalDateTime.now());
+    }
+
+    // One query for the whole list
+    public Map<Long, Double> getReputations(Collection<Long> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Double> reputations = new HashMap<>();
+        for (Long userId : userIds) {
+            reputations.put(userId, priorMean);
+        }
+        for (UserRating rating : userRatingRepository.findAllById(userIds)) {
+            reputations.put(rating.getUserId(), score(rating, now));
+        }
+        return reputations;
+    }
+
+    // Sets the decayed totals of the given aggregates from the feedbacks table, for rows created
+    // before reputation existed or built from scratch by FeedbackService
+    public void computeFromFeedback(Collection<UserRating> ratings) {
+        if (ratings.isEmpty()) {
+            return;
+        }
+        Map<Long, UserRating> byUser = new HashMap<>();
+        for (UserRating rating : ratings) {
+            rating.setDecayedWeight(0.0);
+            rating.setDecayedSum(0.0);
+            byUser.put(rating.getUserId(), rating);
+        }
+        for (Object[] row : feedbackRepository.findRatingsByRecipientIds(byUser.keySet())) {
+            UserRating rating = byUser.get((Long) row[0]);
+            double weight = weightOf((LocalDateTime) row[2]);
+            rating.setDecayedWeight(rating.getDecayedWeight() + weight);
+            rating.setDecayedSum(rating.getDecayedSum() + weight * ((Number) row[1]).intValue());
+        }
+    }
+
+    // Fills in aggregates whose decayed totals are still null, a batch per query
+    @Transactional
+    public int backfill() {
+        int updated = 0;
+        while (true) {
+            List<UserRating> batch = userRatingRepository.findWithoutReputation(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return updated;
+            }
+            computeFromFeedback(batch);
+            userRatingRepository.saveAllAndFlush(batch);
+            updated += batch.size();
+        }
+    }
+
+    private double decayRate() {
+        return Math.log(2) / (halfLifeDays * 86_400.0);
+    }
+
+    private static double secondsSinceEpoch(LocalDateTime time) {
+        return Duration.between(EPOCH, time).toMillis() / 1000.0;
+    }
+}
@@ -1,25 +1,54 @@
 package com.SkillsSwap.skillswap.service;
 
+import com.SkillsSwap.skillswap.dto.SkillDTO;
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
 import com.SkillsSwap.skillswap.exception.ResourceNotFoundException;
 import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.User;
 import com.SkillsSwap.skillswap.repository.SkillRepository;
 import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.Bm25Index;
+import com.SkillsSwap.skillswap.search.SkillFuzzyIndex;
+import com.SkillsSwap.skillswap.search.SkillFuzzyIndex.FuzzyMatch;
+import com.SkillsSwap.skillswap.search.SkillNameCompletionIndex;
+import com.SkillsSwap.skillswap.search.SkillRankedSearchIndex;
+import com.SkillsSwap.skillswap.search.SkillSearchIndex;
+import com.SkillsSwap.skillswap.search.SkillSearchPage;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class SkillService {
 
     private final SkillRepository skillRepository;
     private final UserRepository userRepository;
-
-    public SkillService(SkillRepository skillRepository, UserRepository userRepository) {
+    private final SkillSearchIndex skillSearchIndex;
+    private final SkillNameCompletionIndex skillNameCompletionIndex;
+    private final SkillFuzzyIndex skillFuzzyIndex;
+    private final SkillRankedSearchIndex skillRankedSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SkillService(SkillRepository skillRepository,
+                       UserRepository userRepository,
+                       SkillSearchIndex skillSearchIndex,
+                       SkillNameCompletionIndex skillNameCompletionIndex,
+                       SkillFuzzyIndex skillFuzzyIndex,
+                       SkillRankedSearchIndex skillRankedSearchIndex,
+                       ApplicationEventPublisher eventPublisher) {
         this.skillRepository = skillRepository;
         this.userRepository = userRepository;
+        this.skillSearchIndex = skillSearchIndex;
+        this.skillNameCompletionIndex = skillNameCompletionIndex;
+        this.skillFuzzyIndex = skillFuzzyIndex;
+        this.skillRankedSearchIndex = skillRankedSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Skill> getAllSkills() {
@@ -31,36 +60,104 @@ public class SkillService {
                 .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
     }
 
+    // Loads the skill with its owner
     public Optional<Skill> findSkillById(Long id) {
-        return skillRepository.findById(id);
+        return skillRepository.findWithOwnerById(id);
+    }
+
+    public long countSkills() {
+        return skillRepository.count();
+    }
+
+    public long countPendingApprovalSkills() {
+        return skillRepository.countByIsApproved(false);
+    }
+
+    // Listings and searches are read as DTO projections joined with the owner, one statement
+    // per call regardless of how many skills come back
+    public List<SkillDTO> getSkillsByUser(User user) {
+        return skillRepository.findDTOsByUserId(user.getId());
+    }
+
+    public List<SkillDTO> getOfferedSkillsByUser(User user) {
+        return skillRepository.findDTOsByUserIdAndIsOffered(user.getId(), true);
+    }
+
+    public List<SkillDTO> getWantedSkillsByUser(User user) {
+        return skillRepository.findDTOsByUserIdAndIsOffered(user.getId(), false);
+    }
+
+    // Substring searches resolve ids from the in-memory n-gram index and only hit the
+    // database for a primary key lookup; until the index is built they fall back to LIKE
+    public List<SkillDTO> searchSkillsByName(String name) {
+        if (!skillSearchIndex.isReady()) {
+            return skillRepository.findDTOsByNameContainingIgnoreCase(name);
+        }
+        return findAllByIdInOrder(skillSearchIndex.searchByName(name));
     }
 
-    public List<Skill> getSkillsByUser(User user) {
-        return skillRepository.findByUser(user);
+    public List<SkillDTO> searchOfferedSkillsByName(String name) {
+        if (!skillSearchIndex.isReady()) {
+            return skillRepository.findDTOsByNameContainingAndIsOffered(name, true);
+        }
+        return findAllByIdInOrder(skillSearchIndex.searchByName(name, true));
     }
 
-    public List<Skill> getOfferedSkillsByUser(User user) {
-        return skillRepository.findByUserAndIsOffered(user, true);
+    public List<SkillDTO> searchWantedSkillsByName(String name) {
+        if (!skillSearchIndex.isReady()) {
+            return skillRepository.findDTOsByNameContainingAndIsOffered(name, false);
+        }
+        return findAllByIdInOrder(skillSearchIndex.searchByName(name, false));
     }
 
-    public List<Skill> getWantedSkillsByUser(User user) {
-        return skillRepository.findByUserAndIsOffered(user, false);
+    public List<FuzzyMatch> suggestSkillNames(String name, int maxDistance, int limit) {
+        return skillFuzzyIndex.search(name, maxDistance, limit);
     }
 
-    public List<Skill> searchSkillsByName(String name) {
-        return skillRepository.findByNameContainingIgnoreCase(name);
+    // Approved skills whose names are within maxDistance edits, best matches first
+    public List<SkillDTO> fuzzySearchSkillsByName(String name, int maxDistance, int limit) {
+        List<Long> rankedIds = skillFuzzyIndex.search(name, maxDistance, limit).stream()
+                .flatMap(match -> match.skillIds().stream())
+                .collect(Collectors.toList());
+        return findAllByIdInOrder(rankedIds);
     }
 
-    public List<Skill> searchOfferedSkillsByName(String name) {
-        return skillRepository.findByNameContainingAndIsOffered(name, true);
+    // Approved skills ranked by BM25 relevance over name and description
+    public SkillSearchPage searchSkillsRanked(String query, int page, int size) {
+        Bm25Index.Result result = skillRankedSearchIndex.search(query, page, size);
+        List<Long> rankedIds = result.hits().stream()
+                .map(Bm25Index.Hit::id)
+                .collect(Collectors.toList());
+        return new SkillSearchPage(page, size, result.totalHits(), findAllByIdInOrder(rankedIds));
     }
 
-    public List<Skill> searchWantedSkillsByName(String name) {
-        return skillRepository.findByNameContainingAndIsOffered(name, false);
+    private List<SkillDTO> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SkillDTO> skillsById = skillRepository.findDTOsByIdIn(ids).stream()
+                .collect(Collectors.toMap(SkillDTO::getId, skill -> skill));
+        return ids.stream()
+                .map(skillsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public List<String> getAllDistinctSkillNames() {
-        return skillRepository.findAllDistinctSkillNames();
+        if (!skillNameCompletionIndex.isReady()) {
+            return skillRepository.findAllDistinctSkillNames();
+        }
+        return skillNameCompletionIndex.allNames();
+    }
+
+    public List<String> completeSkillName(String prefix, int limit) {
+        if (!skillNameCompletionIndex.isReady()) {
+            return skillRepository.findAllDistinctSkillNames().stream()
+                    .filter(name -> name.toLowerCase().startsWith(prefix.toLowerCase()))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+        return skillNameCompletionIndex.complete(prefix, limit);
     }
 
     @Transactional
@@ -76,12 +173,14 @@ public class SkillService {
             skill.setApproved(true);
         }
 
-        return skillRepository.save(skill);
+        Skill savedSkill = skillRepository.save(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(savedSkill));
+        return savedSkill;
     }
 
     @Transactional
     public Skill updateSkill(Skill skill) {
-        Skill existingSkill = skillRepository.findById(skill.getId())
+        Skill existingSkill = skillRepository.findWithOwnerById(skill.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", skill.getId()));
 
         existingSkill.setName(skill.getName());
@@ -94,15 +193,17 @@ public class SkillService {
 
         existingSkill.setOffered(skill.isOffered());
 
-        return skillRepository.save(existingSkill);
+        Skill savedSkill = skillRepository.save(existingSkill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(savedSkill));
+        return savedSkill;
     }
 
     @Transactional
     public void deleteSkill(Long id) {
-        if (!skillRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Skill", "id", id);
-        }
-        skillRepository.deleteById(id);
+        Skill skill = skillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
+        skillRepository.delete(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.deleted(skill));
     }
 
     @Transactional
@@ -111,6 +212,7 @@ public class SkillService {
                 .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
         skill.setApproved(true);
         skillRepository.save(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(skill));
     }
 
     @Transactional
@@ -119,9 +221,10 @@ public class SkillService {
                 .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
         skill.setApproved(false);
         skillRepository.save(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(skill));
     }
 
-    public List<Skill> getPendingApprovalSkills() {
-        return skillRepository.findByIsApproved(false);
+    public List<SkillDTO> getPendingApprovalSkills() {
+        return skillRepository.findDTOsByIsApproved(false);
     }
 }
@@ -0,0 +1,101 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Moves PENDING requests older than pending-days to EXPIRED. Each batch is its own short
+// transaction: lock the oldest batch-size rows through the (status, request_date) index, expire
+// them with one conditional UPDATE, commit. A run stops after max-batches-per-run or when its
+// lease is about to run out, and only the node holding the lease runs at all.
+@Component
+public class SwapRequestExpiryJob {
+
+    private static final String LEASE_NAME = "swap-request-expiry";
+
+    private final SwapRequestRepository swapRequestRepository;
+    private final LeaseService leaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${swap-requests.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${swap-requests.expiry.pending-days:14}")
+    private long pendingDays;
+
+    @Value("${swap-requests.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${swap-requests.expiry.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${swap-requests.expiry.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public SwapRequestExpiryJob(SwapRequestRepository swapRequestRepository,
+                                LeaseService leaseService,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.swapRequestRepository = swapRequestRepository;
+        this.leaseService = leaseService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${swap-requests.expiry.interval-ms:300000}",
+               initialDelayString = "${swap-requests.expiry.interval-ms:300000}")
+    public void expireStaleRequests() {
+        if (!enabled || !leaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+        try {
+            // Leave a margin so the last batch commits while the lease is still ours
+            long deadline = System.nanoTime() + Duration.ofSeconds(leaseSeconds).toNanos() / 2;
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(pendingDays);
+            int expired = 0;
+            for (int batch = 0; batch < maxBatchesPerRun && System.nanoTime() < deadline; batch++) {
+                Integer count = transactionTemplate.execute(status -> expireBatch(cutoff));
+                expired += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            if (expired > 0) {
+                System.out.println("Expired " + expired + " pending swap requests older than " + pendingDays + " days");
+            }
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    private int expireBatch(LocalDateTime cutoff) {
+        List<Object[]> rows = swapRequestRepository.lockOldestByStatus(
+                SwapStatus.PENDING, cutoff, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        int updated = swapRequestRepository.transitionStatuses(ids, SwapStatus.EXPIRED, null, SwapStatus.PENDING);
+        for (Object[] row : rows) {
+            eventPublisher.publishEvent(new SwapRequestChangedEvent(
+                    (Long) row[0], (Long) row[1], (Long) row[2], SwapStatus.PENDING, SwapStatus.EXPIRED));
+        }
+        return updated;
+    }
+}
@@ -1,6 +1,9 @@
 package com.SkillsSwap.skillswap.service;
 
+import com.SkillsSwap.skillswap.dto.SwapRequestDTO;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
 import com.SkillsSwap.skillswap.exception.BadRequestException;
+import com.SkillsSwap.skillswap.exception.ConflictException;
 import com.SkillsSwap.skillswap.exception.ResourceNotFoundException;
 import com.SkillsSwap.skillswap.model.Skill;
 import com.SkillsSwap.skillswap.model.SwapRequest;
@@ -9,12 +12,27 @@ import com.SkillsSwap.skillswap.model.User;
 import com.SkillsSwap.skillswap.repository.SkillRepository;
 import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
 import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class SwapRequestService {
@@ -22,26 +40,45 @@ public class SwapRequestService {
     private final SwapRequestRepository swapRequestRepository;
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Bounds used when a listing has no from/to filter; both fit Postgres and H2 timestamps
+    private static final LocalDateTime EARLIEST_REQUEST_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_REQUEST_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<SwapRequest> NEWEST_FIRST = Comparator
+            .comparing(SwapRequest::getRequestDate).reversed()
+            .thenComparing(SwapRequest::getId, Comparator.reverseOrder());
+    private static final Comparator<SwapRequestDTO> NEWEST_DTO_FIRST = Comparator
+            .comparing(SwapRequestDTO::getRequestDate).reversed()
+            .thenComparing(SwapRequestDTO::getId, Comparator.reverseOrder());
 
     public SwapRequestService(SwapRequestRepository swapRequestRepository, 
                              UserRepository userRepository,
-                             SkillRepository skillRepository) {
+                             SkillRepository skillRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.swapRequestRepository = swapRequestRepository;
         this.userRepository = userRepository;
         this.skillRepository = skillRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<SwapRequest> getAllSwapRequests() {
         return swapRequestRepository.findAll();
     }
 
+    // Loads the request with both users and both skills, i.e. everything its DTO shows
     public SwapRequest getSwapRequestById(Long id) {
-        return swapRequestRepository.findById(id)
+        return swapRequestRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SwapRequest", "id", id));
     }
 
     public Optional<SwapRequest> findSwapRequestById(Long id) {
-        return swapRequestRepository.findById(id);
+        return swapRequestRepository.findDetailById(id);
+    }
+
+    // Loads the request with its requester and provider only, enough for a permission check
+    public Optional<SwapRequest> findSwapRequestParticipantsById(Long id) {
+        return swapRequestRepository.findWithParticipantsById(id);
     }
 
     public List<SwapRequest> getSwapRequestsByRequester(User requester) {
@@ -53,11 +90,17 @@ public class SwapRequestService {
     }
 
     public List<SwapRequest> getSwapRequestsByUser(User user) {
-        return swapRequestRepository.findByUser(user);
+        return mergeNewestFirst(
+                swapRequestRepository.findByRequesterOrderByRequestDateDescIdDesc(user),
+                swapRequestRepository.findByProviderOrderByRequestDateDescIdDesc(user),
+                NEWEST_FIRST, Integer.MAX_VALUE);
     }
 
     public List<SwapRequest> getSwapRequestsByUserAndStatus(User user, SwapStatus status) {
-        return swapRequestRepository.findByUserAndStatus(user, status);
+        return mergeNewestFirst(
+                swapRequestRepository.findByRequesterAndStatusOrderByRequestDateDescIdDesc(user, status),
+                swapRequestRepository.findByProviderAndStatusOrderByRequestDateDescIdDesc(user, status),
+                NEWEST_FIRST, Integer.MAX_VALUE);
     }
 
     public List<SwapRequest> getSwapRequestsByStatus(SwapStatus status) {
@@ -99,68 +142,240 @@ public class SwapRequestService {
         swapRequest.setRequestDate(LocalDateTime.now());
         swapRequest.setStatus(SwapStatus.PENDING);
 
-        return swapRequestRepository.save(swapRequest);
+        SwapRequest savedSwapRequest = swapRequestRepository.save(swapRequest);
+        eventPublisher.publishEvent(SwapRequestChangedEvent.of(savedSwapRequest, null));
+        return savedSwapRequest;
     }
 
-    @Transactional
+    @Transactional(noRollbackFor = ConflictException.class)
     public SwapRequest acceptSwapRequest(Long id) {
-        SwapRequest swapRequest = swapRequestRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SwapRequest", "id", id));
-
-        if (swapRequest.getStatus() != SwapStatus.PENDING) {
-            throw new BadRequestException("Swap request is not in PENDING status. Current status: " + swapRequest.getStatus());
-        }
+        return transition(id, SwapStatus.ACCEPTED, true, SwapStatus.PENDING);
+    }
 
-        swapRequest.setStatus(SwapStatus.ACCEPTED);
-        swapRequest.setResponseDate(LocalDateTime.now());
+    @Transactional(noRollbackFor = ConflictException.class)
+    public SwapRequest rejectSwapRequest(Long id) {
+        return transition(id, SwapStatus.REJECTED, true, SwapStatus.PENDING);
+    }
 
-        return swapRequestRepository.save(swapRequest);
+    @Transactional(noRollbackFor = ConflictException.class)
+    public SwapRequest completeSwapRequest(Long id) {
+        return transition(id, SwapStatus.COMPLETED, false, SwapStatus.ACCEPTED);
     }
 
-    @Transactional
-    public SwapRequest rejectSwapRequest(Long id) {
-        SwapRequest swapRequest = swapRequestRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SwapRequest", "id", id));
+    @Transactional(noRollbackFor = ConflictException.class)
+    public SwapRequest cancelSwapRequest(Long id) {
+        return transition(id, SwapStatus.CANCELLED, false, SwapStatus.PENDING, SwapStatus.ACCEPTED);
+    }
 
-        if (swapRequest.getStatus() != SwapStatus.PENDING) {
-            throw new BadRequestException("Swap request is not in PENDING status. Current status: " + swapRequest.getStatus());
+    // Tries one conditional UPDATE per allowed source status, so the check and the write are a
+    // single statement and the status that was actually replaced is known for the event. When
+    // none matches, the request is either missing (404) or in another status, possibly because a
+    // concurrent transition won (409). A lost race has written nothing, so it commits rather
+    // than rolls back, which also keeps an enclosing transaction usable.
+    private SwapRequest transition(Long id, SwapStatus target, boolean setResponseDate, SwapStatus... allowedFrom) {
+        LocalDateTime responseDate = setResponseDate ? LocalDateTime.now() : null;
+        for (SwapStatus expected : allowedFrom) {
+            if (swapRequestRepository.transitionStatus(id, target, responseDate, expected) == 1) {
+                SwapRequest updatedSwapRequest = getSwapRequestById(id);
+                eventPublisher.publishEvent(SwapRequestChangedEvent.of(updatedSwapRequest, expected));
+                return updatedSwapRequest;
+            }
         }
 
-        swapRequest.setStatus(SwapStatus.REJECTED);
-        swapRequest.setResponseDate(LocalDateTime.now());
-
-        return swapRequestRepository.save(swapRequest);
+        SwapRequest current = getSwapRequestById(id);
+        if (allowedFrom.length == 1) {
+            throw new ConflictException("Swap request is not in " + allowedFrom[0] + " status. Current status: " + current.getStatus());
+        }
+        throw new ConflictException("Swap request cannot be " + target.name().toLowerCase() + " in its current status: " + current.getStatus());
     }
 
+    // Applies one action to many requests in a single transaction: one locking read for all
+    // ids, then one conditional UPDATE per source status. Every id gets its own result, in the
+    // order given; duplicates are reported once.
     @Transactional
-    public SwapRequest completeSwapRequest(Long id) {
-        SwapRequest swapRequest = swapRequestRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SwapRequest", "id", id));
+    public List<BulkResult> bulkTransition(Long userId, BulkAction action, Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, Object[]> states = new HashMap<>();
+        for (Object[] row : swapRequestRepository.lockTransitionStates(distinctIds)) {
+            states.put((Long) row[0], row);
+        }
 
-        if (swapRequest.getStatus() != SwapStatus.ACCEPTED) {
-            throw new BadRequestException("Swap request is not in ACCEPTED status. Current status: " + swapRequest.getStatus());
+        Map<Long, BulkResult> results = new LinkedHashMap<>();
+        Map<SwapStatus, List<Long>> eligible = new EnumMap<>(SwapStatus.class);
+        for (Long id : distinctIds) {
+            Object[] state = states.get(id);
+            if (state == null) {
+                results.put(id, new BulkResult(id, BulkOutcome.NOT_FOUND, null));
+                continue;
+            }
+            Long requesterId = (Long) state[1];
+            Long providerId = (Long) state[2];
+            SwapStatus status = (SwapStatus) state[3];
+            boolean permitted = action == BulkAction.CANCEL
+                    ? userId.equals(requesterId) || userId.equals(providerId)
+                    : userId.equals(providerId);
+            if (!permitted) {
+                results.put(id, new BulkResult(id, BulkOutcome.FORBIDDEN, null));
+            } else if (action.allowedFrom.contains(status)) {
+                eligible.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+                results.put(id, null);
+            } else {
+                results.put(id, new BulkResult(id, BulkOutcome.CONFLICT, status));
+            }
         }
 
-        swapRequest.setStatus(SwapStatus.COMPLETED);
+        // The rows are locked, so each UPDATE matches every id in its group
+        LocalDateTime responseDate = action.setsResponseDate ? LocalDateTime.now() : null;
+        for (Map.Entry<SwapStatus, List<Long>> group : eligible.entrySet()) {
+            swapRequestRepository.transitionStatuses(group.getValue(), action.target, responseDate, group.getKey());
+            for (Long id : group.getValue()) {
+                Object[] state = states.get(id);
+                results.put(id, new BulkResult(id, BulkOutcome.APPLIED, action.target));
+                eventPublisher.publishEvent(new SwapRequestChangedEvent(
+                        id, (Long) state[1], (Long) state[2], group.getKey(), action.target));
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
 
-        return swapRequestRepository.save(swapRequest);
+    // One page of a listing, newest first. cursor is the nextCursor of the previous page or null
+    // for the first; status, from and to (inclusive) are optional filters on status and
+    // requestDate. userId is ignored for Listing.ALL. Rows come back as DTOs from the listing
+    // projections, so serving a page never loads the users or skills behind it.
+    public SwapRequestPage getSwapRequestPage(Listing listing, Long userId, SwapStatus status,
+                                              LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        LocalDateTime fromDate = from != null ? from : EARLIEST_REQUEST_DATE;
+        LocalDateTime afterDate = to != null ? to : LATEST_REQUEST_DATE;
+        Long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterDate = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        // One row more than asked for tells whether there is a next page
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<SwapRequestDTO> swapRequests = switch (listing) {
+            case PARTICIPANT -> mergeNewestFirst(
+                    requesterPage(userId, status, fromDate, afterDate, afterId, pageable),
+                    providerPage(userId, status, fromDate, afterDate, afterId, pageable),
+                    NEWEST_DTO_FIRST, limit + 1);
+            case REQUESTER -> requesterPage(userId, status, fromDate, afterDate, afterId, pageable);
+            case PROVIDER -> providerPage(userId, status, fromDate, afterDate, afterId, pageable);
+            case ALL -> status != null
+                    ? swapRequestRepository.findPageByStatus(status, fromDate, afterDate, afterId, pageable)
+                    : swapRequestRepository.findPage(fromDate, afterDate, afterId, pageable);
+        };
+
+        if (swapRequests.size() <= limit) {
+            return new SwapRequestPage(swapRequests, null);
+        }
+        List<SwapRequestDTO> page = new ArrayList<>(swapRequests.subList(0, limit));
+        SwapRequestDTO last = page.get(limit - 1);
+        return new SwapRequestPage(page, encodeCursor(last.getRequestDate(), last.getId()));
     }
 
-    @Transactional
-    public SwapRequest cancelSwapRequest(Long id) {
-        SwapRequest swapRequest = swapRequestRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SwapRequest", "id", id));
+    private List<SwapRequestDTO> requesterPage(Long userId, SwapStatus status, LocalDateTime from,
+                                               LocalDateTime afterDate, Long afterId, Pageable pageable) {
+        return status != null
+                ? swapRequestRepository.findPageByRequesterAndStatus(userId, status, from, afterDate, afterId, pageable)
+                : swapRequestRepository.findPageByRequester(userId, from, afterDate, afterId, pageable);
+    }
 
-        if (swapRequest.getStatus() != SwapStatus.PENDING && swapRequest.getStatus() != SwapStatus.ACCEPTED) {
-            throw new BadRequestException("Swap request cannot be cancelled in its current status: " + swapRequest.getStatus());
+    private List<SwapRequestDTO> providerPage(Long userId, SwapStatus status, LocalDateTime from,
+                                              LocalDateTime afterDate, Long afterId, Pageable pageable) {
+        return status != null
+                ? swapRequestRepository.findPageByProviderAndStatus(userId, status, from, afterDate, afterId, pageable)
+                : swapRequestRepository.findPageByProvider(userId, from, afterDate, afterId, pageable);
+    }
+
+    // Merges two lists already in newestFirst order, i.e. (requestDate DESC, id DESC), into the
+    // first limit rows of their union. A request a user sent to themselves is in both lists and
+    // is kept once.
+    private static <T> List<T> mergeNewestFirst(List<T> sent, List<T> received, Comparator<T> newestFirst, int limit) {
+        List<T> merged = new ArrayList<>(Math.min(limit, sent.size() + received.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < sent.size() || j < received.size())) {
+            T next;
+            if (j >= received.size()) {
+                next = sent.get(i++);
+            } else if (i >= sent.size()) {
+                next = received.get(j++);
+            } else {
+                int order = newestFirst.compare(sent.get(i), received.get(j));
+                next = order <= 0 ? sent.get(i++) : received.get(j++);
+                if (order == 0) {
+                    j++;
+                }
+            }
+            merged.add(next);
         }
+        return merged;
+    }
 
-        swapRequest.setStatus(SwapStatus.CANCELLED);
+    // The cursor is opaque to clients: base64url of "requestDate,id" of the last row served
+    private static String encodeCursor(LocalDateTime requestDate, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((requestDate + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
 
-        return swapRequestRepository.save(swapRequest);
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
     }
 
     public long countSwapRequestsByStatus(SwapStatus status) {
         return swapRequestRepository.countByStatus(status);
     }
+
+    // Which requests a listing covers: the user's as either party, sent, received, or everyone's
+    public enum Listing {
+        PARTICIPANT,
+        REQUESTER,
+        PROVIDER,
+        ALL
+    }
+
+    // nextCursor is null on the last page
+    public record SwapRequestPage(List<SwapRequestDTO> swapRequests, String nextCursor) {
+    }
+
+    // ACCEPT and REJECT are for the provider, CANCEL for either participant, as with the
+    // single-request endpoints
+    public enum BulkAction {
+        ACCEPT(SwapStatus.ACCEPTED, true, EnumSet.of(SwapStatus.PENDING)),
+        REJECT(SwapStatus.REJECTED, true, EnumSet.of(SwapStatus.PENDING)),
+        CANCEL(SwapStatus.CANCELLED, false, EnumSet.of(SwapStatus.PENDING, SwapStatus.ACCEPTED));
+
+        private final SwapStatus target;
+        private final boolean setsResponseDate;
+        private final Set<SwapStatus> allowedFrom;
+
+        BulkAction(SwapStatus target, boolean setsResponseDate, Set<SwapStatus> allowedFrom) {
+            this.target = target;
+            this.setsResponseDate = setsResponseDate;
+            this.allowedFrom = allowedFrom;
+        }
+    }
+
+    public enum BulkOutcome {
+        APPLIED,
+        CONFLICT,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    // status is the request's status after the call, or null when the caller may not see it
+    public record BulkResult(Long swapRequestId, BulkOutcome outcome, SwapStatus status) {
+    }
 }
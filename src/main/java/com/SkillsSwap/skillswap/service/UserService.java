@@ -1,25 +1,53 @@
 package com.SkillsSwap.skillswap.service;
 
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
 import com.SkillsSwap.skillswap.exception.DuplicateResourceException;
 import com.SkillsSwap.skillswap.exception.ResourceNotFoundException;
 import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
 import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.GeoHash;
+import com.SkillsSwap.skillswap.search.UserLocationIndex;
+import com.SkillsSwap.skillswap.search.UserLocationIndex.Neighbor;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.MatchMode;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSkillBitmapIndex userSkillBitmapIndex;
+    private final UserLocationIndex userLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InboxCounterService inboxCounterService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository,
+                      PasswordEncoder passwordEncoder,
+                      UserSkillBitmapIndex userSkillBitmapIndex,
+                      UserLocationIndex userLocationIndex,
+                      ApplicationEventPublisher eventPublisher,
+                      InboxCounterService inboxCounterService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userSkillBitmapIndex = userSkillBitmapIndex;
+        this.userLocationIndex = userLocationIndex;
+        this.eventPublisher = eventPublisher;
+        this.inboxCounterService = inboxCounterService;
     }
 
     @Transactional
@@ -32,7 +60,10 @@ public class UserService {
         user.setAdmin(false);
         user.setActive(true);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        inboxCounterService.createCounters(savedUser.getId());
+        eventPublisher.publishEvent(UserChangedEvent.saved(savedUser));
+        return savedUser;
     }
 
     public User getUserById(Long id) {
@@ -53,21 +84,147 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
+    public List<User> findUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     public List<User> getAllPublicUsers() {
         return userRepository.findByIsPublicTrueAndIsActiveTrue();
     }
 
     public List<User> searchUsersByOfferedSkill(String skillName) {
-        return userRepository.findByOfferedSkillsContaining(skillName);
+        if (!userSkillBitmapIndex.isReady()) {
+            return userRepository.findByOfferedSkillsContaining(skillName);
+        }
+        return searchUsersBySkills(List.of(skillName), List.of(), MatchMode.ALL);
     }
 
     public List<User> searchUsersByWantedSkill(String skillName) {
-        return userRepository.findByWantedSkillsContaining(skillName);
+        if (!userSkillBitmapIndex.isReady()) {
+            return userRepository.findByWantedSkillsContaining(skillName);
+        }
+        return searchUsersBySkills(List.of(), List.of(skillName), MatchMode.ALL);
+    }
+
+    // Public, active users holding all (or any) of the given offered and wanted skills
+    public List<User> searchUsersBySkills(List<String> offeredSkills, List<String> wantedSkills, MatchMode mode) {
+        if (!userSkillBitmapIndex.isReady()) {
+            return findVisibleUsersBySkills(offeredSkills, wantedSkills, mode);
+        }
+        List<Long> userIds = userSkillBitmapIndex.findVisibleUsers(offeredSkills, wantedSkills, mode);
+        return userRepository.findAllById(userIds);
+    }
+
+    // As above, ordered by weekly hours shared with the given availability and limited to users
+    // sharing at least minOverlapHours
+    public List<User> searchUsersBySkills(List<String> offeredSkills, List<String> wantedSkills, MatchMode mode,
+                                          WeeklyAvailability availability, int minOverlapHours) {
+        if (!userSkillBitmapIndex.isReady()) {
+            List<User> users = findVisibleUsersBySkills(offeredSkills, wantedSkills, mode);
+            if (availability == null) {
+                return users;
+            }
+            return users.stream()
+                    .filter(user -> availability.overlapHours(user.getWeeklyAvailability()) >= minOverlapHours)
+                    .sorted(Comparator.comparingInt((User user) -> -availability.overlapHours(user.getWeeklyAvailability()))
+                            .thenComparing(User::getId))
+                    .collect(Collectors.toList());
+        }
+        List<Long> userIds = userSkillBitmapIndex.findVisibleUsers(offeredSkills, wantedSkills, mode,
+                availability, minOverlapHours);
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return userIds.stream()
+                .map(usersById::get)
+                .filter(user -> user != null)
+                .collect(Collectors.toList());
+    }
+
+    // The index's skill filter as one LIKE query per term, for while the index is still loading
+    private List<User> findVisibleUsersBySkills(List<String> offeredSkills, List<String> wantedSkills, MatchMode mode) {
+        Map<Long, User> matched = null;
+        for (String term : offeredSkills) {
+            matched = combine(matched, userRepository.findByOfferedSkillsContaining(term), mode);
+        }
+        for (String term : wantedSkills) {
+            matched = combine(matched, userRepository.findByWantedSkillsContaining(term), mode);
+        }
+        if (matched == null) {
+            return userRepository.findByIsPublicTrueAndIsActiveTrue();
+        }
+        return matched.values().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Long, User> combine(Map<Long, User> matched, List<User> users, MatchMode mode) {
+        Map<Long, User> byId = users.stream()
+                .collect(Collectors.toMap(User::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        if (matched == null) {
+            return byId;
+        }
+        if (mode == MatchMode.ALL) {
+            matched.keySet().retainAll(byId.keySet());
+        } else {
+            byId.forEach(matched::putIfAbsent);
+        }
+        return matched;
+    }
+
+    // Visible users around a point, nearest first: everyone within radiusKm, or the nearest
+    // `nearest` users (no further than radiusKm when both are given). Skill and availability
+    // filters narrow the candidates before any distance is computed.
+    public List<NearbyUser> searchUsersNearby(List<String> offeredSkills, List<String> wantedSkills, MatchMode mode,
+                                              WeeklyAvailability availability, int minOverlapHours,
+                                              ProximityQuery proximity, int limit) {
+        if (!userSkillBitmapIndex.isReady() || !userLocationIndex.isReady()) {
+            return findUsersNearby(offeredSkills, wantedSkills, mode, availability, minOverlapHours, proximity, limit);
+        }
+        RoaringBitmap candidates = userSkillBitmapIndex.findVisibleUserBitmap(offeredSkills, wantedSkills, mode,
+                availability, minOverlapHours);
+        double radiusKm = proximity.radiusKm() != null ? proximity.radiusKm() : UserLocationIndex.MAX_RADIUS_KM;
+        List<Neighbor> neighbors = proximity.nearest() != null
+                ? userLocationIndex.findNearest(proximity.latitude(), proximity.longitude(),
+                        Math.min(proximity.nearest(), limit), candidates, radiusKm)
+                : userLocationIndex.findWithinRadius(proximity.latitude(), proximity.longitude(),
+                        radiusKm, candidates, limit);
+
+        Map<Long, User> usersById = userRepository.findAllById(neighbors.stream()
+                        .map(Neighbor::userId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return neighbors.stream()
+                .filter(neighbor -> usersById.containsKey(neighbor.userId()))
+                .map(neighbor -> new NearbyUser(usersById.get(neighbor.userId()), neighbor.distanceKm()))
+                .collect(Collectors.toList());
+    }
+
+    // The same search while either index is still loading: the skill and availability filter
+    // goes through searchUsersBySkills, and each located candidate is measured directly
+    private List<NearbyUser> findUsersNearby(List<String> offeredSkills, List<String> wantedSkills, MatchMode mode,
+                                             WeeklyAvailability availability, int minOverlapHours,
+                                             ProximityQuery proximity, int limit) {
+        double radiusKm = proximity.radiusKm() != null ? proximity.radiusKm() : UserLocationIndex.MAX_RADIUS_KM;
+        int count = proximity.nearest() != null ? Math.min(proximity.nearest(), limit) : limit;
+        List<User> candidates = availability != null && minOverlapHours > 0
+                ? searchUsersBySkills(offeredSkills, wantedSkills, mode, availability, minOverlapHours)
+                : searchUsersBySkills(offeredSkills, wantedSkills, mode);
+        return candidates.stream()
+                .filter(user -> user.getLatitude() != null && user.getLongitude() != null)
+                .map(user -> new NearbyUser(user, GeoHash.distanceKm(proximity.latitude(), proximity.longitude(),
+                        user.getLatitude(), user.getLongitude())))
+                .filter(nearby -> nearby.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(NearbyUser::distanceKm)
+                        .thenComparing(nearby -> nearby.user().getId()))
+                .limit(count)
+                .collect(Collectors.toList());
     }
 
     @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.saved(savedUser));
+        return savedUser;
     }
 
     @Transactional
@@ -76,6 +233,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         user.setActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.saved(user));
     }
 
     @Transactional
@@ -84,6 +242,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         user.setActive(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.saved(user));
     }
 
     @Transactional
@@ -105,4 +264,25 @@ public class UserService {
     public List<User> getAllAdmins() {
         return userRepository.findByIsAdmin(true);
     }
+
+    public long countPublicUsers() {
+        return userRepository.countByIsPublicTrueAndIsActiveTrue();
+    }
+
+    public long countAdmins() {
+        return userRepository.countByIsAdmin(true);
+    }
+
+    public record ProximityQuery(double latitude, double longitude, Double radiusKm, Integer nearest) {
+    }
+
+    public record NearbyUser(User user, double distanceKm) {
+    }
+
+    // RELEVANCE keeps the search's own order (overlap or distance); REPUTATION puts the best
+    // reputation first and keeps that order among equal scores
+    public enum SearchSort {
+        RELEVANCE,
+        REPUTATION
+    }
 }
@@ -0,0 +1,37 @@
+package com.SkillsSwap.skillswap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+// Removes what a test seeded for a set of users: everything that references them, the outbox
+// rows written for those changes and the users themselves. Application contexts are cached and
+// shared between test classes, so a test that leaves rows behind changes what the next one sees.
+public final class SeededUsers {
+
+    private SeededUsers() {
+    }
+
+    public static void delete(JdbcTemplate jdbcTemplate, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String users = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String skills = "SELECT id FROM skills WHERE user_id IN (" + users + ")";
+        String swapRequests = "SELECT id FROM swap_requests WHERE requester_id IN (" + users + ") OR provider_id IN (" + users + ")"
+                + " OR requested_skill_id IN (" + skills + ") OR offered_skill_id IN (" + skills + ")";
+        String feedback = "SELECT id FROM feedbacks WHERE reviewer_id IN (" + users + ") OR recipient_id IN (" + users + ")"
+                + " OR swap_request_id IN (" + swapRequests + ")";
+
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE (aggregate_type = 'Feedback' AND aggregate_id IN (" + feedback + "))"
+                + " OR (aggregate_type = 'SwapRequest' AND aggregate_id IN (" + swapRequests + "))"
+                + " OR (aggregate_type = 'Skill' AND aggregate_id IN (" + skills + "))");
+        jdbcTemplate.update("DELETE FROM feedbacks WHERE id IN (" + feedback + ")");
+        jdbcTemplate.update("DELETE FROM swap_requests WHERE id IN (" + swapRequests + ")");
+        jdbcTemplate.update("DELETE FROM skills WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM user_ratings WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM inbox_counters WHERE user_id IN (" + users + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (" + users + ")");
+    }
+}
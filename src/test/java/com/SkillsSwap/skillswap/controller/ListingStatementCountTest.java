@@ -0,0 +1,147 @@
+package com.SkillsSwap.skillswap.controller;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.Feedback;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.FeedbackRepository;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every listing must run the same number of SQL statements whatever the number of rows it
+// returns. Each seeded row has its own counterpart user and skill, so a converter that touched
+// an association per row would show up as extra statements once more rows are added. The
+// background jobs are switched off so that only the request under test is counted.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "outbox.enabled=false",
+        "swap-requests.expiry.enabled=false",
+        "recommendations.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ListingStatementCountTest {
+
+    private static final int FEW = 3;
+    private static final int MANY = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private String suffix;
+    private User user;
+    private Skill userSkill;
+
+    @BeforeEach
+    void createUser() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("listing-owner-" + suffix, "password", "Owner", "Weekends"));
+        userIds.add(user.getId());
+        userSkill = skillRepository.save(new Skill("Owner Skill " + suffix, "", true, user));
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+        userIds.clear();
+    }
+
+    @Test
+    void listingsIssueTheSameStatementsForFewAndManyRows() throws Exception {
+        Map<String, RequestBuilder> listings = new LinkedHashMap<>();
+        listings.put("my swap requests", get("/api/swap-requests").param("limit", "200").with(asUser()));
+        listings.put("sent swap requests", get("/api/swap-requests/sent").param("limit", "200").with(asUser()));
+        listings.put("received feedback", get("/api/feedback/received").with(asUser()));
+        listings.put("feedback for user", get("/api/feedback/user/" + user.getId()).with(asUser()));
+        listings.put("all feedback", get("/api/feedback/admin/all").with(asAdmin()));
+        listings.put("skills of user", get("/api/skills/user/" + user.getId()).with(asUser()));
+        listings.put("pending skills", get("/api/skills/pending-approval").with(asAdmin()));
+
+        seed(0, FEW);
+        Map<String, Long> few = new LinkedHashMap<>();
+        for (Map.Entry<String, RequestBuilder> listing : listings.entrySet()) {
+            few.put(listing.getKey(), countStatements(listing.getValue()));
+        }
+        seed(FEW, MANY);
+        for (Map.Entry<String, RequestBuilder> listing : listings.entrySet()) {
+            assertEquals(few.get(listing.getKey()), countStatements(listing.getValue()),
+                    "statements for " + listing.getKey() + " with " + FEW + " vs " + MANY + " rows");
+        }
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // One counterpart per row, with its own pending skill, a request from the user and feedback
+    // from the counterpart; the user also gets one wanted skill per row
+    private void seed(int from, int to) {
+        for (int i = from; i < to; i++) {
+            User counterpart = userRepository.save(new User(
+                    "listing-counterpart-" + suffix + "-" + i, "password", "Counterpart", "Weekends"));
+            userIds.add(counterpart.getId());
+            Skill skill = new Skill("Counterpart Skill " + suffix + "-" + i, "", true, counterpart);
+            skill.setApproved(false);
+            skill = skillRepository.save(skill);
+            skillRepository.save(new Skill("Wanted Skill " + suffix + "-" + i, "", false, user));
+            SwapRequest swapRequest = swapRequestRepository.save(
+                    new SwapRequest(user, counterpart, skill, userSkill, "seed " + i));
+            feedbackRepository.save(new Feedback(counterpart, user, swapRequest, 4, "seed " + i));
+        }
+    }
+
+    private RequestPostProcessor asUser() {
+        return user(user.getUsername());
+    }
+
+    private RequestPostProcessor asAdmin() {
+        return user(user.getUsername()).roles("USER", "ADMIN");
+    }
+}
@@ -0,0 +1,54 @@
+package com.SkillsSwap.skillswap.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Rate limiting is switched off for the other tests; here it is on, with a login burst of two and
+// one token a minute, so the third attempt from an address is turned away before it reaches the
+// authentication manager
+@SpringBootTest(properties = {
+        "rate-limits.enabled=true",
+        "rate-limits.login.capacity=2",
+        "rate-limits.login.refill-per-minute=1"
+})
+@AutoConfigureMockMvc
+class LoginRateLimitTest {
+
+    private static final String BAD_LOGIN = "{\"username\": \"nobody-here\", \"password\": \"wrong-password\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginBeyondTheBurstIsAnswered429WithRetryAfter() throws Exception {
+        mockMvc.perform(login("10.0.0.1")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.1")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+
+        // Another address has a bucket of its own
+        mockMvc.perform(login("10.0.0.2")).andExpect(status().isUnauthorized());
+    }
+
+    private static MockHttpServletRequestBuilder login(String remoteAddress) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BAD_LOGIN)
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+}
@@ -0,0 +1,121 @@
+package com.SkillsSwap.skillswap.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Slots are compared as "day:hour" strings (Monday = 0), so a failure shows which hours differ
+class WeeklyAvailabilityTest {
+
+    @Test
+    void parsesDayAndHourRanges() {
+        assertEquals(hours(0, 5, 18, 22), slots("Mon-Fri 18-22"));
+        assertEquals(hours(5, 6, 9, 17), slots("Saturday 9am-5pm"));
+        assertEquals(hours(2, 3, 9, 11), slots("Wed 9:00 - 10:30"));
+    }
+
+    @Test
+    void combinesClausesAndNamedPartsOfTheDay() {
+        List<String> expected = hours(0, 5, 18, 22);
+        expected.addAll(hours(5, 6, 10, 14));
+        assertEquals(expected, slots("Weekday evenings, Sat 10-14"));
+        assertEquals(hours(0, 7, 6, 12), slots("Mornings"));
+    }
+
+    @Test
+    void wrapsDayAndHourRangesAroundTheWeekAndMidnight() {
+        List<String> expected = new ArrayList<>();
+        for (int day : new int[] {0, 5, 6}) {
+            expected.addAll(hours(day, day + 1, 0, 2));
+            expected.addAll(hours(day, day + 1, 22, 24));
+        }
+        expected.sort(null);
+        List<String> actual = slots("Sat-Mon 22-2");
+        actual.sort(null);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void daysWithoutHoursMeanDaytime() {
+        assertEquals(hours(5, 7, 8, 22), slots("Weekends"));
+    }
+
+    @Test
+    void alwaysCoversTheWholeWeek() {
+        assertEquals(WeeklyAvailability.HOURS_PER_WEEK, WeeklyAvailability.parse("Flexible").hours());
+        assertEquals(WeeklyAvailability.ALWAYS, WeeklyAvailability.parse("24/7"));
+    }
+
+    @Test
+    void unrecognisedOrInvalidTextIsNone() {
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.parse(null));
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.parse("  "));
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.parse("ask me"));
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.parse("13pm-14pm"));
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.parse("25-26"));
+    }
+
+    @Test
+    void invalidPartsOfAClauseAreIgnored() {
+        assertEquals(hours(0, 1, 8, 22), slots("Monday 25-30"));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        WeeklyAvailability availability = WeeklyAvailability.parse("Weekday evenings, Sun 6am-11am");
+        byte[] bytes = availability.toBytes();
+        assertEquals(WeeklyAvailability.BYTES, bytes.length);
+        assertEquals(availability, WeeklyAvailability.fromBytes(bytes));
+        assertArrayEquals(bytes, WeeklyAvailability.fromBytes(bytes).toBytes());
+    }
+
+    @Test
+    void missingOrMalformedStoredSlotsAreNone() {
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.fromBytes(null));
+        assertEquals(WeeklyAvailability.NONE, WeeklyAvailability.fromBytes(new byte[WeeklyAvailability.BYTES - 1]));
+    }
+
+    // A row from before availability_slots existed still reads as its text
+    @Test
+    void legacyUserWithoutSlotsIsParsedFromText() {
+        User user = new User();
+        user.setAvailability("Weekends");
+        ReflectionTestUtils.setField(user, "availabilitySlots", null);
+        assertEquals(WeeklyAvailability.parse("Weekends"), user.getWeeklyAvailability());
+    }
+
+    @Test
+    void overlapCountsSharedHours() {
+        WeeklyAvailability evenings = WeeklyAvailability.parse("Weekday evenings");
+        WeeklyAvailability friday = WeeklyAvailability.parse("Fri 20-23");
+        assertEquals(2, evenings.overlapHours(friday));
+        assertEquals(0, evenings.overlapHours(WeeklyAvailability.parse("Weekends")));
+    }
+
+    private static List<String> slots(String text) {
+        WeeklyAvailability availability = WeeklyAvailability.parse(text);
+        List<String> slots = new ArrayList<>();
+        for (int slot = 0; slot < WeeklyAvailability.HOURS_PER_WEEK; slot++) {
+            if (availability.isAvailable(slot)) {
+                slots.add(slot / 24 + ":" + slot % 24);
+            }
+        }
+        return slots;
+    }
+
+    // Every hour in [fromHour, toHour) of the days in [fromDay, toDay), in slot order
+    private static List<String> hours(int fromDay, int toDay, int fromHour, int toHour) {
+        List<String> slots = new ArrayList<>();
+        for (int day = fromDay; day < toDay; day++) {
+            for (int hour = fromHour; hour < toHour; hour++) {
+                slots.add(day + ":" + hour);
+            }
+        }
+        return slots;
+    }
+}
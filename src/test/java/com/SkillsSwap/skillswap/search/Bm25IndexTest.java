@@ -0,0 +1,203 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.search.Bm25Index.Field;
+import com.SkillsSwap.skillswap.search.Bm25Index.Hit;
+import com.SkillsSwap.skillswap.search.Bm25Index.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Ranking order and index maintenance. An index that has been updated must score exactly like
+// one built from scratch with the same documents, since idf and the average length are shared.
+class Bm25IndexTest {
+
+    @Test
+    void rarerTermsWeighMore() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, body("guitar lessons"));
+        index.put(2L, body("piano lessons"));
+        index.put(3L, body("violin lessons"));
+
+        // "guitar" is in one document, "lessons" in all three
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("guitar lessons", 0, 10)));
+    }
+
+    @Test
+    void moreOccurrencesAndShorterDocumentsRankHigher() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, body("java"));
+        index.put(2L, body("java java"));
+        index.put(3L, body("java spring boot hibernate"));
+        index.put(4L, body("python"));
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("java", 0, 10)));
+    }
+
+    @Test
+    void fieldWeightCountsAsRepeatedOccurrences() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, new Field("cooking", 3), new Field("baking bread", 1));
+        index.put(2L, new Field("baking", 3), new Field("cooking bread", 1));
+        index.put(3L, body("gardening"));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("baking", 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("cooking", 0, 10)));
+    }
+
+    @Test
+    void equalScoresAreOrderedById() {
+        Bm25Index index = new Bm25Index();
+        index.put(30L, body("chess"));
+        index.put(10L, body("chess"));
+        index.put(20L, body("chess"));
+
+        assertEquals(List.of(10L, 20L, 30L), ids(index.search("chess", 0, 10)));
+    }
+
+    @Test
+    void tokenizesCaseInsensitivelyAndKeepsSymbolsInLanguageNames() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, body("C++ and C#"));
+        index.put(2L, body("Plain C"));
+
+        assertEquals(List.of(1L), ids(index.search("c++", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("C#", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("c", 0, 10)));
+        assertEquals(List.of("c++", "c#", "web", "dev"), Bm25Index.tokenize("C++, C#; web-dev"));
+    }
+
+    @Test
+    void pagesThroughTheRankingAndCountsAllHits() {
+        Bm25Index index = new Bm25Index();
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, body("yoga " + "yoga ".repeat((int) id)));
+        }
+        index.put(6L, body("pilates"));
+
+        Result first = index.search("yoga", 0, 2);
+        assertEquals(5, first.totalHits());
+        assertEquals(List.of(5L, 4L), ids(first));
+        assertEquals(List.of(3L, 2L), ids(index.search("yoga", 2, 2)));
+        assertEquals(List.of(1L), ids(index.search("yoga", 4, 2)));
+        assertEquals(List.of(), ids(index.search("yoga", 5, 2)));
+        assertEquals(List.of(), ids(index.search("yoga", 0, 0)));
+        assertEquals(0, index.search("surfing", 0, 10).totalHits());
+    }
+
+    @Test
+    void removeAndReplaceScoreLikeAFreshIndex() {
+        Bm25Index updated = new Bm25Index();
+        updated.put(1L, body("guitar lessons for beginners"));
+        updated.put(2L, body("guitar repair"));
+        updated.put(3L, body("piano lessons"));
+        updated.put(4L, body("drum lessons lessons"));
+        updated.remove(2L);
+        updated.put(3L, body("guitar and piano"));
+        updated.remove(99L);
+
+        Bm25Index fresh = new Bm25Index();
+        fresh.put(1L, body("guitar lessons for beginners"));
+        fresh.put(3L, body("guitar and piano"));
+        fresh.put(4L, body("drum lessons lessons"));
+
+        assertEquals(3, updated.size());
+        for (String query : List.of("guitar", "lessons", "piano", "repair", "guitar lessons")) {
+            assertEquals(fresh.search(query, 0, 10), updated.search(query, 0, 10), query);
+        }
+
+        updated.clear();
+        assertEquals(0, updated.size());
+        assertEquals(0, updated.search("guitar", 0, 10).totalHits());
+    }
+
+    @Test
+    void topHitsMatchAFullSort() {
+        Random random = new Random(11);
+        String[] words = {"java", "python", "guitar", "piano", "cooking", "baking", "chess", "yoga", "spanish"};
+        Bm25Index index = new Bm25Index();
+        Map<Long, List<String>> titles = new HashMap<>();
+        Map<Long, List<String>> bodies = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            titles.put(id, randomWords(random, words, 1 + random.nextInt(2)));
+            bodies.put(id, randomWords(random, words, random.nextInt(6)));
+            index.put(id, new Field(String.join(" ", titles.get(id)), 3), body(String.join(" ", bodies.get(id))));
+        }
+
+        // "rowing" is in no document and "java" is asked for twice
+        List<String> terms = List.of("java", "guitar", "yoga");
+        String query = "java guitar yoga rowing java";
+
+        // Scores every document from the formula: idf(t) * tf * (k1 + 1) / (tf + k1 * (1 - b + b * len / avg)),
+        // where a title token counts three times
+        double k1 = 1.2;
+        double b = 0.75;
+        Map<Long, Map<String, Integer>> frequencies = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            Map<String, Integer> tf = new HashMap<>();
+            titles.get(id).forEach(word -> tf.merge(word, 3, Integer::sum));
+            bodies.get(id).forEach(word -> tf.merge(word, 1, Integer::sum));
+            frequencies.put(id, tf);
+            lengths.put(id, 3 * titles.get(id).size() + bodies.get(id).size());
+        }
+        double averageLength = lengths.values().stream().mapToInt(Integer::intValue).average().orElseThrow();
+        List<Hit> expected = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            double score = 0;
+            boolean matched = false;
+            for (String term : terms) {
+                int tf = frequencies.get(id).getOrDefault(term, 0);
+                if (tf == 0) {
+                    continue;
+                }
+                long df = frequencies.values().stream().filter(f -> f.containsKey(term)).count();
+                double idf = Math.log(1 + (300 - df + 0.5) / (df + 0.5));
+                score += idf * tf * (k1 + 1) / (tf + k1 * (1 - b + b * lengths.get(id) / averageLength));
+                matched = true;
+            }
+            if (matched) {
+                expected.add(new Hit(id, score));
+            }
+        }
+        expected.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+
+        Result all = index.search(query, 0, Integer.MAX_VALUE);
+        assertEquals(expected.size(), all.totalHits());
+        assertHits(expected, all.hits());
+        assertHits(expected.subList(0, 10), index.search(query, 0, 10).hits());
+        assertHits(expected.subList(10, 25), index.search(query, 10, 15).hits());
+        assertHits(expected.subList(expected.size() - 5, expected.size()),
+                index.search(query, expected.size() - 5, 10).hits());
+    }
+
+    private static List<String> randomWords(Random random, String[] words, int count) {
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            picked.add(words[random.nextInt(words.length)]);
+        }
+        return picked;
+    }
+
+    // Same documents in the same order, with scores equal up to rounding
+    private static void assertHits(List<Hit> expected, List<Hit> actual) {
+        assertEquals(expected.stream().map(Hit::id).toList(), actual.stream().map(Hit::id).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).score(), actual.get(i).score(), 1e-9, "hit " + i);
+        }
+    }
+
+    private static Field body(String text) {
+        return new Field(text, 1);
+    }
+
+    private static List<Long> ids(Result result) {
+        return result.hits().stream().map(Hit::id).toList();
+    }
+}
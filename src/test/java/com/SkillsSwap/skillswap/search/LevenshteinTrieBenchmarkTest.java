@@ -0,0 +1,107 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.search.LevenshteinTrie.Match;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Query latency of LevenshteinTrie over a synthetic vocabulary of skill-like names (100k by
+// default, -Dbenchmark.names to change), checked against a full edit-distance scan. Queries are
+// names from the vocabulary with one or two random edits. Run with -Dbenchmark=true.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LevenshteinTrieBenchmarkTest {
+
+    private static final int NAMES = Integer.getInteger("benchmark.names", 100_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 200);
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final String[] SYLLABLES = {
+            "ba", "ke", "ri", "to", "mu", "sa", "ne", "lo", "gui", "tar", "pho", "gra", "phy",
+            "chem", "is", "try", "py", "thon", "ja", "va", "yo", "ga", "dan", "ce", "pi", "an", "o"};
+
+    private static final List<String> names = new ArrayList<>();
+    private static final LevenshteinTrie trie = new LevenshteinTrie();
+
+    @BeforeAll
+    static void seed() {
+        Random random = new Random(42);
+        Set<String> seen = new HashSet<>();
+        while (names.size() < NAMES) {
+            String name = word(random);
+            if (random.nextInt(3) == 0) {
+                name += " " + word(random);
+            }
+            if (seen.add(name)) {
+                names.add(name);
+                trie.add(name);
+            }
+        }
+    }
+
+    @Test
+    void searchWithinOneAndTwoEdits() {
+        Random random = new Random(7);
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            trie.search(misspell(names.get(random.nextInt(NAMES)), random), 2);
+        }
+        for (int maxDistance = 1; maxDistance <= 2; maxDistance++) {
+            long trieNanos = 0;
+            long scanNanos = 0;
+            long matches = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                String query = misspell(names.get(random.nextInt(NAMES)), random);
+
+                long start = System.nanoTime();
+                List<Match> found = trie.search(query, maxDistance);
+                trieNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Match> expected = new ArrayList<>();
+                for (String name : names) {
+                    int distance = LevenshteinTrieTest.distance(query, name);
+                    if (distance <= maxDistance) {
+                        expected.add(new Match(name, distance));
+                    }
+                }
+                scanNanos += System.nanoTime() - start;
+
+                assertEquals(LevenshteinTrieTest.sorted(expected), LevenshteinTrieTest.sorted(found), query);
+                matches += found.size();
+            }
+            System.out.printf("distance %d   trie %8.3f ms   full scan %8.3f ms   %.1f matches   (%d names)%n",
+                    maxDistance, trieNanos / 1e6 / QUERIES, scanNanos / 1e6 / QUERIES,
+                    (double) matches / QUERIES, NAMES);
+        }
+    }
+
+    private static String word(Random random) {
+        int syllables = 2 + random.nextInt(3);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String misspell(String name, Random random) {
+        StringBuilder typo = new StringBuilder(name);
+        int edits = 1 + random.nextInt(2);
+        for (int e = 0; e < edits && typo.length() > 1; e++) {
+            int at = random.nextInt(typo.length());
+            char letter = (char) ('a' + random.nextInt(26));
+            switch (random.nextInt(3)) {
+                case 0 -> typo.setCharAt(at, letter);
+                case 1 -> typo.insert(at, letter);
+                default -> typo.deleteCharAt(at);
+            }
+        }
+        return typo.toString();
+    }
+}
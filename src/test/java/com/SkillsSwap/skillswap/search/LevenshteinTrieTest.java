@@ -0,0 +1,133 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.search.LevenshteinTrie.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Distance-bounded search checked term by term, and against a plain edit-distance scan
+class LevenshteinTrieTest {
+
+    @Test
+    void findsTermsWithinTheBoundWithTheirDistance() {
+        LevenshteinTrie trie = trie("guitar", "guitars", "guittar", "gitar", "sitar", "tar");
+
+        assertEquals(List.of(new Match("guitar", 0)), sorted(trie.search("guitar", 0)));
+        assertEquals(List.of(new Match("gitar", 1), new Match("guitar", 0), new Match("guitars", 1),
+                new Match("guittar", 1)), sorted(trie.search("guitar", 1)));
+        assertEquals(List.of(new Match("gitar", 1), new Match("guitar", 0), new Match("guitars", 1),
+                new Match("guittar", 1), new Match("sitar", 2)), sorted(trie.search("guitar", 2)));
+    }
+
+    @Test
+    void countsSubstitutionsInsertionsAndDeletionsAsOneEditEach() {
+        LevenshteinTrie trie = trie("baking");
+
+        assertEquals(List.of(new Match("baking", 1)), trie.search("bakeng", 1));
+        assertEquals(List.of(new Match("baking", 1)), trie.search("bakinng", 1));
+        assertEquals(List.of(new Match("baking", 1)), trie.search("bakng", 1));
+        // A transposition is two edits
+        assertEquals(List.of(), trie.search("bakign", 1));
+        assertEquals(List.of(new Match("baking", 2)), trie.search("bakign", 2));
+    }
+
+    @Test
+    void shortQueriesReachShortTermsAndTheEmptyTerm() {
+        LevenshteinTrie trie = trie("", "go", "art", "chess");
+
+        assertEquals(List.of(new Match("", 0), new Match("go", 2)), sorted(trie.search("", 2)));
+        assertEquals(List.of(new Match("", 1), new Match("go", 1)), sorted(trie.search("g", 1)));
+    }
+
+    @Test
+    void addAndRemoveChangeWhatIsFound() {
+        LevenshteinTrie trie = trie("chess", "chest");
+        assertFalse(trie.add("chess"));
+        assertEquals(2, trie.size());
+
+        assertTrue(trie.remove("chess"));
+        assertFalse(trie.remove("chess"));
+        assertFalse(trie.remove("che"));
+        assertEquals(1, trie.size());
+        assertEquals(List.of(new Match("chest", 1)), trie.search("chess", 1));
+
+        assertTrue(trie.add("chess"));
+        assertEquals(List.of(new Match("chess", 0), new Match("chest", 1)), sorted(trie.search("chess", 1)));
+    }
+
+    @Test
+    void agreesWithAFullScan() {
+        Random random = new Random(3);
+        List<String> terms = new ArrayList<>();
+        LevenshteinTrie trie = new LevenshteinTrie();
+        for (int i = 0; i < 2000; i++) {
+            String term = randomWord(random);
+            if (trie.add(term)) {
+                terms.add(term);
+            }
+        }
+        for (int q = 0; q < 200; q++) {
+            String query = randomWord(random);
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                List<Match> expected = new ArrayList<>();
+                for (String term : terms) {
+                    int distance = distance(query, term);
+                    if (distance <= maxDistance) {
+                        expected.add(new Match(term, distance));
+                    }
+                }
+                assertEquals(sorted(expected), sorted(trie.search(query, maxDistance)), query + " within " + maxDistance);
+            }
+        }
+    }
+
+    // Short words over a small alphabet, so that many lie within two edits of each other
+    static String randomWord(Random random) {
+        int length = 1 + random.nextInt(7);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static List<Match> sorted(List<Match> matches) {
+        List<Match> copy = new ArrayList<>(matches);
+        copy.sort(Comparator.comparing(Match::term));
+        return copy;
+    }
+
+    private static LevenshteinTrie trie(String... terms) {
+        LevenshteinTrie trie = new LevenshteinTrie();
+        for (String term : terms) {
+            trie.add(term);
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,110 @@
+package com.SkillsSwap.skillswap.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Substring search through the n-gram postings, checked by hand and against a plain contains() scan
+class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        index = new NGramIndex();
+        index.put(1L, "Java");
+        index.put(2L, "JavaScript");
+        index.put(3L, "Guitar");
+        index.put(4L, "abcxbcd");
+        index.put(5L, "C");
+    }
+
+    @Test
+    void longQueriesIntersectTrigramsAndAreCheckedAsSubstrings() {
+        assertEquals(Set.of(1L, 2L), index.search("java"));
+        assertEquals(Set.of(2L), index.search("vascr"));
+        // "abcxbcd" holds every trigram of "abcd" but not the substring
+        assertEquals(Set.of(), index.search("abcd"));
+        assertEquals(Set.of(4L), index.search("cxbc"));
+    }
+
+    @Test
+    void queryWithAnUnknownTrigramMatchesNothing() {
+        assertEquals(Set.of(), index.search("javaz"));
+    }
+
+    @Test
+    void shortQueriesUseTheirOwnPostingList() {
+        assertEquals(Set.of(2L, 4L, 5L), index.search("c"));
+        assertEquals(Set.of(1L, 2L), index.search("av"));
+        assertEquals(Set.of(3L), index.search("tar"));
+        assertEquals(Set.of(), index.search("zq"));
+    }
+
+    @Test
+    void emptyQueryMatchesEverything() {
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), index.search(""));
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), index.search(null));
+    }
+
+    @Test
+    void matchingIgnoresCase() {
+        assertEquals(Set.of(1L, 2L), index.search("JAVA"));
+        assertEquals(Set.of(3L), index.search("gUiT"));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsTheText() {
+        index.put(1L, "Chess");
+        assertEquals(Set.of(2L), index.search("java"));
+        assertEquals(Set.of(1L), index.search("hes"));
+
+        index.remove(1L);
+        index.remove(99L);
+        assertEquals(Set.of(), index.search("chess"));
+        assertEquals(4, index.size());
+
+        index.clear();
+        assertEquals(Set.of(), index.search("java"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void agreesWithAContainsScan() {
+        Random random = new Random(5);
+        Map<Long, String> texts = new HashMap<>();
+        NGramIndex scanned = new NGramIndex();
+        for (long id = 1; id <= 500; id++) {
+            String text = randomText(random, 3 + random.nextInt(10));
+            texts.put(id, text);
+            scanned.put(id, text);
+        }
+        for (int q = 0; q < 300; q++) {
+            String query = randomText(random, 1 + random.nextInt(5));
+            Set<Long> expected = new HashSet<>();
+            texts.forEach((id, text) -> {
+                if (text.toLowerCase().contains(query.toLowerCase())) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, scanned.search(query), query);
+        }
+    }
+
+    // Mixed case over a small alphabet, so that queries share many n-grams with the texts
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char letter = (char) ('a' + random.nextInt(4));
+            text.append(random.nextBoolean() ? Character.toUpperCase(letter) : letter);
+        }
+        return text.toString();
+    }
+}
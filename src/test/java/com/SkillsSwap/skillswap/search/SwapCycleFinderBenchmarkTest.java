@@ -0,0 +1,121 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder.Leg;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder.SwapCycle;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Cycle search latency over a synthetic graph of 200k users and 1M skill edges (override with
+// -Dbenchmark.users and -Dbenchmark.edges). Each user offers and wants skills drawn from a skewed
+// vocabulary, so popular skills have thousands of holders. Every query is for a different user,
+// so nothing is served from the cache; every cycle returned is checked edge by edge. Run with
+// -Dbenchmark=true.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SwapCycleFinderBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200_000);
+    private static final int EDGES = Integer.getInteger("benchmark.edges", 1_000_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 500);
+    private static final int NAMES = 5_000;
+    private static final int WARMUP_QUERIES = 200;
+
+    private static final Map<Integer, Set<String>> offers = new HashMap<>();
+    private static final Map<Integer, Set<String>> wants = new HashMap<>();
+    private static SwapCycleFinder finder;
+
+    @BeforeAll
+    static void seed() {
+        Random random = new Random(42);
+        List<SkillDocument> skills = new ArrayList<>(EDGES);
+        for (long id = 1; id <= EDGES; id++) {
+            int user = 1 + random.nextInt(USERS);
+            boolean offered = random.nextBoolean();
+            // Squaring a uniform draw skews towards the low ids: name 0 is the most popular
+            String name = "Skill " + (int) (NAMES * Math.pow(random.nextDouble(), 2));
+            skills.add(new SkillDocument(id, name, "", offered, true, (long) user));
+            (offered ? offers : wants).computeIfAbsent(user, u -> new HashSet<>()).add(name.toLowerCase());
+        }
+        List<UserDocument> users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new UserDocument(id, true, true, WeeklyAvailability.NONE, null, null));
+        }
+
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(skillRepository.findAllSkillDocuments()).thenReturn(skills);
+        when(userRepository.findAllUserDocuments()).thenReturn(users);
+        UserSkillBitmapIndex index = new UserSkillBitmapIndex(skillRepository, userRepository);
+        long start = System.nanoTime();
+        index.rebuild();
+        System.out.printf("index built in %.0f ms (%d users, %d edges)%n", (System.nanoTime() - start) / 1e6, USERS, EDGES);
+        finder = new SwapCycleFinder(index);
+    }
+
+    @Test
+    void findCyclesForUncachedUsers() {
+        Random random = new Random(7);
+        List<Integer> order = new ArrayList<>();
+        for (int user = 1; user <= USERS; user++) {
+            order.add(user);
+        }
+        java.util.Collections.shuffle(order, random);
+
+        for (int q = 0; q < WARMUP_QUERIES; q++) {
+            finder.findCycles((long) order.get(q), SwapCycleFinder.MAX_CYCLE_LENGTH, 50);
+        }
+        long[] nanos = new long[QUERIES];
+        long cycles = 0;
+        int withCycles = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            long userId = order.get(WARMUP_QUERIES + q);
+            long start = System.nanoTime();
+            List<SwapCycle> found = finder.findCycles(userId, SwapCycleFinder.MAX_CYCLE_LENGTH, 50);
+            nanos[q] = System.nanoTime() - start;
+            for (SwapCycle cycle : found) {
+                check(userId, cycle);
+            }
+            cycles += found.size();
+            withCycles += found.isEmpty() ? 0 : 1;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("findCycles   mean %7.2f ms   p50 %7.2f ms   p99 %7.2f ms   max %7.2f ms   "
+                        + "%.1f cycles/user, %d of %d users with cycles%n",
+                Arrays.stream(nanos).average().orElse(0) / 1e6, nanos[QUERIES / 2] / 1e6,
+                nanos[(int) (QUERIES * 0.99)] / 1e6, nanos[QUERIES - 1] / 1e6,
+                (double) cycles / QUERIES, withCycles, QUERIES);
+    }
+
+    // Each leg's giver offers, and its receiver wants, the named skill; the legs close into a
+    // cycle through the starting user with no one in it twice
+    private static void check(long userId, SwapCycle cycle) {
+        List<Leg> legs = cycle.legs();
+        assertEquals(userId, legs.get(0).receiverId());
+        Set<Long> members = new HashSet<>();
+        for (int i = 0; i < legs.size(); i++) {
+            Leg leg = legs.get(i);
+            String skill = leg.skillName().toLowerCase();
+            assertTrue(offers.get(Math.toIntExact(leg.giverId())).contains(skill), leg.toString());
+            assertTrue(wants.get(Math.toIntExact(leg.receiverId())).contains(skill), leg.toString());
+            assertEquals(leg.giverId(), legs.get((i + 1) % legs.size()).receiverId());
+            assertTrue(members.add(leg.receiverId()), cycle.toString());
+        }
+    }
+}
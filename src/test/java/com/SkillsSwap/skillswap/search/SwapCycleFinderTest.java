@@ -0,0 +1,115 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder.Leg;
+import com.SkillsSwap.skillswap.search.SwapCycleFinder.SwapCycle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Cycle search over a small hand-built graph, and the cache's eviction when a participant
+// changes. Events are delivered to the index before the finder, as the listener order does.
+class SwapCycleFinderTest {
+
+    private final List<SkillDocument> skills = new ArrayList<>();
+    private UserSkillBitmapIndex index;
+    private SwapCycleFinder finder;
+
+    // 1 wants Guitar from 2, 2 wants Baking from 3, 3 wants Chess from 1
+    @BeforeEach
+    void buildGraph() {
+        skill(11, "Guitar", true, 2);
+        skill(12, "Guitar", false, 1);
+        skill(13, "Baking", true, 3);
+        skill(14, "Baking", false, 2);
+        skill(15, "Chess", true, 1);
+        skill(16, "Chess", false, 3);
+
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(skillRepository.findAllSkillDocuments()).thenReturn(skills);
+        when(userRepository.findAllUserDocuments()).thenReturn(List.of(user(1), user(2), user(3), user(4)));
+        index = new UserSkillBitmapIndex(skillRepository, userRepository);
+        index.rebuild();
+        finder = new SwapCycleFinder(index);
+    }
+
+    @Test
+    void findsThreeWayCycle() {
+        List<SwapCycle> cycles = finder.findCycles(1L, SwapCycleFinder.MAX_CYCLE_LENGTH, 10);
+
+        assertEquals(List.of(new SwapCycle(List.of(
+                new Leg(2L, 1L, "Guitar"),
+                new Leg(3L, 2L, "Baking"),
+                new Leg(1L, 3L, "Chess")))), cycles);
+    }
+
+    @Test
+    void findsFourWayCycleOnlyUpToMaxLength() {
+        // Reroute 2 -> 3 through 4: 2 wants Drums from 4, 4 wants Baking from 3
+        change(deleted(14, "Baking", false, 2));
+        change(saved(17, "Drums", true, 4));
+        change(saved(18, "Drums", false, 2));
+        change(saved(19, "Baking", false, 4));
+
+        List<SwapCycle> cycles = finder.findCycles(1L, 4, 10);
+        assertEquals(1, cycles.size());
+        assertEquals(List.of(2L, 4L, 3L, 1L), cycles.get(0).legs().stream().map(Leg::giverId).toList());
+        assertEquals(List.of(), finder.findCycles(1L, 3, 10));
+    }
+
+    @Test
+    void participantChangeEvictsCachedCycles() {
+        assertEquals(1, finder.findCycles(1L, 3, 10).size());
+        assertEquals(1, finder.findCycles(2L, 3, 10).size());
+
+        // 3 no longer wants Chess, which breaks the only cycle for everyone in it
+        change(deleted(16, "Chess", false, 3));
+
+        assertEquals(List.of(), finder.findCycles(1L, 3, 10));
+        assertEquals(List.of(), finder.findCycles(2L, 3, 10));
+    }
+
+    @Test
+    void hiddenParticipantEvictsCachedCycles() {
+        assertEquals(1, finder.findCycles(1L, 3, 10).size());
+
+        UserChangedEvent hidden = new UserChangedEvent(2L,
+                new UserDocument(2L, false, true, WeeklyAvailability.NONE, null, null));
+        index.onUserChanged(hidden);
+        finder.onUserChanged(hidden);
+
+        assertEquals(List.of(), finder.findCycles(1L, 3, 10));
+    }
+
+    private void change(SkillChangedEvent event) {
+        index.onSkillChanged(event);
+        finder.onSkillChanged(event);
+    }
+
+    private static SkillChangedEvent saved(long id, String name, boolean offered, long userId) {
+        return new SkillChangedEvent(SkillChangedEvent.ChangeType.SAVED, id, new SkillDocument(id, name, "", offered, true, userId));
+    }
+
+    private static SkillChangedEvent deleted(long id, String name, boolean offered, long userId) {
+        return new SkillChangedEvent(SkillChangedEvent.ChangeType.DELETED, id, new SkillDocument(id, name, "", offered, true, userId));
+    }
+
+    private void skill(long id, String name, boolean offered, long userId) {
+        skills.add(new SkillDocument(id, name, "", offered, true, userId));
+    }
+
+    private static UserDocument user(long id) {
+        return new UserDocument(id, true, true, WeeklyAvailability.NONE, null, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Checks UserLocationIndex against a brute-force scan over the same points and prints the
+// latency of both. Runs with 100k users by default; override with -Dbenchmark.users and
+// -Dbenchmark.queries (passed through argLine) for a larger run. Run with -Dbenchmark=true;
+// UserLocationIndexTest covers correctness on every build.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserLocationIndexBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 100_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 50);
+
+    private static UserLocationIndex index;
+    private static double[] latitudes;
+    private static double[] longitudes;
+    private static RoaringBitmap skillFilter;
+
+    @BeforeAll
+    static void seed() {
+        Random random = new Random(42);
+        double[][] cities = new double[60][];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = new double[] {random.nextDouble() * 120 - 55, random.nextDouble() * 360 - 180};
+        }
+        latitudes = new double[USERS + 1];
+        longitudes = new double[USERS + 1];
+        skillFilter = new RoaringBitmap();
+        List<UserDocument> users = new ArrayList<>(USERS);
+        for (int id = 1; id <= USERS; id++) {
+            // 90% of users cluster around cities, the rest are spread over the globe
+            if (random.nextInt(10) > 0) {
+                double[] city = cities[random.nextInt(cities.length)];
+                latitudes[id] = Math.max(-89.9, Math.min(89.9, city[0] + random.nextGaussian() * 0.3));
+                longitudes[id] = wrap(city[1] + random.nextGaussian() * 0.4);
+            } else {
+                latitudes[id] = random.nextDouble() * 170 - 85;
+                longitudes[id] = random.nextDouble() * 360 - 180;
+            }
+            if (random.nextInt(20) == 0) {
+                skillFilter.add(id);
+            }
+            users.add(new UserDocument((long) id, true, true, WeeklyAvailability.NONE, latitudes[id], longitudes[id]));
+        }
+        index = new UserLocationIndex(null);
+        index.load(users);
+    }
+
+    @Test
+    void radiusSearchMatchesBruteForce() {
+        for (double radiusKm : new double[] {5, 25, 100, 1000}) {
+            compare("radius " + radiusKm + " km", null, radiusKm, 0);
+            compare("radius " + radiusKm + " km, 5% skill filter", skillFilter, radiusKm, 0);
+        }
+    }
+
+    @Test
+    void nearestSearchMatchesBruteForce() {
+        for (int k : new int[] {10, 100}) {
+            compare("nearest " + k, null, UserLocationIndex.MAX_RADIUS_KM, k);
+            compare("nearest " + k + ", 5% skill filter", skillFilter, UserLocationIndex.MAX_RADIUS_KM, k);
+        }
+    }
+
+    private static void compare(String label, RoaringBitmap candidates, double radiusKm, int k) {
+        Random random = new Random(7);
+        double[][] queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            int near = 1 + random.nextInt(USERS);
+            queries[i] = new double[] {latitudes[near] + random.nextGaussian() * 0.05,
+                    wrap(longitudes[near] + random.nextGaussian() * 0.05)};
+        }
+        int limit = k > 0 ? k : Integer.MAX_VALUE;
+
+        long indexNanos = 0;
+        long bruteNanos = 0;
+        for (double[] query : queries) {
+            long start = System.nanoTime();
+            List<UserLocationIndex.Neighbor> fromIndex = k > 0
+                    ? index.findNearest(query[0], query[1], k, candidates, radiusKm)
+                    : index.findWithinRadius(query[0], query[1], radiusKm, candidates, limit);
+            indexNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<UserLocationIndex.Neighbor> fromScan = bruteForce(query[0], query[1], radiusKm, candidates, limit);
+            bruteNanos += System.nanoTime() - start;
+
+            assertEquals(fromScan, fromIndex, label);
+        }
+        System.out.printf("%-40s index %8.3f ms   brute force %8.3f ms   (%d users)%n",
+                label, indexNanos / 1e6 / QUERIES, bruteNanos / 1e6 / QUERIES, USERS);
+    }
+
+    private static List<UserLocationIndex.Neighbor> bruteForce(double latitude, double longitude, double radiusKm,
+                                                               RoaringBitmap candidates, int limit) {
+        List<UserLocationIndex.Neighbor> found = new ArrayList<>();
+        for (int id = 1; id <= USERS; id++) {
+            if (candidates != null && !candidates.contains(id)) {
+                continue;
+            }
+            double distance = GeoHash.distanceKm(latitude, longitude, latitudes[id], longitudes[id]);
+            if (distance <= radiusKm) {
+                found.add(new UserLocationIndex.Neighbor((long) id, distance));
+            }
+        }
+        found.sort(Comparator.comparingDouble(UserLocationIndex.Neighbor::distanceKm)
+                .thenComparing(UserLocationIndex.Neighbor::userId));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private static double wrap(double longitude) {
+        return ((longitude + 540.0) % 360.0) - 180.0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.search.UserLocationIndex.Neighbor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Radius and nearest-k search against a brute-force scan over a few thousand users, covering
+// the fine-cell, coarse-cell and small-candidate-set paths, the date line and user moves
+class UserLocationIndexTest {
+
+    private static final int USERS = 3_000;
+
+    private final Map<Long, double[]> locations = new HashMap<>();
+    private UserLocationIndex index;
+
+    @BeforeEach
+    void seed() {
+        Random random = new Random(42);
+        double[][] cities = {{51.5, -0.1}, {40.7, -74.0}, {-33.9, 151.2}, {64.1, -21.9}, {0.0, 179.9}, {0.0, -179.9}};
+        List<UserDocument> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            double[] city = cities[random.nextInt(cities.length)];
+            double latitude = city[0] + random.nextGaussian() * 0.5;
+            double longitude = wrap(city[1] + random.nextGaussian() * 0.5);
+            locations.put(id, new double[] {latitude, longitude});
+            users.add(document(id, latitude, longitude));
+        }
+        // Users without a location are never found
+        users.add(new UserDocument((long) USERS + 1, true, true, WeeklyAvailability.NONE, null, null));
+        index = new UserLocationIndex(null);
+        index.load(users);
+    }
+
+    @Test
+    void radiusSearchMatchesBruteForce() {
+        for (double radiusKm : new double[] {1, 20, 150, 2_000, UserLocationIndex.MAX_RADIUS_KM}) {
+            for (double[] query : queries()) {
+                assertEquals(bruteForce(query, radiusKm, null, Integer.MAX_VALUE),
+                        index.findWithinRadius(query[0], query[1], radiusKm, null, Integer.MAX_VALUE),
+                        "radius " + radiusKm);
+            }
+        }
+    }
+
+    @Test
+    void nearestSearchMatchesBruteForce() {
+        for (int k : new int[] {1, 10, 200}) {
+            for (double[] query : queries()) {
+                assertEquals(bruteForce(query, UserLocationIndex.MAX_RADIUS_KM, null, k),
+                        index.findNearest(query[0], query[1], k, null, UserLocationIndex.MAX_RADIUS_KM),
+                        "nearest " + k);
+            }
+        }
+        double[] london = {51.5, -0.1};
+        assertEquals(bruteForce(london, 5, null, 500), index.findNearest(london[0], london[1], 500, null, 5));
+    }
+
+    @Test
+    void candidatesRestrictBothSmallAndLargeSets() {
+        RoaringBitmap few = new RoaringBitmap();
+        RoaringBitmap many = new RoaringBitmap();
+        for (int id = 1; id <= USERS; id++) {
+            if (id % 50 == 0) {
+                few.add(id);
+            }
+            if (id % 2 == 0) {
+                many.add(id);
+            }
+        }
+        for (double[] query : queries()) {
+            for (RoaringBitmap candidates : List.of(few, many)) {
+                assertEquals(bruteForce(query, 300, candidates, Integer.MAX_VALUE),
+                        index.findWithinRadius(query[0], query[1], 300, candidates, Integer.MAX_VALUE));
+                assertEquals(bruteForce(query, UserLocationIndex.MAX_RADIUS_KM, candidates, 5),
+                        index.findNearest(query[0], query[1], 5, candidates, UserLocationIndex.MAX_RADIUS_KM));
+            }
+        }
+    }
+
+    @Test
+    void searchAcrossTheDateLine() {
+        double[] east = {0.0, 179.95};
+        List<Neighbor> found = index.findWithinRadius(east[0], east[1], 100, null, Integer.MAX_VALUE);
+        assertEquals(bruteForce(east, 100, null, Integer.MAX_VALUE), found);
+        // Both clusters either side of 180 degrees are inside 100 km
+        assertTrue(found.stream().anyMatch(n -> locations.get(n.userId())[1] < 0));
+        assertTrue(found.stream().anyMatch(n -> locations.get(n.userId())[1] > 0));
+    }
+
+    @Test
+    void movedAndUnlocatedUsersAreUpdated() {
+        double[] query = {51.5, -0.1};
+        for (long id = 1; id <= 200; id++) {
+            double[] moved = {-33.9 + id * 0.001, 151.2};
+            locations.put(id, moved);
+            index.onUserChanged(new UserChangedEvent(id, document(id, moved[0], moved[1])));
+        }
+        for (long id = 201; id <= 400; id++) {
+            locations.remove(id);
+            index.onUserChanged(new UserChangedEvent(id,
+                    new UserDocument(id, true, true, WeeklyAvailability.NONE, null, null)));
+        }
+
+        assertEquals(bruteForce(query, 200, null, Integer.MAX_VALUE),
+                index.findWithinRadius(query[0], query[1], 200, null, Integer.MAX_VALUE));
+        double[] sydney = {-33.9, 151.2};
+        assertEquals(bruteForce(sydney, 200, null, Integer.MAX_VALUE),
+                index.findWithinRadius(sydney[0], sydney[1], 200, null, Integer.MAX_VALUE));
+    }
+
+    private List<double[]> queries() {
+        Random random = new Random(7);
+        List<double[]> queries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            double[] near = locations.get(1L + random.nextInt(USERS));
+            queries.add(new double[] {near[0] + random.nextGaussian() * 0.05, wrap(near[1] + random.nextGaussian() * 0.05)});
+        }
+        queries.add(new double[] {10.0, 60.0});
+        return queries;
+    }
+
+    private List<Neighbor> bruteForce(double[] query, double radiusKm, RoaringBitmap candidates, int limit) {
+        List<Neighbor> found = new ArrayList<>();
+        locations.forEach((id, location) -> {
+            if (candidates != null && !candidates.contains(Math.toIntExact(id))) {
+                return;
+            }
+            double distance = GeoHash.distanceKm(query[0], query[1], location[0], location[1]);
+            if (distance <= radiusKm) {
+                found.add(new Neighbor(id, distance));
+            }
+        });
+        found.sort(Comparator.comparingDouble(Neighbor::distanceKm).thenComparing(Neighbor::userId));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private static UserDocument document(long id, double latitude, double longitude) {
+        return new UserDocument(id, true, true, WeeklyAvailability.NONE, latitude, longitude);
+    }
+
+    private static double wrap(double longitude) {
+        return ((longitude + 540.0) % 360.0) - 180.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.SkillsSwap.skillswap.search;
+
+import com.SkillsSwap.skillswap.event.SkillChangedEvent;
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.MatchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The skill and visibility bitmaps and how a search combines them, over a handful of users
+class UserSkillBitmapIndexTest {
+
+    private final List<SkillDocument> skills = new ArrayList<>();
+    private final List<UserDocument> users = new ArrayList<>();
+    private UserSkillBitmapIndex index;
+
+    // 1 offers Java and Guitar, 2 offers JavaScript, 3 offers Guitar and wants Java,
+    // 4 offers Java but is private, 5 offers Java but has an unapproved Guitar
+    @BeforeEach
+    void buildIndex() {
+        for (long id = 1; id <= 5; id++) {
+            users.add(new UserDocument(id, id != 4, true, WeeklyAvailability.NONE, null, null));
+        }
+        skill(11, "Java", true, true, 1);
+        skill(12, "Guitar", true, true, 1);
+        skill(21, "JavaScript", true, true, 2);
+        skill(31, "guitar", true, true, 3);
+        skill(32, "Java", false, true, 3);
+        skill(41, "Java", true, true, 4);
+        skill(51, "Java", true, true, 5);
+        skill(52, "Guitar", true, false, 5);
+
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(skillRepository.findAllSkillDocuments()).thenReturn(skills);
+        when(userRepository.findAllUserDocuments()).thenReturn(users);
+        index = new UserSkillBitmapIndex(skillRepository, userRepository);
+        assertFalse(index.isReady());
+        index.rebuild();
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void termMatchesEverySkillNameContainingIt() {
+        assertEquals(List.of(1L, 2L, 5L), find(List.of("java"), List.of(), MatchMode.ALL));
+        assertEquals(List.of(2L), find(List.of("script"), List.of(), MatchMode.ALL));
+    }
+
+    @Test
+    void allIntersectsAndAnyUnitesTheTerms() {
+        assertEquals(List.of(1L), find(List.of("java", "guitar"), List.of(), MatchMode.ALL));
+        assertEquals(List.of(1L, 2L, 3L, 5L), find(List.of("java", "guitar"), List.of(), MatchMode.ANY));
+        assertEquals(List.of(3L), find(List.of("guitar"), List.of("java"), MatchMode.ALL));
+    }
+
+    @Test
+    void offeredAndWantedAreSeparate() {
+        assertEquals(List.of(3L), find(List.of(), List.of("java"), MatchMode.ALL));
+        assertEquals(List.of(), find(List.of(), List.of("guitar"), MatchMode.ALL));
+    }
+
+    @Test
+    void noTermsMatchesEveryVisibleUser() {
+        assertEquals(List.of(1L, 2L, 3L, 5L), find(List.of(), List.of(), MatchMode.ALL));
+    }
+
+    @Test
+    void unknownTermMatchesNobodyUnderAll() {
+        assertEquals(List.of(), find(List.of("java", "unicycling"), List.of(), MatchMode.ALL));
+        assertEquals(List.of(1L, 2L, 5L), find(List.of("java", "unicycling"), List.of(), MatchMode.ANY));
+    }
+
+    @Test
+    void skillAndUserChangesUpdateTheBitmaps() {
+        index.onSkillChanged(new SkillChangedEvent(SkillChangedEvent.ChangeType.DELETED, 11L,
+                new SkillDocument(11L, "Java", "", true, true, 1L)));
+        index.onSkillChanged(new SkillChangedEvent(SkillChangedEvent.ChangeType.SAVED, 52L,
+                new SkillDocument(52L, "Guitar", "", true, true, 5L)));
+        index.onUserChanged(new UserChangedEvent(2L,
+                new UserDocument(2L, true, false, WeeklyAvailability.NONE, null, null)));
+
+        assertEquals(List.of(5L), find(List.of("java"), List.of(), MatchMode.ALL));
+        assertEquals(List.of(1L, 3L, 5L), find(List.of("guitar"), List.of(), MatchMode.ALL));
+    }
+
+    @Test
+    void availabilityFiltersAndOrdersByOverlap() {
+        WeeklyAvailability evenings = WeeklyAvailability.parse("Weekday evenings");
+        index.onUserChanged(new UserChangedEvent(1L,
+                new UserDocument(1L, true, true, WeeklyAvailability.parse("Fri 20-22"), null, null)));
+        index.onUserChanged(new UserChangedEvent(5L,
+                new UserDocument(5L, true, true, WeeklyAvailability.parse("Mon-Fri 18-22"), null, null)));
+
+        assertEquals(List.of(5L, 1L), index.findVisibleUsers(List.of("java"), List.of(), MatchMode.ALL, evenings, 1));
+        assertEquals(List.of(5L), index.findVisibleUsers(List.of("java"), List.of(), MatchMode.ALL, evenings, 3));
+    }
+
+    private List<Long> find(List<String> offeredTerms, List<String> wantedTerms, MatchMode mode) {
+        return index.findVisibleUsers(offeredTerms, wantedTerms, mode);
+    }
+
+    private void skill(long id, String name, boolean offered, boolean approved, long userId) {
+        skills.add(new SkillDocument(id, name, "", offered, approved, userId));
+    }
+}
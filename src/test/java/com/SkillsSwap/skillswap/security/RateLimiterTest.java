@@ -0,0 +1,123 @@
+package com.SkillsSwap.skillswap.security;
+
+import com.SkillsSwap.skillswap.security.RateLimiter.RateLimitStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Token buckets on a clock the test steps by hand. The "test" limit holds 3 tokens and refills
+// 6 a minute, i.e. one token every 10 seconds.
+class RateLimiterTest {
+
+    private static final long TOKEN_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("rate-limits.test.capacity", "3")
+            .withProperty("rate-limits.test.refill-per-minute", "6");
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = limiter(100_000, 64);
+    }
+
+    @Test
+    void burstUpToCapacityThenWaitsForTheNextToken() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("test", "a"), "request " + i);
+        }
+        assertEquals(TOKEN_NANOS, rateLimiter.tryAcquire("test", "a"));
+
+        advance(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(TimeUnit.SECONDS.toNanos(6), rateLimiter.tryAcquire("test", "a"));
+        // Other keys have buckets of their own
+        assertEquals(0, rateLimiter.tryAcquire("test", "b"));
+
+        RateLimitStats stats = rateLimiter.getStats().get(0);
+        assertEquals(4, stats.allowed());
+        assertEquals(2, stats.rejected());
+        assertEquals(2, stats.keys());
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalUpToCapacity() {
+        drain("a");
+
+        advance(TOKEN_NANOS - 1);
+        assertEquals(1, rateLimiter.tryAcquire("test", "a"));
+        advance(1);
+        assertEquals(0, rateLimiter.tryAcquire("test", "a"));
+        assertEquals(TOKEN_NANOS, rateLimiter.tryAcquire("test", "a"));
+
+        // Two and a half intervals: two tokens, and the half is carried towards the third
+        advance(TOKEN_NANOS * 5 / 2);
+        assertEquals(0, rateLimiter.tryAcquire("test", "a"));
+        assertEquals(0, rateLimiter.tryAcquire("test", "a"));
+        assertEquals(TOKEN_NANOS / 2, rateLimiter.tryAcquire("test", "a"));
+
+        // However long the key stays idle, the bucket holds no more than capacity
+        advance(TimeUnit.HOURS.toNanos(1));
+        drain("a");
+    }
+
+    @Test
+    void fullStripeEvictsItsLeastRecentlyUsedKey() {
+        // One stripe of two keys
+        rateLimiter = limiter(2, 1);
+        drain("a");
+        rateLimiter.tryAcquire("test", "b");
+        // Touching a makes b the eldest
+        assertEquals(TOKEN_NANOS, rateLimiter.tryAcquire("test", "a"));
+        rateLimiter.tryAcquire("test", "c");
+
+        RateLimitStats stats = rateLimiter.getStats().get(0);
+        assertEquals(2, stats.keys());
+        assertEquals(1, stats.evicted());
+        assertEquals(TOKEN_NANOS, rateLimiter.tryAcquire("test", "a"));
+        // b comes back with a full bucket
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("test", "b"), "request " + i);
+        }
+    }
+
+    @Test
+    void eachStripeHoldsMaxKeysOverStripes() {
+        rateLimiter = limiter(8, 4);
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.tryAcquire("test", "key-" + i);
+        }
+
+        RateLimitStats stats = rateLimiter.getStats().get(0);
+        assertEquals(8, stats.keys());
+        assertEquals(92, stats.evicted());
+    }
+
+    private RateLimiter limiter(int maxKeys, int stripes) {
+        RateLimiter limiter = new RateLimiter(environment);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "maxKeys", maxKeys);
+        ReflectionTestUtils.setField(limiter, "stripes", stripes);
+        ReflectionTestUtils.setField(limiter, "nanoTime", (LongSupplier) clock::get);
+        return limiter;
+    }
+
+    // Takes the whole burst and checks the next request has to wait a full interval
+    private void drain(String key) {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("test", key), key + " request " + i);
+        }
+        assertEquals(TOKEN_NANOS, rateLimiter.tryAcquire("test", key));
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+}
@@ -0,0 +1,64 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Rows are saved normally and then have their slots cleared, which is how a row from before
+// availability_slots existed looks
+@SpringBootTest
+class AvailabilityBackfillJobTest {
+
+    @Autowired
+    private AvailabilityBackfillJob availabilityBackfillJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void encodesRowsWithoutSlots() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Long weekends = legacyUser("weekends-" + suffix, "Weekends");
+        Long unknown = legacyUser("unknown-" + suffix, "ask me");
+        assertNull(slots(weekends));
+
+        availabilityBackfillJob.backfill();
+
+        assertArrayEquals(WeeklyAvailability.parse("Weekends").toBytes(), slots(weekends));
+        assertArrayEquals(WeeklyAvailability.NONE.toBytes(), slots(unknown));
+    }
+
+    private Long legacyUser(String username, String availability) {
+        Long id = userRepository.save(new User(username, "password", "Legacy", availability)).getId();
+        userIds.add(id);
+        jdbcTemplate.update("UPDATE users SET availability_slots = NULL WHERE id = ?", id);
+        return id;
+    }
+
+    private byte[] slots(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT availability_slots FROM users WHERE id = ?", byte[].class, userId);
+    }
+}
@@ -0,0 +1,230 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.FeedbackChangedEvent;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Subscribes, publishes and replays against a service of its own with a replay buffer of 4 and
+// at most 4 queued events per connection. Each emitter is attached to a recording handler in
+// place of the servlet response, which writes down every event as "name id" and can be made to
+// block like a client that stopped reading.
+class EventStreamServiceTest {
+
+    private static final long A = 1L;
+    private static final long B = 2L;
+    private static final long C = 3L;
+
+    private EventStreamService service;
+    private String bootId;
+    private long swapRequestId = 100;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventStreamService();
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "replaySize", 4);
+        ReflectionTestUtils.setField(service, "maxQueued", 4);
+        service.allocateReplayBuffer();
+        bootId = (String) ReflectionTestUtils.getField(service, "bootId");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.closeAll();
+    }
+
+    @Test
+    void publishReachesEachParticipantOnce() throws Exception {
+        Recorder a = subscribe(A, null);
+        Recorder b = subscribe(B, null);
+        Recorder c = subscribe(C, null);
+
+        swapRequest(A, B);
+        feedback(B, A);
+        swapRequest(A, A);
+        swapRequest(C, C);
+
+        assertEquals(List.of("swap-request " + id(1), "feedback " + id(2), "swap-request " + id(3)), a.await(3));
+        assertEquals(List.of("swap-request " + id(1), "feedback " + id(2)), b.await(2));
+        // C's only event is the fourth, so the earlier ones were never queued for it
+        assertEquals(List.of("swap-request " + id(4)), c.await(1));
+        assertEquals(3, service.getConnectionCount());
+    }
+
+    @Test
+    void replaysWhatTheClientMissedAfterItsLastEventId() throws Exception {
+        swapRequest(A, B);
+        swapRequest(B, C);
+        feedback(C, A);
+
+        Recorder a = subscribe(A, id(1));
+        swapRequest(B, A);
+        assertEquals(List.of("feedback " + id(3), "swap-request " + id(4)), a.await(2));
+
+        // Up to date: nothing is replayed, and only the next event follows
+        Recorder c = subscribe(C, id(4));
+        swapRequest(C, B);
+        assertEquals(List.of("swap-request " + id(5)), c.await(1));
+    }
+
+    @Test
+    void idsThisInstanceDidNotIssueAskForAResync() throws Exception {
+        swapRequest(A, B);
+        swapRequest(A, B);
+
+        // Another boot, an id from the future, and text that is not an id
+        for (String lastEventId : List.of("previousboot-1", id(3), "garbage", bootId + "-x")) {
+            Recorder a = subscribe(A, lastEventId);
+            assertEquals(List.of("resync " + id(2)), a.await(1), lastEventId);
+        }
+        // A blank id is a fresh connection
+        Recorder fresh = subscribe(A, " ");
+        swapRequest(A, B);
+        assertEquals(List.of("swap-request " + id(3)), fresh.await(1));
+    }
+
+    @Test
+    void replayBufferWrapsAroundAndKeepsTheLatestEvents() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            swapRequest(A, B);
+        }
+
+        // Sequences 7 to 10 are still held in slots 3, 0, 1, 2
+        Recorder justInside = subscribe(A, id(6));
+        assertEquals(List.of("swap-request " + id(7), "swap-request " + id(8),
+                "swap-request " + id(9), "swap-request " + id(10)), justInside.await(4));
+
+        // 6 has been overwritten by 10
+        Recorder tooFarBehind = subscribe(A, id(5));
+        assertEquals(List.of("resync " + id(10)), tooFarBehind.await(1));
+    }
+
+    @Test
+    void clientThatFallsBehindIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        Recorder slow = subscribe(A, null);
+        Recorder other = subscribe(C, null);
+        slow.block();
+
+        // The first event is being written and blocks; the next four fill the queue
+        swapRequest(A, B);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            swapRequest(A, B);
+        }
+        assertEquals(2, service.getConnectionCount());
+
+        // One more overflows it. Publishing must not wait for the blocked write.
+        CompletableFuture.runAsync(() -> swapRequest(A, B)).get(5, TimeUnit.SECONDS);
+        assertEquals(1, service.getConnectionCount());
+        feedback(C, B);
+        assertEquals(List.of("feedback " + id(7)), other.await(1));
+
+        slow.unblock();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals("swap-request " + id(1), slow.await(1).get(0));
+
+        // Reconnecting resumes after the last id the client got, as far back as the buffer holds
+        Recorder resumed = subscribe(A, id(3));
+        assertEquals(List.of("swap-request " + id(4), "swap-request " + id(5), "swap-request " + id(6)),
+                resumed.await(3));
+    }
+
+    private void swapRequest(long requesterId, long providerId) {
+        service.onSwapRequestChanged(new SwapRequestChangedEvent(
+                swapRequestId++, requesterId, providerId, null, SwapStatus.PENDING));
+    }
+
+    private void feedback(long reviewerId, long recipientId) {
+        service.onFeedbackChanged(new FeedbackChangedEvent(
+                FeedbackChangedEvent.ChangeType.CREATED, 1L, swapRequestId, reviewerId, recipientId, 5));
+    }
+
+    private String id(long sequence) {
+        return bootId + "-" + sequence;
+    }
+
+    private Recorder subscribe(long userId, String lastEventId) throws Exception {
+        SseEmitter emitter = service.subscribe(userId, lastEventId);
+        Recorder recorder = new Recorder();
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] {handlerType}, recorder);
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+        return recorder;
+    }
+
+    // Stands in for the servlet response an emitter writes to
+    private static final class Recorder implements InvocationHandler {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
+            if (method.getName().equals("send") && args.length == 1) {
+                sending.countDown();
+                gate.await(10, TimeUnit.SECONDS);
+                record((Set<?>) args[0]);
+            } else if (method.getName().equals("complete")) {
+                completed.countDown();
+            }
+            return null;
+        }
+
+        // One event is "id:...\nevent:...\ndata:", the payload, "\n\n". What was sent before the
+        // emitter was attached arrives as one call holding several events.
+        private void record(Set<?> items) {
+            String id = null;
+            for (Object item : items) {
+                if (!(((ResponseBodyEmitter.DataWithMediaType) item).getData() instanceof String part)) {
+                    continue;
+                }
+                for (String line : part.split("\n")) {
+                    if (line.startsWith("id:")) {
+                        id = line.substring(3);
+                    } else if (line.startsWith("event:")) {
+                        events.add(line.substring(6) + " " + id);
+                    }
+                }
+            }
+        }
+
+        private void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        private void unblock() {
+            gate.countDown();
+        }
+
+        // Waits for count events and returns them
+        private List<String> await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return new ArrayList<>(events);
+        }
+    }
+}
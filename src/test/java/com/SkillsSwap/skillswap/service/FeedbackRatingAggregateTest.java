@@ -0,0 +1,110 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.UserRating;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// The first feedbacks for a user race to create their user_ratings row. Every one of them must
+// commit and be counted exactly once, whichever transaction's insert wins.
+@SpringBootTest
+class FeedbackRatingAggregateTest {
+
+    private static final int REVIEWERS = 8;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private UserRatingRepository userRatingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void concurrentFirstFeedbacksAreAllCounted() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User recipient = userRepository.save(new User("rated-" + suffix, "password", "Recipient", "Weekends"));
+        userIds.add(recipient.getId());
+        Skill recipientSkill = skillRepository.save(new Skill("Rated Skill " + suffix, "", true, recipient));
+
+        List<Long> reviewerIds = new ArrayList<>();
+        List<Long> swapRequestIds = new ArrayList<>();
+        for (int i = 0; i < REVIEWERS; i++) {
+            User reviewer = userRepository.save(new User("reviewer-" + suffix + "-" + i, "password", "Reviewer", "Weekends"));
+            userIds.add(reviewer.getId());
+            Skill skill = skillRepository.save(new Skill("Reviewer Skill " + suffix + "-" + i, "", true, reviewer));
+            SwapRequest swapRequest = new SwapRequest(reviewer, recipient, recipientSkill, skill, "rated " + i);
+            swapRequest.setStatus(SwapStatus.COMPLETED);
+            reviewerIds.add(reviewer.getId());
+            swapRequestIds.add(swapRequestRepository.save(swapRequest).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(REVIEWERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REVIEWERS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return feedbackService.createFeedback(reviewerIds.get(index), recipient.getId(),
+                            swapRequestIds.get(index), index % 5 + 1, "");
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        UserRating aggregate = userRatingRepository.findById(recipient.getId()).orElseThrow();
+        long expectedSum = 0;
+        for (int i = 0; i < REVIEWERS; i++) {
+            expectedSum += i % 5 + 1;
+        }
+        assertEquals(REVIEWERS, aggregate.getRatingCount());
+        assertEquals(expectedSum, aggregate.getRatingSum());
+        assertNotNull(aggregate.getDecayedWeight());
+    }
+}
@@ -0,0 +1,197 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.Feedback;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.FeedbackRepository;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compares, per lookup, what the former all-EAGER mapping loaded with what the lookups the
+// services call load now: SQL statements, entities materialized and heap allocated by the calling
+// thread. The EAGER mapping is reproduced by a JOIN FETCH of every association it pulled in. The
+// third column is the same lookup as a jakarta.persistence.fetchgraph over a plain query, which
+// is what these repository methods were first written as; it is kept to show why they are JOIN
+// FETCH queries now. Only runs with -Dbenchmark=true; size with -Dbenchmark.lookups. The seeded
+// rows are deleted afterwards.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn",
+        "outbox.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanBenchmarkTest {
+
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 500);
+
+    private static final String EAGER_SWAP_REQUEST = "SELECT sr FROM SwapRequest sr " +
+            "JOIN FETCH sr.requester JOIN FETCH sr.provider " +
+            "JOIN FETCH sr.requestedSkill rs JOIN FETCH rs.user JOIN FETCH sr.offeredSkill os JOIN FETCH os.user " +
+            "WHERE sr.id = ?1";
+    private static final String SWAP_REQUEST = "SELECT sr FROM SwapRequest sr WHERE sr.id = ?1";
+    private static final String FEEDBACK = "SELECT f FROM Feedback f WHERE f.id = ?1";
+    private static final String EAGER_FEEDBACK = "SELECT f FROM Feedback f " +
+            "JOIN FETCH f.reviewer JOIN FETCH f.recipient JOIN FETCH f.swapRequest sr " +
+            "JOIN FETCH sr.requester JOIN FETCH sr.provider " +
+            "JOIN FETCH sr.requestedSkill rs JOIN FETCH rs.user JOIN FETCH sr.offeredSkill os JOIN FETCH os.user " +
+            "WHERE f.id = ?1";
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> swapRequestIds = new ArrayList<>();
+    private final List<Long> feedbackIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = userRepository.save(new User("fetch-owner-" + suffix, "password", "Owner", "Weekends"));
+        userIds.add(owner.getId());
+        Skill ownerSkill = skillRepository.save(new Skill("Fetch Skill " + suffix, "", true, owner));
+        for (int i = 0; i < 50; i++) {
+            User counterpart = userRepository.save(new User("fetch-counterpart-" + suffix + "-" + i, "password", "Counterpart", "Weekends"));
+            userIds.add(counterpart.getId());
+            Skill skill = skillRepository.save(new Skill("Fetch Skill " + suffix + "-" + i, "", true, counterpart));
+            SwapRequest swapRequest = swapRequestRepository.save(new SwapRequest(owner, counterpart, skill, ownerSkill, "seed " + i));
+            swapRequestIds.add(swapRequest.getId());
+            feedbackIds.add(feedbackRepository.save(new Feedback(counterpart, owner, swapRequest, 4, "seed " + i)).getId());
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void swapRequestPermissionCheck() {
+        Measurement eager = measure(swapRequestIds, id -> query(EAGER_SWAP_REQUEST, SwapRequest.class, id)
+                .getProvider().getUsername());
+        Measurement graph = measure(swapRequestIds, id -> withGraph(SWAP_REQUEST, SwapRequest.class, id,
+                "requester", "provider").getProvider().getUsername());
+        Measurement repository = measure(swapRequestIds, id -> swapRequestRepository.findWithParticipantsById(id)
+                .orElseThrow().getProvider().getUsername());
+        report("swap request, participants", eager, graph, repository);
+    }
+
+    @Test
+    void swapRequestDetail() {
+        Measurement eager = measure(swapRequestIds, id -> query(EAGER_SWAP_REQUEST, SwapRequest.class, id)
+                .getOfferedSkill().getName());
+        Measurement graph = measure(swapRequestIds, id -> withGraph(SWAP_REQUEST, SwapRequest.class, id,
+                "requester", "provider", "requestedSkill", "offeredSkill").getOfferedSkill().getName());
+        Measurement repository = measure(swapRequestIds, id -> swapRequestRepository.findDetailById(id)
+                .orElseThrow().getOfferedSkill().getName());
+        report("swap request, detail", eager, graph, repository);
+    }
+
+    @Test
+    void feedbackDetail() {
+        Measurement eager = measure(feedbackIds, id -> query(EAGER_FEEDBACK, Feedback.class, id)
+                .getReviewer().getUsername());
+        Measurement graph = measure(feedbackIds, id -> withGraph(FEEDBACK, Feedback.class, id,
+                "reviewer", "recipient").getReviewer().getUsername());
+        Measurement repository = measure(feedbackIds, id -> feedbackRepository.findDetailById(id)
+                .orElseThrow().getReviewer().getUsername());
+        report("feedback, detail", eager, graph, repository);
+    }
+
+    private <T> T query(String jpql, Class<T> type, Long id) {
+        return entityManager.createQuery(jpql, type).setParameter(1, id).getSingleResult();
+    }
+
+    private <T> T withGraph(String jpql, Class<T> type, Long id, String... attributes) {
+        EntityGraph<T> graph = entityManager.createEntityGraph(type);
+        graph.addAttributeNodes(attributes);
+        return entityManager.createQuery(jpql, type).setHint(FETCH_GRAPH, graph).setParameter(1, id).getSingleResult();
+    }
+
+    // Each lookup in its own read-only transaction, as a request would run it; the first
+    // 50 only warm up
+    private Measurement measure(List<Long> ids, Function<Long, Object> lookup) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < 50; i++) {
+            Long id = ids.get(i % ids.size());
+            transaction.execute(tx -> lookup.apply(id));
+        }
+        statistics.clear();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < LOOKUPS; i++) {
+            Long id = ids.get(i % ids.size());
+            transaction.execute(tx -> lookup.apply(id));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(
+                (double) statistics.getPrepareStatementCount() / LOOKUPS,
+                (double) statistics.getEntityLoadCount() / LOOKUPS,
+                (double) allocated / LOOKUPS);
+    }
+
+    private static void report(String label, Measurement eager, Measurement graph, Measurement repository) {
+        System.out.printf("%-28s %-12s %5.1f statements %5.1f entities %9.0f bytes%n",
+                label, "EAGER", eager.statements, eager.entities, eager.bytes);
+        System.out.printf("%-28s %-12s %5.1f statements %5.1f entities %9.0f bytes%n",
+                "", "fetch graph", graph.statements, graph.entities, graph.bytes);
+        System.out.printf("%-28s %-12s %5.1f statements %5.1f entities %9.0f bytes   (%d lookups)%n",
+                "", "repository", repository.statements, repository.entities, repository.bytes, LOOKUPS);
+        assertTrue(repository.statements <= 1, label + " takes more than one statement");
+        assertTrue(repository.entities <= eager.entities, label + " loads more entities than the EAGER mapping did");
+    }
+
+    private record Measurement(double statements, double entities, double bytes) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.Feedback;
+import com.SkillsSwap.skillswap.model.InboxCounters;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Walks two users through a request's whole life with the real services and, after every step,
+// compares the stored counters with the same counts taken straight from swap_requests and
+// feedbacks. The provider registers, so starts with a row; the requester is saved directly, so
+// its row is first built from those tables by the change that needs it. The provider's /inbox
+// ETag is followed alongside: it must move whenever the provider's counts do and be answered
+// 304 while they do not.
+@SpringBootTest
+@AutoConfigureMockMvc
+class InboxCounterServiceTest {
+
+    private static final String INBOX = "/api/swap-requests/inbox";
+
+    @Autowired
+    private InboxCounterService inboxCounterService;
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private User requester;
+    private User provider;
+    private Skill requestedSkill;
+    private Skill offeredSkill;
+
+    @BeforeEach
+    void createUsers() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        requester = userRepository.save(new User("inbox-requester-" + suffix, "password", "Requester", "Weekends"));
+        userIds.add(requester.getId());
+        provider = userService.registerUser(new User("inbox-provider-" + suffix, "password", "Provider", "Weekends"));
+        userIds.add(provider.getId());
+        requestedSkill = skillRepository.save(new Skill("Inbox Skill A " + suffix, "", true, provider));
+        offeredSkill = skillRepository.save(new Skill("Inbox Skill B " + suffix, "", true, requester));
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void countersFollowARequestThroughItsLife() throws Exception {
+        // Registered with an empty row; an unchanged revision is answered 304
+        assertCounters(provider, 0, 0, 0, 0);
+        String etag = inboxETag(provider);
+        assertNotModified(provider, etag);
+
+        Long swapped = create();
+        Long expiring = create();
+        assertCounters(provider, 2, 0, 0, 0);
+        assertCounters(requester, 0, 2, 0, 0);
+        etag = assertChanged(provider, etag);
+
+        swapRequestService.acceptSwapRequest(swapped);
+        assertCounters(provider, 1, 0, 1, 0);
+        assertCounters(requester, 0, 1, 1, 0);
+        etag = assertChanged(provider, etag);
+
+        swapRequestService.completeSwapRequest(swapped);
+        assertCounters(provider, 1, 0, 0, 1);
+        assertCounters(requester, 0, 1, 0, 1);
+        etag = assertChanged(provider, etag);
+
+        // Only the reviewer's count moves, so the provider's ETag stays put
+        Feedback feedback = feedbackService.createFeedback(requester.getId(), provider.getId(), swapped, 5, "great");
+        assertCounters(requester, 0, 1, 0, 0);
+        assertCounters(provider, 1, 0, 0, 1);
+        assertNotModified(provider, etag);
+
+        feedbackService.deleteFeedback(feedback.getId());
+        assertCounters(requester, 0, 1, 0, 1);
+        assertNotModified(provider, etag);
+
+        jdbcTemplate.update("UPDATE swap_requests SET request_date = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(30), expiring);
+        expiryJob().expireStaleRequests();
+        assertCounters(provider, 0, 0, 0, 1);
+        assertCounters(requester, 0, 0, 0, 1);
+        etag = assertChanged(provider, etag);
+        assertNotModified(provider, etag);
+    }
+
+    private Long create() {
+        return swapRequestService.createSwapRequest(requester.getId(), provider.getId(),
+                requestedSkill.getId(), offeredSkill.getId(), "inbox").getId();
+    }
+
+    // The stored row, the counts recomputed from the tables and /inbox must all agree
+    private void assertCounters(User user, long pendingReceived, long pendingSent, long accepted,
+                                long awaitingFeedback) throws Exception {
+        List<Long> expected = List.of(pendingReceived, pendingSent, accepted, awaitingFeedback);
+        InboxCounters counters = inboxCounterService.getCounters(user.getId());
+        assertEquals(expected, List.of(counters.getPendingReceived(), counters.getPendingSent(),
+                counters.getAccepted(), counters.getAwaitingFeedback()), "stored counters of " + user.getUsername());
+        assertEquals(expected, freshCounts(user.getId()), "fresh counts of " + user.getUsername());
+        mockMvc.perform(get(INBOX).with(user(user.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pendingReceived").value(pendingReceived))
+                .andExpect(jsonPath("$.pendingSent").value(pendingSent))
+                .andExpect(jsonPath("$.accepted").value(accepted))
+                .andExpect(jsonPath("$.awaitingFeedback").value(awaitingFeedback));
+    }
+
+    private List<Long> freshCounts(Long userId) {
+        String awaiting = "SELECT COUNT(*) FROM swap_requests s WHERE (s.provider_id = ? OR s.requester_id = ?) " +
+                "AND s.status = 'COMPLETED' " +
+                "AND NOT EXISTS (SELECT 1 FROM feedbacks f WHERE f.swap_request_id = s.id AND f.reviewer_id = ?)";
+        return List.of(
+                count("SELECT COUNT(*) FROM swap_requests WHERE provider_id = ? AND status = 'PENDING'", userId),
+                count("SELECT COUNT(*) FROM swap_requests WHERE requester_id = ? AND status = 'PENDING'", userId),
+                count("SELECT COUNT(*) FROM swap_requests WHERE (provider_id = ? OR requester_id = ?) " +
+                        "AND status = 'ACCEPTED'", userId, userId),
+                count(awaiting, userId, userId, userId));
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private String inboxETag(User user) throws Exception {
+        return mockMvc.perform(get(INBOX).with(user(user.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // The previous ETag no longer matches; returns the new one
+    private String assertChanged(User user, String previous) throws Exception {
+        mockMvc.perform(get(INBOX).with(user(user.getUsername())).header(HttpHeaders.IF_NONE_MATCH, previous))
+                .andExpect(status().isOk());
+        String current = inboxETag(user);
+        assertNotEquals(previous, current);
+        return current;
+    }
+
+    private void assertNotModified(User user, String etag) throws Exception {
+        mockMvc.perform(get(INBOX).with(user(user.getUsername())).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // A job of its own, enabled, so that the shared one stays switched off; it publishes through
+    // the context, so InboxCounterService sees the expiry as it would in production
+    private SwapRequestExpiryJob expiryJob() {
+        SwapRequestExpiryJob job = new SwapRequestExpiryJob(swapRequestRepository, leaseService,
+                eventPublisher, transactionManager);
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "pendingDays", 14L);
+        ReflectionTestUtils.setField(job, "batchSize", 500);
+        ReflectionTestUtils.setField(job, "maxBatchesPerRun", 20);
+        ReflectionTestUtils.setField(job, "leaseSeconds", 120L);
+        return job;
+    }
+}
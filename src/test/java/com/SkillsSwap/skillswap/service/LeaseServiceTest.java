@@ -0,0 +1,136 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two LeaseService instances over the one datasource stand in for two nodes. Every test uses
+// lease names of its own, so the jobs' leases are never touched.
+@SpringBootTest
+class LeaseServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LeaseService nodeA;
+    private LeaseService nodeB;
+    private String prefix;
+
+    @BeforeEach
+    void createNodes() {
+        nodeA = new LeaseService(schedulerLeaseRepository, transactionManager);
+        nodeB = new LeaseService(schedulerLeaseRepository, transactionManager);
+        prefix = "lease-test-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void deleteLeases() {
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name LIKE ?", prefix + "%");
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLease() {
+        assertTrue(nodeA.tryAcquire(prefix, LEASE));
+        assertFalse(nodeB.tryAcquire(prefix, LEASE));
+        assertEquals(nodeA.getOwner(), owner(prefix));
+    }
+
+    @Test
+    void concurrentFirstAcquiresPickOneWinner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 50; i++) {
+                String name = prefix + "-" + i;
+                // Neither row exists yet, so both nodes also race to insert it
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (LeaseService node : List.of(nodeA, nodeB)) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return node.tryAcquire(name, LEASE);
+                    }));
+                }
+                start.countDown();
+                boolean a = results.get(0).get();
+                boolean b = results.get(1).get();
+                assertTrue(a ^ b, "exactly one winner for " + name + ", got " + a + " and " + b);
+                assertEquals((a ? nodeA : nodeB).getOwner(), owner(name));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void holderRenewsItsOwnLease() {
+        assertTrue(nodeA.tryAcquire(prefix, Duration.ofSeconds(30)));
+        LocalDateTime firstUntil = leaseUntil(prefix);
+
+        assertTrue(nodeA.tryAcquire(prefix, LEASE));
+        assertTrue(leaseUntil(prefix).isAfter(firstUntil));
+        assertFalse(nodeB.tryAcquire(prefix, LEASE));
+    }
+
+    @Test
+    void anotherNodeTakesOverOnceTheLeaseRunsOut() {
+        assertTrue(nodeA.tryAcquire(prefix, LEASE));
+        // A stopped renewing
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = ? WHERE name = ?",
+                LocalDateTime.now().minusSeconds(1), prefix);
+
+        assertTrue(nodeB.tryAcquire(prefix, LEASE));
+        assertEquals(nodeB.getOwner(), owner(prefix));
+        assertFalse(nodeA.tryAcquire(prefix, LEASE));
+    }
+
+    @Test
+    void releaseFreesTheLeaseOnlyForItsHolder() {
+        assertTrue(nodeA.tryAcquire(prefix, LEASE));
+
+        nodeB.release(prefix);
+        assertEquals(nodeA.getOwner(), owner(prefix));
+        assertFalse(nodeB.tryAcquire(prefix, LEASE));
+
+        nodeA.release(prefix);
+        assertNull(owner(prefix));
+        assertTrue(nodeB.tryAcquire(prefix, LEASE));
+        assertEquals(nodeB.getOwner(), owner(prefix));
+    }
+
+    private String owner(String name) {
+        return jdbcTemplate.queryForObject("SELECT owner FROM scheduler_leases WHERE name = ?", String.class, name);
+    }
+
+    private LocalDateTime leaseUntil(String name) {
+        return jdbcTemplate.queryForObject("SELECT lease_until FROM scheduler_leases WHERE name = ?",
+                LocalDateTime.class, name);
+    }
+}
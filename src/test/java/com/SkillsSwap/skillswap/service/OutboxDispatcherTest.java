@@ -0,0 +1,207 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.OutboxSubscriber;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.OutboxEvent;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives OutboxDispatcher by hand against rows written straight to outbox_events, with a
+// subscriber that records what it is given and can be told to fail. The scheduled poll is pushed
+// out of the way so that only the test dispatches. Each event's requesterId carries its position
+// within its aggregate, which is what the ordering checks compare.
+@SpringBootTest(properties = "outbox.poll-interval-ms=3600000")
+class OutboxDispatcherTest {
+
+    private static final long FIRST_AGGREGATE = 9_000_001L;
+    private static final String LEASE_NAME = "outbox-dispatcher";
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() {
+        subscriber.delivered.clear();
+        subscriber.failuresLeft.clear();
+    }
+
+    @AfterEach
+    void deleteEvents() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id >= ?", FIRST_AGGREGATE);
+        jdbcTemplate.update("UPDATE scheduler_leases SET owner = NULL, lease_until = ? WHERE name = ?",
+                LocalDateTime.now().minusSeconds(1), LEASE_NAME);
+    }
+
+    @Test
+    void deliversEachAggregateInOrder() throws Exception {
+        int aggregates = 6;
+        int eventsPerAggregate = 5;
+        for (int position = 0; position < eventsPerAggregate; position++) {
+            for (int a = 0; a < aggregates; a++) {
+                append(FIRST_AGGREGATE + a, position);
+            }
+        }
+
+        outboxDispatcher.dispatch();
+
+        for (int a = 0; a < aggregates; a++) {
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L), subscriber.delivered(FIRST_AGGREGATE + a),
+                    "delivery order for aggregate " + (FIRST_AGGREGATE + a));
+        }
+        assertEquals(0, remaining());
+    }
+
+    @Test
+    void failedEventIsRetriedWithBackoffAndHoldsBackItsAggregate() throws Exception {
+        long failing = FIRST_AGGREGATE;
+        long other = FIRST_AGGREGATE + 1;
+        OutboxEvent first = append(failing, 0);
+        append(failing, 1);
+        append(other, 0);
+        subscriber.failuresLeft.put(failing, 2);
+
+        LocalDateTime beforeFirstAttempt = LocalDateTime.now();
+        outboxDispatcher.dispatch();
+
+        // The other aggregate is not held up; the failing one stops at its first event
+        assertEquals(List.of(0L), subscriber.delivered(other));
+        assertEquals(List.of(), subscriber.delivered(failing));
+        OutboxEvent failed = outboxEventRepository.findById(first.getId()).orElseThrow();
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("subscriber down"), failed.getLastError());
+        assertBackoff(beforeFirstAttempt, failed.getAvailableAt(), Duration.ofSeconds(1));
+
+        // Nothing is due yet, so another pass delivers nothing
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(), subscriber.delivered(failing));
+
+        makeDue(first.getId());
+        LocalDateTime beforeSecondAttempt = LocalDateTime.now();
+        outboxDispatcher.dispatch();
+        failed = outboxEventRepository.findById(first.getId()).orElseThrow();
+        assertEquals(2, failed.getAttempts());
+        assertBackoff(beforeSecondAttempt, failed.getAvailableAt(), Duration.ofSeconds(2));
+
+        makeDue(first.getId());
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(0L, 1L), subscriber.delivered(failing));
+        assertEquals(0, remaining());
+    }
+
+    @Test
+    void waitsForAnotherNodesLeaseAndTakesOverOnceItRunsOut() throws Exception {
+        append(FIRST_AGGREGATE, 0);
+        // Make sure the lease row exists, then hand it to another node
+        outboxDispatcher.dispatch();
+        append(FIRST_AGGREGATE, 1);
+        jdbcTemplate.update("UPDATE scheduler_leases SET owner = ?, lease_until = ? WHERE name = ?",
+                "other-node", LocalDateTime.now().plusMinutes(5), LEASE_NAME);
+
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(0L), subscriber.delivered(FIRST_AGGREGATE));
+        assertEquals(1, remaining());
+
+        // The other node stopped renewing
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = ? WHERE name = ?",
+                LocalDateTime.now().minusSeconds(1), LEASE_NAME);
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(0L, 1L), subscriber.delivered(FIRST_AGGREGATE));
+        assertEquals(0, remaining());
+    }
+
+    private OutboxEvent append(long swapRequestId, long position) throws Exception {
+        SwapRequestChangedEvent event = new SwapRequestChangedEvent(
+                swapRequestId, position, null, SwapStatus.PENDING, SwapStatus.ACCEPTED);
+        return outboxEventRepository.save(new OutboxEvent("SwapRequest", swapRequestId, "SwapRequestChanged",
+                objectMapper.writeValueAsString(event), LocalDateTime.now()));
+    }
+
+    private void makeDue(Long outboxEventId) {
+        jdbcTemplate.update("UPDATE outbox_events SET available_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), outboxEventId);
+    }
+
+    private long remaining() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id >= ?", Long.class, FIRST_AGGREGATE);
+        return count != null ? count : 0;
+    }
+
+    private static void assertBackoff(LocalDateTime attemptedAfter, LocalDateTime retryAt, Duration delay) {
+        assertTrue(!retryAt.isBefore(attemptedAfter.plus(delay)), "retry at " + retryAt + " is sooner than " + delay);
+        assertTrue(retryAt.isBefore(LocalDateTime.now().plus(delay).plusSeconds(1)), "retry at " + retryAt + " is later than " + delay);
+    }
+
+    // Records requesterId (the position) per swap request; fails while failuresLeft says so
+    static class RecordingSubscriber implements OutboxSubscriber<SwapRequestChangedEvent> {
+
+        private final Map<Long, List<Long>> delivered = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> failuresLeft = new ConcurrentHashMap<>();
+
+        @Override
+        public Class<SwapRequestChangedEvent> eventType() {
+            return SwapRequestChangedEvent.class;
+        }
+
+        @Override
+        public void handle(SwapRequestChangedEvent event) {
+            if (event.swapRequestId() < FIRST_AGGREGATE) {
+                return;
+            }
+            Integer failures = failuresLeft.get(event.swapRequestId());
+            if (failures != null) {
+                if (failures > 1) {
+                    failuresLeft.put(event.swapRequestId(), failures - 1);
+                } else {
+                    failuresLeft.remove(event.swapRequestId());
+                }
+                throw new IllegalStateException("subscriber down");
+            }
+            delivered.computeIfAbsent(event.swapRequestId(), id -> new ArrayList<>()).add(event.requesterId());
+        }
+
+        List<Long> delivered(long swapRequestId) {
+            return delivered.getOrDefault(swapRequestId, List.of());
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
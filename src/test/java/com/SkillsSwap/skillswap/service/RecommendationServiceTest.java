@@ -0,0 +1,117 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.event.UserChangedEvent;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRatingRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.UserDocument;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.ReciprocalMatch;
+import com.SkillsSwap.skillswap.service.RecommendationService.Feed;
+import com.SkillsSwap.skillswap.service.RecommendationService.PartnerSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Feed storage and the staleness refresh, against mocked repositories and index. Which partner a
+// feed holds tells the builds apart.
+class RecommendationServiceTest {
+
+    private static final long USER = 1L;
+
+    private final UserSkillBitmapIndex index = mock(UserSkillBitmapIndex.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecommendationService(index, userRepository,
+                mock(SwapRequestRepository.class), mock(UserRatingRepository.class));
+        ReflectionTestUtils.setField(service, "feedSize", 20);
+        ReflectionTestUtils.setField(service, "batchSize", 200);
+        ReflectionTestUtils.setField(service, "maxStalenessMinutes", 15L);
+        ReflectionTestUtils.setField(service, "refreshIntervalMs", 5000L);
+
+        when(index.isReady()).thenReturn(true);
+        when(userRepository.findById(USER)).thenReturn(Optional.of(user(USER)));
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(user(2), user(3)));
+    }
+
+    @Test
+    void slowerOlderBuildDoesNotReplaceNewerFeed() throws Exception {
+        CountDownLatch slowBuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowBuild = new CountDownLatch(1);
+        when(index.findReciprocalMatches(eq(USER), anyInt()))
+                .thenAnswer(invocation -> {
+                    slowBuildStarted.countDown();
+                    releaseSlowBuild.await(5, TimeUnit.SECONDS);
+                    return List.of(match(2));
+                })
+                .thenReturn(List.of(match(3)));
+
+        // A first request builds on the spot and stalls; a change meanwhile gets a newer build stored
+        CompletableFuture<Feed> served = CompletableFuture.supplyAsync(() -> service.getFeed(user(USER)));
+        assertTrue(slowBuildStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(5);
+        service.onUserChanged(new UserChangedEvent(USER,
+                new UserDocument(USER, true, true, WeeklyAvailability.NONE, null, null)));
+        service.refreshFeeds();
+        releaseSlowBuild.countDown();
+
+        assertEquals(List.of(3L), partnerIds(served.get(5, TimeUnit.SECONDS)));
+        assertEquals(List.of(3L), partnerIds(service.getFeed(user(USER))));
+    }
+
+    @Test
+    void feedIsRebuiltOnceItComesDue() {
+        when(index.findReciprocalMatches(eq(USER), anyInt())).thenReturn(List.of(match(2)));
+        service.getFeed(user(USER));
+        // A second build supersedes the first one's place in the queue
+        service.onUserChanged(new UserChangedEvent(USER,
+                new UserDocument(USER, true, true, WeeklyAvailability.NONE, null, null)));
+        service.refreshFeeds();
+        verify(index, times(2)).findReciprocalMatches(eq(USER), anyInt());
+
+        // Nothing is due yet
+        service.refreshFeeds();
+        verify(index, times(2)).findReciprocalMatches(eq(USER), anyInt());
+
+        // An interval as long as the bound makes every feed due now; the user is rebuilt once
+        ReflectionTestUtils.setField(service, "refreshIntervalMs", Duration.ofMinutes(15).toMillis());
+        service.refreshFeeds();
+        verify(index, times(3)).findReciprocalMatches(eq(USER), anyInt());
+    }
+
+    private static List<Long> partnerIds(Feed feed) {
+        return feed.partners().stream().map(PartnerSuggestion::userId).toList();
+    }
+
+    private static ReciprocalMatch match(long userId) {
+        return new ReciprocalMatch(userId, List.of("Guitar"), List.of("Chess"), 0);
+    }
+
+    private static User user(long id) {
+        User user = new User("user-" + id, "password", "User " + id, "Weekends");
+        user.setId(id);
+        return user;
+    }
+}
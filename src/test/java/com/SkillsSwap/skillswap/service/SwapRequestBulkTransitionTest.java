@@ -0,0 +1,139 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.model.InboxCounters;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.service.SwapRequestService.BulkAction;
+import com.SkillsSwap.skillswap.service.SwapRequestService.BulkOutcome;
+import com.SkillsSwap.skillswap.service.SwapRequestService.BulkResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Per-id outcomes of bulkTransition over a seeded set: requester R has sent provider P two
+// PENDING requests, one ACCEPTED and one COMPLETED, and an outsider O has sent P one PENDING
+// request of its own. Every call also names an id that does not exist and repeats an id.
+@SpringBootTest
+class SwapRequestBulkTransitionTest {
+
+    private static final Long MISSING = -1L;
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private InboxCounterService inboxCounterService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User requester;
+    private User provider;
+    private User outsider;
+    private Long pending1;
+    private Long pending2;
+    private Long accepted;
+    private Long completed;
+    private Long outsiders;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        requester = userRepository.save(new User("bulk-requester-" + suffix, "password", "Requester", "Weekends"));
+        provider = userRepository.save(new User("bulk-provider-" + suffix, "password", "Provider", "Weekends"));
+        outsider = userRepository.save(new User("bulk-outsider-" + suffix, "password", "Outsider", "Weekends"));
+        Skill providerSkill = skillRepository.save(new Skill("Bulk Skill P " + suffix, "", true, provider));
+        Skill requesterSkill = skillRepository.save(new Skill("Bulk Skill R " + suffix, "", true, requester));
+        Skill outsiderSkill = skillRepository.save(new Skill("Bulk Skill O " + suffix, "", true, outsider));
+
+        pending1 = create(requester, providerSkill, requesterSkill, SwapStatus.PENDING);
+        pending2 = create(requester, providerSkill, requesterSkill, SwapStatus.PENDING);
+        accepted = create(requester, providerSkill, requesterSkill, SwapStatus.ACCEPTED);
+        completed = create(requester, providerSkill, requesterSkill, SwapStatus.COMPLETED);
+        outsiders = create(outsider, providerSkill, outsiderSkill, SwapStatus.PENDING);
+    }
+
+    @AfterEach
+    void deleteSeeded() {
+        SeededUsers.delete(jdbcTemplate, List.of(requester.getId(), provider.getId(), outsider.getId()));
+    }
+
+    @Test
+    void acceptReportsEachIdOnceInTheOrderGiven() {
+        List<BulkResult> results = swapRequestService.bulkTransition(provider.getId(), BulkAction.ACCEPT,
+                List.of(pending1, completed, MISSING, pending1, accepted, pending2));
+
+        assertEquals(List.of(
+                new BulkResult(pending1, BulkOutcome.APPLIED, SwapStatus.ACCEPTED),
+                new BulkResult(completed, BulkOutcome.CONFLICT, SwapStatus.COMPLETED),
+                new BulkResult(MISSING, BulkOutcome.NOT_FOUND, null),
+                new BulkResult(accepted, BulkOutcome.CONFLICT, SwapStatus.ACCEPTED),
+                new BulkResult(pending2, BulkOutcome.APPLIED, SwapStatus.ACCEPTED)), results);
+        assertEquals(SwapStatus.ACCEPTED, load(pending1).getStatus());
+        assertNotNull(load(pending1).getResponseDate());
+        assertEquals(SwapStatus.COMPLETED, load(completed).getStatus());
+
+        // Only the provider may accept
+        assertEquals(List.of(new BulkResult(outsiders, BulkOutcome.FORBIDDEN, null)),
+                swapRequestService.bulkTransition(requester.getId(), BulkAction.ACCEPT, List.of(outsiders)));
+        assertEquals(SwapStatus.PENDING, load(outsiders).getStatus());
+    }
+
+    @Test
+    void cancelAppliesPendingAndAcceptedGroupsTogether() {
+        List<BulkResult> results = swapRequestService.bulkTransition(requester.getId(), BulkAction.CANCEL,
+                List.of(accepted, outsiders, pending1, completed, accepted, MISSING));
+
+        assertEquals(List.of(
+                new BulkResult(accepted, BulkOutcome.APPLIED, SwapStatus.CANCELLED),
+                new BulkResult(outsiders, BulkOutcome.FORBIDDEN, null),
+                new BulkResult(pending1, BulkOutcome.APPLIED, SwapStatus.CANCELLED),
+                new BulkResult(completed, BulkOutcome.CONFLICT, SwapStatus.COMPLETED),
+                new BulkResult(MISSING, BulkOutcome.NOT_FOUND, null)), results);
+        assertEquals(List.of(SwapStatus.CANCELLED, SwapStatus.PENDING, SwapStatus.CANCELLED, SwapStatus.COMPLETED),
+                List.of(load(accepted).getStatus(), load(outsiders).getStatus(),
+                        load(pending1).getStatus(), load(completed).getStatus()));
+        assertNull(load(pending1).getResponseDate());
+
+        // Each group's events carry its own previous status: one pending and one accepted
+        // request came off the requester's counts, leaving pending2 and the completed one
+        InboxCounters counters = inboxCounterService.getCounters(requester.getId());
+        assertEquals(List.of(1L, 0L, 1L), List.of(counters.getPendingSent(), counters.getAccepted(),
+                counters.getAwaitingFeedback()));
+    }
+
+    private Long create(User from, Skill requestedSkill, Skill offeredSkill, SwapStatus status) {
+        SwapRequest swapRequest = new SwapRequest(from, provider, requestedSkill, offeredSkill, "bulk");
+        swapRequest.setStatus(status);
+        return swapRequestRepository.save(swapRequest).getId();
+    }
+
+    private SwapRequest load(Long id) {
+        return swapRequestRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,146 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.event.SwapRequestChangedEvent;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A job of its own over the real repository, with batch-size 3 and a publisher that records the
+// events, so each run's batches can be read off what it published. The seeded requests are
+// eight PENDING ones between 20 and 27 days old plus younger and already-answered ones that
+// must be left alone.
+@SpringBootTest
+class SwapRequestExpiryJobTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<SwapRequestChangedEvent> published = new ArrayList<>();
+    private SwapRequestExpiryJob job;
+    private User requester;
+    private User provider;
+    private Skill requestedSkill;
+    private Skill offeredSkill;
+
+    // Oldest first, which is the order the job expires them in
+    private final List<Long> stale = new ArrayList<>();
+    private final List<Long> untouched = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        job = new SwapRequestExpiryJob(swapRequestRepository, leaseService,
+                event -> published.add((SwapRequestChangedEvent) event), transactionManager);
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "pendingDays", 14L);
+        ReflectionTestUtils.setField(job, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(job, "maxBatchesPerRun", 20);
+        ReflectionTestUtils.setField(job, "leaseSeconds", 120L);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        requester = userRepository.save(new User("expiry-requester-" + suffix, "password", "Requester", "Weekends"));
+        provider = userRepository.save(new User("expiry-provider-" + suffix, "password", "Provider", "Weekends"));
+        requestedSkill = skillRepository.save(new Skill("Expiry Skill A " + suffix, "", true, provider));
+        offeredSkill = skillRepository.save(new Skill("Expiry Skill B " + suffix, "", true, requester));
+
+        for (int daysOld = 27; daysOld >= 20; daysOld--) {
+            stale.add(create(SwapStatus.PENDING, daysOld));
+        }
+        untouched.add(create(SwapStatus.PENDING, 13));
+        untouched.add(create(SwapStatus.PENDING, 0));
+        untouched.add(create(SwapStatus.ACCEPTED, 30));
+        untouched.add(create(SwapStatus.REJECTED, 30));
+        untouched.add(create(SwapStatus.CANCELLED, 30));
+    }
+
+    @AfterEach
+    void deleteSeeded() {
+        SeededUsers.delete(jdbcTemplate, List.of(requester.getId(), provider.getId()));
+    }
+
+    @Test
+    void expiresOnlyStalePendingRequests() {
+        job.expireStaleRequests();
+
+        for (Long id : stale) {
+            assertEquals(SwapStatus.EXPIRED, status(id), "request " + id);
+        }
+        assertEquals(List.of(SwapStatus.PENDING, SwapStatus.PENDING, SwapStatus.ACCEPTED,
+                SwapStatus.REJECTED, SwapStatus.CANCELLED), untouched.stream().map(this::status).toList());
+        assertEquals(stale, published.stream().map(SwapRequestChangedEvent::swapRequestId).sorted().toList());
+        for (SwapRequestChangedEvent event : published) {
+            assertEquals(SwapStatus.PENDING, event.previousStatus());
+            assertEquals(SwapStatus.EXPIRED, event.status());
+            assertEquals(requester.getId(), event.requesterId());
+            assertEquals(provider.getId(), event.providerId());
+        }
+
+        // Nothing is left to expire
+        published.clear();
+        job.expireStaleRequests();
+        assertEquals(List.of(), published);
+    }
+
+    @Test
+    void eachBatchTakesTheOldestBatchSizeRows() {
+        ReflectionTestUtils.setField(job, "maxBatchesPerRun", 1);
+
+        // 8 stale rows at 3 per batch: 3, 3, 2, then none
+        List<List<Long>> runs = new ArrayList<>();
+        for (int run = 0; run < 4; run++) {
+            published.clear();
+            job.expireStaleRequests();
+            runs.add(published.stream().map(SwapRequestChangedEvent::swapRequestId).sorted().toList());
+        }
+
+        assertEquals(List.of(stale.subList(0, 3), stale.subList(3, 6), stale.subList(6, 8), List.of()), runs);
+        assertEquals(SwapStatus.PENDING, status(untouched.get(0)));
+    }
+
+    private Long create(SwapStatus status, int daysOld) {
+        SwapRequest swapRequest = new SwapRequest(requester, provider, requestedSkill, offeredSkill, "expiry");
+        swapRequest.setStatus(status);
+        swapRequest.setRequestDate(LocalDateTime.now().minusDays(daysOld));
+        return swapRequestRepository.save(swapRequest).getId();
+    }
+
+    private SwapStatus status(Long id) {
+        return swapRequestRepository.findById(id).orElseThrow().getStatus();
+    }
+}
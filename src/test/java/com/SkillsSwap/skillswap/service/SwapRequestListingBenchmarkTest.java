@@ -0,0 +1,179 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.dto.SwapRequestDTO;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.service.SwapRequestService.Listing;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Seeds swap_requests and compares the "my swaps" page served by a single query,
+// (requester = ? OR provider = ?), with SwapRequestService's merge of the requester and provider
+// index range scans. Both select the same DTO projection. Both must return the same rows; the latency of each is printed. Only runs
+// with -Dbenchmark=true; size with -Dbenchmark.swapRequests, -Dbenchmark.users and
+// -Dbenchmark.queries. The seeded rows are deleted afterwards.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SwapRequestListingBenchmarkTest {
+
+    private static final int SWAP_REQUESTS = Integer.getInteger("benchmark.swapRequests", 100_000);
+    private static final int USERS = Integer.getInteger("benchmark.users", 1_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 200);
+    private static final int PAGE_SIZE = 50;
+
+    // The same DTO projection and joins as the service's queries, so only the WHERE clause differs
+    private static final String OR_QUERY = SwapRequestRepository.DTO_SELECT +
+            "WHERE (sr.requester.id = :userId OR sr.provider.id = :userId) %s " +
+            "AND sr.requestDate >= :from AND (sr.requestDate < :afterDate OR (sr.requestDate = :afterDate AND sr.id < :afterId)) " +
+            "ORDER BY sr.requestDate DESC, sr.id DESC";
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("listing-" + suffix + "-" + i, "password", "User " + i, "Weekends"));
+        }
+        userRepository.saveAll(users).forEach(user -> userIds.add(user.getId()));
+        Skill skillA = skillRepository.save(new Skill("Listing Skill A " + suffix, "", true, users.get(0)));
+        Skill skillB = skillRepository.save(new Skill("Listing Skill B " + suffix, "", true, users.get(1)));
+
+        Random random = new Random(42);
+        SwapStatus[] statuses = SwapStatus.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SWAP_REQUESTS; i++) {
+            long requester = userIds.get(random.nextInt(USERS));
+            long provider = userIds.get(random.nextInt(USERS));
+            rows.add(new Object[] {requester, provider, skillA.getId(), skillB.getId(),
+                    Timestamp.valueOf(start.plusMinutes(random.nextInt(2 * 365 * 24 * 60))),
+                    statuses[random.nextInt(statuses.length)].name(), "seed " + i});
+            if (rows.size() == 5_000 || i == SWAP_REQUESTS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO swap_requests (requester_id, provider_id, requested_skill_id, " +
+                        "offered_skill_id, request_date, status, message, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        SeededUsers.delete(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void firstPage() {
+        compare("first page", null, false);
+    }
+
+    @Test
+    void firstPageWithStatus() {
+        compare("first page, status = PENDING", SwapStatus.PENDING, false);
+    }
+
+    @Test
+    void secondPage() {
+        compare("second page", null, true);
+    }
+
+    private void compare(String label, SwapStatus status, boolean secondPage) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Random random = new Random(7);
+
+        long orNanos = 0;
+        long unionNanos = 0;
+        for (int q = -20; q < QUERIES; q++) {
+            Long userId = userIds.get(random.nextInt(USERS));
+            String cursor = secondPage
+                    ? swapRequestService.getSwapRequestPage(Listing.PARTICIPANT, userId, status, null, null, null, PAGE_SIZE).nextCursor()
+                    : null;
+
+            long start = System.nanoTime();
+            List<Long> fromOr = transaction.execute(tx -> orQuery(userId, status, cursor).stream()
+                    .map(SwapRequestDTO::getId).toList());
+            long orTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Long> fromUnion = transaction.execute(tx -> swapRequestService.getSwapRequestPage(
+                    Listing.PARTICIPANT, userId, status, null, null, cursor, PAGE_SIZE).swapRequests().stream()
+                    .map(SwapRequestDTO::getId).toList());
+            long unionTime = System.nanoTime() - start;
+
+            assertEquals(fromOr, fromUnion, label + " for user " + userId);
+            // The first 20 rounds only warm up
+            if (q >= 0) {
+                orNanos += orTime;
+                unionNanos += unionTime;
+            }
+        }
+        System.out.printf("%-32s OR query %8.3f ms   merged range scans %8.3f ms   (%d requests, %d users)%n",
+                label, orNanos / 1e6 / QUERIES, unionNanos / 1e6 / QUERIES, SWAP_REQUESTS, USERS);
+    }
+
+    private List<SwapRequestDTO> orQuery(Long userId, SwapStatus status, String cursor) {
+        LocalDateTime afterDate = LocalDateTime.of(9999, 12, 31, 0, 0);
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null) {
+            String[] position = new String(java.util.Base64.getUrlDecoder().decode(cursor)).split(",");
+            afterDate = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+        var query = entityManager.createQuery(
+                        String.format(OR_QUERY, status != null ? "AND sr.status = :status" : ""), SwapRequestDTO.class)
+                .setParameter("userId", userId)
+                .setParameter("from", LocalDateTime.of(1970, 1, 1, 0, 0))
+                .setParameter("afterDate", afterDate)
+                .setParameter("afterId", afterId)
+                .setMaxResults(PAGE_SIZE);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.SeededUsers;
+import com.SkillsSwap.skillswap.exception.ConflictException;
+import com.SkillsSwap.skillswap.model.Skill;
+import com.SkillsSwap.skillswap.model.SwapRequest;
+import com.SkillsSwap.skillswap.model.SwapRequest.SwapStatus;
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.repository.SkillRepository;
+import com.SkillsSwap.skillswap.repository.SwapRequestRepository;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Races two accepts and two rejects against every pending request. Exactly one of the four may
+// win, the request must end in the winner's status, and every loser must get a conflict. The
+// same race is then run through the load-check-save path (guarded only by @Version), which must
+// also pick exactly one winner; the throughput of both is printed, not asserted, as it depends on
+// the machine. Size with -Dstress.requests and -Dstress.threads.
+@SpringBootTest
+class SwapRequestTransitionStressTest {
+
+    private static final int REQUESTS = Integer.getInteger("stress.requests", 300);
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final int CONTENDERS = 4;
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User requester;
+    private User provider;
+    private Skill requestedSkill;
+    private Skill offeredSkill;
+
+    @BeforeEach
+    void createParticipants() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        requester = userRepository.save(new User("stress-requester-" + suffix, "password", "Requester", "Weekends"));
+        provider = userRepository.save(new User("stress-provider-" + suffix, "password", "Provider", "Weekends"));
+        requestedSkill = skillRepository.save(new Skill("Stress Skill A " + suffix, "", true, provider));
+        offeredSkill = skillRepository.save(new Skill("Stress Skill B " + suffix, "", true, requester));
+    }
+
+    @AfterEach
+    void deleteParticipants() {
+        SeededUsers.delete(jdbcTemplate, List.of(requester.getId(), provider.getId()));
+    }
+
+    @Test
+    void exactlyOneConcurrentTransitionWins() throws Exception {
+        List<Long> ids = createPendingRequests(REQUESTS);
+        Result result = race(ids, this::conditionalTransition);
+
+        for (int i = 0; i < ids.size(); i++) {
+            SwapRequest swapRequest = swapRequestRepository.findById(ids.get(i)).orElseThrow();
+            assertEquals(1, result.winners.get(i), "winners for request " + ids.get(i));
+            assertEquals(CONTENDERS - 1, result.conflicts.get(i), "conflicts for request " + ids.get(i));
+            assertTrue(swapRequest.getStatus() == SwapStatus.ACCEPTED || swapRequest.getStatus() == SwapStatus.REJECTED);
+            assertEquals(1L, swapRequest.getVersion());
+            assertTrue(swapRequest.getResponseDate() != null);
+        }
+        report("conditional update", result);
+    }
+
+    @Test
+    void conditionalUpdateAndLoadCheckSaveEachPickOneWinner() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        BiFunction<Long, SwapStatus, SwapStatus> loadCheckSave = (id, target) -> loadCheckSave(transaction, id, target);
+
+        // Warm both paths up so the comparison is not dominated by JIT and pool start-up
+        race(createPendingRequests(50), this::conditionalTransition);
+        race(createPendingRequests(50), loadCheckSave);
+
+        List<Long> entityIds = createPendingRequests(REQUESTS);
+        Result entityPath = race(entityIds, loadCheckSave);
+        List<Long> conditionalIds = createPendingRequests(REQUESTS);
+        Result conditional = race(conditionalIds, this::conditionalTransition);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(1, entityPath.winners.get(i), "load-check-save winners for request " + entityIds.get(i));
+            assertEquals(1, conditional.winners.get(i), "conditional winners for request " + conditionalIds.get(i));
+        }
+        report("load-check-save + @Version", entityPath);
+        report("conditional update", conditional);
+    }
+
+    // One contender's transition through the service; null means it lost
+    private SwapStatus conditionalTransition(Long id, SwapStatus target) {
+        try {
+            return target == SwapStatus.ACCEPTED ? swapRequestService.acceptSwapRequest(id).getStatus()
+                    : swapRequestService.rejectSwapRequest(id).getStatus();
+        } catch (ConflictException e) {
+            return null;
+        }
+    }
+
+    // The previous implementation: read, check in Java, write back
+    private SwapStatus loadCheckSave(TransactionTemplate transaction, Long id, SwapStatus target) {
+        try {
+            return transaction.execute(status -> {
+                SwapRequest swapRequest = swapRequestRepository.findById(id).orElseThrow();
+                if (swapRequest.getStatus() != SwapStatus.PENDING) {
+                    return null;
+                }
+                swapRequest.setStatus(target);
+                swapRequest.setResponseDate(LocalDateTime.now());
+                swapRequestRepository.saveAndFlush(swapRequest);
+                return target;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            return null;
+        }
+    }
+
+    private Result race(List<Long> ids, BiFunction<Long, SwapStatus, SwapStatus> transition) throws Exception {
+
+        AtomicIntegerArray winners = new AtomicIntegerArray(ids.size());
+        AtomicIntegerArray conflicts = new AtomicIntegerArray(ids.size());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            // The contenders for one request are submitted back to back so that they overlap;
+            // even contenders accept, odd ones reject
+            List<Future<?>> futures = new ArrayList<>();
+            for (int task = 0; task < ids.size() * CONTENDERS; task++) {
+                int index = task / CONTENDERS;
+                SwapStatus target = task % 2 == 0 ? SwapStatus.ACCEPTED : SwapStatus.REJECTED;
+                futures.add(executor.submit(() -> {
+                    if (transition.apply(ids.get(index), target) != null) {
+                        winners.incrementAndGet(index);
+                    } else {
+                        conflicts.incrementAndGet(index);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new Result(winners, conflicts, ids.size() * CONTENDERS, System.nanoTime() - start);
+    }
+
+    private List<Long> createPendingRequests(int count) {
+        List<SwapRequest> swapRequests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            swapRequests.add(new SwapRequest(requester, provider, requestedSkill, offeredSkill, "stress " + i));
+        }
+        return swapRequestRepository.saveAll(swapRequests).stream().map(SwapRequest::getId).toList();
+    }
+
+    private static void report(String label, Result result) {
+        System.out.printf("%-28s %6d calls in %7.1f ms   %8.0f calls/s   (%d requests, %d threads)%n",
+                label, result.calls, result.nanos / 1e6, result.calls / (result.nanos / 1e9), REQUESTS, THREADS);
+    }
+
+    private record Result(AtomicIntegerArray winners, AtomicIntegerArray conflicts, int calls, long nanos) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.SkillsSwap.skillswap.service;
+
+import com.SkillsSwap.skillswap.model.User;
+import com.SkillsSwap.skillswap.model.WeeklyAvailability;
+import com.SkillsSwap.skillswap.repository.UserRepository;
+import com.SkillsSwap.skillswap.search.UserLocationIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex;
+import com.SkillsSwap.skillswap.search.UserSkillBitmapIndex.MatchMode;
+import com.SkillsSwap.skillswap.service.UserService.NearbyUser;
+import com.SkillsSwap.skillswap.service.UserService.ProximityQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Skill and proximity search while UserSkillBitmapIndex is still loading: it goes to the
+// database and combines the per-term results the way the index would
+class UserServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSkillBitmapIndex index = mock(UserSkillBitmapIndex.class);
+    private final UserLocationIndex locationIndex = mock(UserLocationIndex.class);
+    private UserService userService;
+
+    private final User java = user(1, "Mon-Fri 18-22");
+    private final User javaAndGuitar = user(2, "Fri 20-22");
+    private final User guitar = user(3, "Weekends");
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, mock(PasswordEncoder.class), index,
+                locationIndex, mock(ApplicationEventPublisher.class), mock(InboxCounterService.class));
+        when(index.isReady()).thenReturn(false);
+        when(locationIndex.isReady()).thenReturn(true);
+        // Berlin, Potsdam about 27 km away, and Munich about 500 km away
+        java.setCoordinates(52.52, 13.405);
+        javaAndGuitar.setCoordinates(52.39, 13.065);
+        guitar.setCoordinates(48.137, 11.575);
+        when(userRepository.findByOfferedSkillsContaining("Java")).thenReturn(List.of(javaAndGuitar, java));
+        when(userRepository.findByOfferedSkillsContaining("Guitar")).thenReturn(List.of(guitar, javaAndGuitar));
+        when(userRepository.findByIsPublicTrueAndIsActiveTrue()).thenReturn(List.of(java, javaAndGuitar, guitar));
+    }
+
+    @Test
+    void combinesTermsFromTheDatabaseUntilTheIndexIsReady() {
+        assertEquals(List.of(javaAndGuitar),
+                userService.searchUsersBySkills(List.of("Java", "Guitar"), List.of(), MatchMode.ALL));
+        assertEquals(List.of(java, javaAndGuitar, guitar),
+                userService.searchUsersBySkills(List.of("Java", "Guitar"), List.of(), MatchMode.ANY));
+        assertEquals(List.of(java, javaAndGuitar, guitar),
+                userService.searchUsersBySkills(List.of(), List.of(), MatchMode.ALL));
+        verify(index, never()).findVisibleUsers(any(), any(), any());
+    }
+
+    @Test
+    void ordersByOverlapUntilTheIndexIsReady() {
+        WeeklyAvailability evenings = WeeklyAvailability.parse("Weekday evenings");
+
+        assertEquals(List.of(java, javaAndGuitar),
+                userService.searchUsersBySkills(List.of("Java", "Guitar"), List.of(), MatchMode.ANY, evenings, 1));
+        assertEquals(List.of(java),
+                userService.searchUsersBySkills(List.of("Java"), List.of(), MatchMode.ALL, evenings, 3));
+    }
+
+    @Test
+    void measuresEachCandidateUntilTheIndexIsReady() {
+        ProximityQuery aroundBerlin = new ProximityQuery(52.52, 13.405, 50.0, null);
+
+        List<NearbyUser> nearby = userService.searchUsersNearby(List.of("Java", "Guitar"), List.of(), MatchMode.ANY,
+                null, 0, aroundBerlin, 10);
+        assertEquals(List.of(java, javaAndGuitar), nearby.stream().map(NearbyUser::user).toList());
+        assertEquals(0.0, nearby.get(0).distanceKm(), 1e-9);
+        assertEquals(27.0, nearby.get(1).distanceKm(), 1.0);
+
+        // Users without coordinates are left out, and nearest is capped by the limit
+        javaAndGuitar.setCoordinates(null, null);
+        assertEquals(List.of(java, guitar), userService.searchUsersNearby(List.of("Guitar", "Java"), List.of(),
+                        MatchMode.ANY, null, 0, new ProximityQuery(52.52, 13.405, null, 5), 2).stream()
+                .map(NearbyUser::user).toList());
+        assertEquals(List.of(guitar), userService.searchUsersNearby(List.of("Guitar"), List.of(), MatchMode.ALL,
+                        null, 0, new ProximityQuery(48.0, 11.5, null, 1), 10).stream()
+                .map(NearbyUser::user).toList());
+        verify(locationIndex, never()).findWithinRadius(anyDouble(), anyDouble(), anyDouble(), any(), anyInt());
+        verify(locationIndex, never()).findNearest(anyDouble(), anyDouble(), anyInt(), any(), anyDouble());
+    }
+
+    private static User user(long id, String availability) {
+        User user = new User("user-" + id, "password", "User " + id, availability);
+        user.setId(id);
+        return user;
+    }
+}